@@ -0,0 +1,98 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import fleet.FleetAutosave;
+import fleet.FleetJournal;
+import fleet.FleetManager;
+import interfaces.FuelConsumable;
+import logging.Log;
+import logging.LogSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import vehicles.Vehicle;
+
+/**
+ * Latency of single-vehicle operations on a journaled fleet of 100k vehicles,
+ * with and without a FleetAutosave saving the changes in the background.
+ * Compare the percentiles: with autosave on, an operation should cost about
+ * the same as without, because the writer never holds a lock the operation
+ * needs. On a machine with few cores the writer still competes for CPU.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class AutosaveBenchmark {
+    @Param({"false", "true"})
+    boolean autosaveOn;
+
+    @Param({"DATA"})
+    FleetJournal.Sync sync;
+
+    private Path dir;
+    private FleetManager fleet;
+    private FleetJournal journal;
+    private FleetAutosave autosave;
+    private String[] ids;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        Log.setSink(LogSink.SILENT);
+        dir = Files.createTempDirectory("fleet-bench");
+        journal = FleetJournal.open(dir, sync);
+        fleet = new FleetManager();
+        fleet.useJournal(journal);
+        for (Vehicle v : FleetGenerator.generate(100_000, FleetGenerator.SEED)) {
+            try {
+                fleet.addVehicle(v);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        journal.compact();
+        // Refuelling a sail ship throws; leave them out so every call succeeds
+        List<String> refuellable = new ArrayList<>();
+        for (Vehicle v : fleet.searchByType(FuelConsumable.class)) {
+            if (v.calculateFuelEfficiency() > 0) refuellable.add(v.getID());
+        }
+        ids = refuellable.toArray(new String[0]);
+        if (autosaveOn) autosave = new FleetAutosave(journal);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (autosave != null) autosave.close();
+        journal.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted((a, b) -> b.compareTo(a)).toList()) Files.deleteIfExists(p);
+        }
+    }
+
+    @Benchmark
+    public Object refuelAndJourney() {
+        if (next == ids.length) next = 0;
+        String id = ids[next++];
+        fleet.refuelVehicle(id, 1.0);
+        return fleet.startJourney(id, 1.0);
+    }
+}
@@ -0,0 +1,94 @@
+package bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import exceptions.InvalidOperationException;
+import fleet.ConcurrentFleetManager;
+import logging.Log;
+import logging.LogSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import vehicles.Vehicle;
+
+/**
+ * Multi-threaded throughput of ConcurrentFleetManager under mixed traffic on
+ * a 100k-vehicle fleet: 40% refuel, 30% journeys, 20% lookups and 10% an
+ * add followed by a remove of a vehicle private to the thread. Compare the
+ * 1-, 4- and 8-thread scores for scaling.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ConcurrentFleetBenchmark {
+    private static final int SIZE = 100_000;
+
+    @State(Scope.Benchmark)
+    public static class Fleet {
+        ConcurrentFleetManager fleet;
+        String[] ids;
+        final AtomicInteger threads = new AtomicInteger();
+
+        @Setup
+        public void setup() throws InvalidOperationException {
+            Log.setSink(LogSink.SILENT);
+            fleet = new ConcurrentFleetManager();
+            for (Vehicle v : FleetGenerator.generate(SIZE, FleetGenerator.SEED)) fleet.addVehicle(v);
+            ids = FleetGenerator.ids(SIZE);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Worker {
+        SplittableRandom rnd;
+        Vehicle own;    // never in the fleet between calls, so add/remove can't collide
+
+        @Setup
+        public void setup(Fleet f) {
+            int n = f.threads.getAndIncrement();
+            rnd = new SplittableRandom(FleetGenerator.SEED + n);
+            own = FleetGenerator.vehicle(SIZE + n, FleetGenerator.SEED);
+        }
+    }
+
+    private static Object mixed(Fleet f, Worker w) throws InvalidOperationException {
+        String id = f.ids[w.rnd.nextInt(f.ids.length)];
+        int op = w.rnd.nextInt(10);
+        if (op < 4) return f.fleet.refuelVehicle(id, 0.5);
+        if (op < 7) return f.fleet.startJourney(id, 0.001);
+        if (op < 9) return f.fleet.getVehicle(id);
+        f.fleet.addVehicle(w.own);
+        f.fleet.removeVehicle(w.own.getID());
+        return w.own;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object mixed1(Fleet f, Worker w) throws InvalidOperationException {
+        return mixed(f, w);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object mixed4(Fleet f, Worker w) throws InvalidOperationException {
+        return mixed(f, w);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object mixed8(Fleet f, Worker w) throws InvalidOperationException {
+        return mixed(f, w);
+    }
+}
@@ -0,0 +1,97 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import fleet.FleetEvent;
+import fleet.FleetEventStream;
+import fleet.FleetManager;
+import interfaces.FuelConsumable;
+import logging.Log;
+import logging.LogSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import vehicles.Vehicle;
+
+/**
+ * Events per second through FleetEventStream with N subscribers, each on
+ * its own dispatcher thread. With DROP the score is the writer's rate and
+ * slow subscribers lose events; with BLOCK the writer is held to the pace of
+ * the slowest subscriber. fleetRefuel publishes through the whole
+ * FleetManager path (refuelVehicle, listener, stream), one event per call.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventStreamBenchmark {
+    @Param({"0", "1", "2", "4"})
+    int subscribers;
+
+    @Param({"DROP", "BLOCK"})
+    FleetEventStream.Overflow overflow;
+
+    private FleetEventStream stream;
+    private FleetManager fleet;
+    private String[] ids;
+    private Vehicle vehicle;
+    private final List<FleetEventStream.Subscription> subscriptions = new ArrayList<>();
+    private final LongAdder seen = new LongAdder();
+    private int next;
+
+    @Setup
+    public void setup() {
+        Log.setSink(LogSink.SILENT);
+        fleet = FleetGenerator.manager(10_000, FleetGenerator.SEED);
+        // Refuelling a sail ship throws; leave them out so every call succeeds
+        List<String> refuellable = new ArrayList<>();
+        for (Vehicle v : fleet.searchByType(FuelConsumable.class)) {
+            if (v.calculateFuelEfficiency() > 0) refuellable.add(v.getID());
+        }
+        ids = refuellable.toArray(new String[0]);
+        vehicle = fleet.getVehicle(ids[0]);
+        stream = new FleetEventStream(1 << 14);
+        for (int i = 0; i < subscribers; i++) {
+            subscriptions.add(stream.subscribe("bench-subscriber-" + i, overflow, 1024, batch -> seen.add(batch.size())));
+            subscriptions.add(fleet.events().subscribe("bench-fleet-subscriber-" + i, overflow, 1024, batch -> seen.add(batch.size())));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (FleetEventStream.Subscription s : subscriptions) s.close();
+        subscriptions.clear();
+    }
+
+    @Benchmark
+    public long publish() {
+        return stream.publish(FleetEvent.Kind.FUEL, vehicle, 1.0);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long publishFourWriters() {
+        return stream.publish(FleetEvent.Kind.FUEL, vehicle, 1.0);
+    }
+
+    @Benchmark
+    public Object fleetRefuel() {
+        if (next == ids.length) next = 0;
+        return fleet.refuelVehicle(ids[next++], 0.5);
+    }
+}
@@ -0,0 +1,96 @@
+package bench;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import exceptions.InvalidOperationException;
+import fleet.FleetManager;
+import fleet.Persistence;
+import fleet.VehicleType;
+import vehicles.Vehicle;
+
+/**
+ * Deterministic fleets for the benchmarks. The same size and seed always give
+ * the same vehicles in the same order: all five types in roughly equal
+ * shares, IDs "V0000000", "V0000001", ..., models drawn from a fixed pool and
+ * state (fuel, cargo, passengers, mileage, maintenance flag) spread over the
+ * ranges each type accepts.
+ */
+public final class FleetGenerator {
+    public static final long SEED = 20240917L;
+
+    private static final String[] MAKES = {
+        "Atlas", "Bolt", "Comet", "Drift", "Ember", "Falcon", "Granite", "Harbor",
+        "Ion", "Jet", "Kestrel", "Lumen", "Meridian", "Nova", "Orbit", "Pike",
+    };
+    private static final int MODELS_PER_MAKE = 32;
+
+    private FleetGenerator() {}
+
+    public static String id(int index) {
+        return String.format("V%07d", index);
+    }
+
+    /** IDs of the first `size` generated vehicles. */
+    public static String[] ids(int size) {
+        String[] ids = new String[size];
+        for (int i = 0; i < size; i++) ids[i] = id(i);
+        return ids;
+    }
+
+    public static List<Vehicle> generate(int size, long seed) {
+        return generate(0, size, seed);
+    }
+
+    /** Vehicles `from` to `from + count - 1`; the same as that slice of a larger fleet. */
+    public static List<Vehicle> generate(int from, int count, long seed) {
+        List<Vehicle> out = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) out.add(vehicle(i, seed));
+        return out;
+    }
+
+    /** Vehicle number `index`; depends only on the index and the seed. */
+    public static Vehicle vehicle(int index, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L));
+        VehicleType type = VehicleType.values()[rnd.nextInt(VehicleType.values().length)];
+        String model = MAKES[rnd.nextInt(MAKES.length)] + "-" + (100 + rnd.nextInt(MODELS_PER_MAKE));
+        double mileage = rnd.nextInt(12_000);
+        boolean due = rnd.nextInt(20) == 0;
+        try {
+            return switch (type) {
+                case CAR -> type.restore(id(index), model, 90 + rnd.nextInt(110), 4,
+                        rnd.nextDouble(60), 0, rnd.nextInt(type.passengerCapacity() + 1), mileage, due);
+                case TRUCK -> type.restore(id(index), model, 70 + rnd.nextInt(60), 6 + 2 * rnd.nextInt(7),
+                        rnd.nextDouble(400), rnd.nextDouble(type.cargoCapacity()), 0, mileage, due);
+                case BUS -> type.restore(id(index), model, 60 + rnd.nextInt(50), 6,
+                        rnd.nextDouble(250), rnd.nextDouble(type.cargoCapacity()),
+                        rnd.nextInt(type.passengerCapacity() + 1), mileage, due);
+                case AIRPLANE -> type.restore(id(index), model, 700 + rnd.nextInt(250), 8000 + rnd.nextInt(5000),
+                        rnd.nextDouble(20_000), rnd.nextDouble(type.cargoCapacity()),
+                        rnd.nextInt(type.passengerCapacity() + 1), mileage, due);
+                case CARGO_SHIP -> type.restore(id(index), model, 20 + rnd.nextInt(25), rnd.nextInt(4) == 0 ? 1 : 0,
+                        rnd.nextDouble(5_000), rnd.nextDouble(type.cargoCapacity()), 0, mileage, due);
+            };
+        } catch (InvalidOperationException e) {
+            throw new IllegalStateException("Generated an invalid vehicle " + id(index), e);
+        }
+    }
+
+    public static FleetManager manager(int size, long seed) {
+        FleetManager fm = new FleetManager();
+        try {
+            for (Vehicle v : generate(size, seed)) fm.addVehicle(v);
+        } catch (InvalidOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        return fm;
+    }
+
+    /** Write a generated fleet of `size` vehicles to `file` in the Persistence CSV format. */
+    public static Path writeCsv(int size, long seed, Path file) {
+        Persistence.saveFleet(generate(size, seed), file);
+        return file;
+    }
+}
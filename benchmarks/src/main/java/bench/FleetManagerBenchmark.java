@@ -0,0 +1,190 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import exceptions.InvalidOperationException;
+import fleet.FleetManager;
+import fleet.OperationResult;
+import interfaces.FuelConsumable;
+import interfaces.Maintainable;
+import logging.Log;
+import logging.LogSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vehicles.Vehicle;
+
+/**
+ * FleetManager at 1k, 100k and 1M vehicles: adding vehicles, the ID-based
+ * operations, the report and the sorted views. ID-based calls walk a fixed
+ * shuffled order of IDs so each call hits a different vehicle. The report
+ * and views are measured both recomputed and answered from the result cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class FleetManagerBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private FleetManager fleet;
+    private String[] ids;           // every ID, shuffled
+    private String[] movable;       // IDs of vehicles with fuel to spare and no maintenance due
+    private Vehicle extra;          // not in the fleet; added and removed again
+    private List<Vehicle> fresh;    // a second copy of the fleet for addAll
+    private int next;
+
+    @Setup
+    public void setup() {
+        Log.setSink(LogSink.SILENT);
+        fleet = FleetGenerator.manager(size, FleetGenerator.SEED);
+        List<String> shuffled = new ArrayList<>(List.of(FleetGenerator.ids(size)));
+        Collections.shuffle(shuffled, new Random(FleetGenerator.SEED));
+        ids = shuffled.toArray(new String[0]);
+        List<String> canMove = new ArrayList<>();
+        for (String id : ids) {
+            Vehicle v = fleet.getVehicle(id);
+            boolean fuelled = !(v instanceof FuelConsumable f) || f.getFuelLevel() > 50;
+            boolean due = v instanceof Maintainable m && m.needsMaintenance();
+            if (fuelled && !due && v.getCurrentMileage() < 9_000) canMove.add(id);
+        }
+        movable = canMove.toArray(new String[0]);
+        extra = FleetGenerator.vehicle(size, FleetGenerator.SEED);
+        fresh = FleetGenerator.generate(size, FleetGenerator.SEED);
+    }
+
+    private String nextId(String[] from) {
+        if (next >= from.length) next = 0;
+        return from[next++];
+    }
+
+    /** Build a whole fleet of `size` vehicles into an empty manager. */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5)
+    public FleetManager addAll() throws InvalidOperationException {
+        FleetManager fm = new FleetManager();
+        for (Vehicle v : fresh) fm.addVehicle(v);
+        return fm;
+    }
+
+    /** One addVehicle and one removeVehicle on a fleet of `size`. */
+    @Benchmark
+    public void addAndRemove() throws InvalidOperationException {
+        fleet.addVehicle(extra);
+        fleet.removeVehicle(extra.getID());
+    }
+
+    @Benchmark
+    public Vehicle getVehicle() {
+        return fleet.getVehicle(nextId(ids));
+    }
+
+    @Benchmark
+    public OperationResult refuelVehicle() {
+        return fleet.refuelVehicle(nextId(ids), 0.5);
+    }
+
+    @Benchmark
+    public OperationResult loadCargo() {
+        // A zero-weight load: the lookup, type check and call path without changing
+        // state or throwing; vehicles that carry no cargo report UNSUPPORTED
+        return fleet.loadCargo(nextId(ids), 0.0);
+    }
+
+    @Benchmark
+    public OperationResult startJourney() {
+        return fleet.startJourney(nextId(movable), 0.001);
+    }
+
+    /**
+     * The report recomputed on every call: a short journey first changes the
+     * mileage the cached report depends on. Subtract startJourney for the
+     * report alone.
+     */
+    @Benchmark
+    public String generateReport() {
+        fleet.startJourney(nextId(movable), 0.001);
+        return fleet.generateReport();
+    }
+
+    /** The report answered from the result cache: nothing changed since the last call. */
+    @Benchmark
+    public String generateReportCached() {
+        return fleet.generateReport();
+    }
+
+    // The views below are cached until membership changes, so each uncached
+    // benchmark adds and removes a vehicle first; subtract addAndRemove for the
+    // view alone. The *Cached variants measure a cache hit.
+
+    @Benchmark
+    public List<String> distinctModelsSorted() throws InvalidOperationException {
+        changeMembership();
+        return fleet.getDistinctModelsSorted();
+    }
+
+    @Benchmark
+    public List<String> distinctModelsSortedCached() {
+        return fleet.getDistinctModelsSorted();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Vehicle> sortedByModel() throws InvalidOperationException {
+        changeMembership();
+        return fleet.getFleetSortedByModel();
+    }
+
+    @Benchmark
+    public List<Vehicle> sortedByModelCached() {
+        return fleet.getFleetSortedByModel();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Vehicle> sortedBySpeedDesc() throws InvalidOperationException {
+        changeMembership();
+        return fleet.getFleetSortedBySpeedDesc();
+    }
+
+    @Benchmark
+    public List<Vehicle> sortedBySpeedDescCached() {
+        return fleet.getFleetSortedBySpeedDesc();
+    }
+
+    /** A 50-vehicle page from the middle of the model ordering. */
+    @Benchmark
+    public List<Vehicle> sortedByModelPage() throws InvalidOperationException {
+        changeMembership();
+        return fleet.getFleetSortedByModel(size / 2, 50);
+    }
+
+    @Benchmark
+    public List<Vehicle> sortedBySpeedPage() throws InvalidOperationException {
+        changeMembership();
+        return fleet.getFleetSortedBySpeedDesc(size / 2, 50);
+    }
+
+    // Invalidates every cached view without changing the fleet's contents
+    private void changeMembership() throws InvalidOperationException {
+        fleet.addVehicle(extra);
+        fleet.removeVehicle(extra.getID());
+    }
+}
@@ -0,0 +1,126 @@
+package bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import exceptions.InvalidOperationException;
+import fleet.ColumnarFleet;
+import fleet.FleetManager;
+import fleet.FleetStore;
+import fleet.OffHeapFleet;
+import interfaces.FuelConsumable;
+import logging.Log;
+import logging.LogSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import vehicles.Vehicle;
+
+/**
+ * Bulk operations over the three fleet layouts: one Vehicle object per
+ * vehicle (FleetManager), the structure-of-arrays ColumnarFleet and the
+ * off-heap OffHeapFleet. For the object layout the fuel total is the same
+ * loop FleetManager runs, over its fuel-consuming vehicles.
+ *
+ * build() times loading the whole fleet into each layout; run it with
+ * -prof gc to compare allocation and GC counts, which is where the
+ * off-heap store differs most. fullGc() times a full collection with the
+ * fleet live, which grows with the number of objects the layout keeps on
+ * the heap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class FleetStoreBenchmark {
+    @Param({"objects", "columnar", "offheap"})
+    String layout;
+
+    @Param({"100000", "1000000"})
+    int size;
+
+    private List<Vehicle> vehicles;
+    private FleetManager objects;
+    private List<Vehicle> fuelConsumers;
+    private List<Vehicle> spare;    // a second copy for build(); `vehicles` report to `objects`
+    private FleetStore store;
+
+    @Setup
+    public void setup() throws InvalidOperationException {
+        Log.setSink(LogSink.SILENT);
+        vehicles = FleetGenerator.generate(size, FleetGenerator.SEED);
+        if (layout.equals("objects")) {
+            objects = new FleetManager();
+            for (Vehicle v : vehicles) objects.addVehicle(v);
+            fuelConsumers = objects.searchByType(FuelConsumable.class);
+            spare = FleetGenerator.generate(size, FleetGenerator.SEED);
+        } else {
+            store = newStore();
+            store.addAll(vehicles);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (store instanceof OffHeapFleet off) off.close();
+    }
+
+    private FleetStore newStore() {
+        return layout.equals("columnar") ? new ColumnarFleet() : new OffHeapFleet(size);
+    }
+
+    @Benchmark
+    public double totalFuelConsumption() {
+        if (store != null) return store.getTotalFuelConsumption(100.0);
+        double total = 0.0;
+        for (Vehicle v : fuelConsumers) {
+            double eff = v.calculateFuelEfficiency();
+            if (eff > 0) total += 100.0 / eff;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Object refuelAll() {
+        return store != null ? store.refuelAll(0.01) : objects.refuelAll(0.01);
+    }
+
+    @Benchmark
+    public String generateReport() {
+        return store != null ? store.generateReport() : objects.generateReport();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object fullGc() {
+        System.gc();
+        return store != null ? store : objects;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object build() throws InvalidOperationException {
+        if (layout.equals("objects")) {
+            FleetManager fm = new FleetManager();
+            for (Vehicle v : spare) fm.addVehicle(v);
+            return fm;
+        }
+        FleetStore s = newStore();
+        s.addAll(vehicles);
+        if (s instanceof OffHeapFleet off) off.close();
+        return s;
+    }
+}
@@ -0,0 +1,117 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import fleet.FleetJournal;
+import fleet.FleetManager;
+import fleet.Persistence;
+import interfaces.FuelConsumable;
+import logging.Log;
+import logging.LogSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import vehicles.Vehicle;
+
+/**
+ * Cost of saving after `changes` refuels, on fleets of 100k and 1M vehicles.
+ * journalCommit appends the changed vehicles to a FleetJournal; its score
+ * should follow `changes` and hardly move with `size`. It includes the
+ * compactions that commits trigger along the way, so it is the steady-state
+ * cost. csvRewrite and snapshotRewrite make the same changes and then write
+ * the whole fleet, as saving did before the journal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+    @Param({"100000", "1000000"})
+    int size;
+
+    @Param({"1", "100", "10000"})
+    int changes;
+
+    @Param({"NONE", "DATA"})
+    FleetJournal.Sync sync;
+
+    private Path dir;
+    private FleetManager fleet;
+    private FleetJournal journal;
+    private String[] ids;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        Log.setSink(LogSink.SILENT);
+        dir = Files.createTempDirectory("fleet-bench");
+        journal = FleetJournal.open(dir.resolve("journal"), sync);
+        fleet = new FleetManager();
+        fleet.useJournal(journal);
+        for (Vehicle v : FleetGenerator.generate(size, FleetGenerator.SEED)) {
+            try {
+                fleet.addVehicle(v);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        // The initial fleet goes into the first snapshot, outside the measurement
+        journal.compact();
+        // Refuelling a sail ship throws; leave them out so every change succeeds
+        List<String> refuellable = new ArrayList<>();
+        for (Vehicle v : fleet.searchByType(FuelConsumable.class)) {
+            if (v.calculateFuelEfficiency() > 0) refuellable.add(v.getID());
+        }
+        ids = refuellable.toArray(new String[0]);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted((a, b) -> b.compareTo(a)).toList()) Files.deleteIfExists(p);
+        }
+    }
+
+    private void change() {
+        for (int i = 0; i < changes; i++) {
+            if (next == ids.length) next = 0;
+            fleet.refuelVehicle(ids[next++], 0.01);
+        }
+    }
+
+    @Benchmark
+    public int journalCommit() throws IOException {
+        change();
+        return journal.commit();
+    }
+
+    @Benchmark
+    public void csvRewrite() {
+        change();
+        Persistence.saveFleet(fleet.getAll(), dir.resolve("fleet.csv"));
+    }
+
+    @Benchmark
+    public void snapshotRewrite() {
+        change();
+        Persistence.saveSnapshot(fleet.getAll(), dir.resolve("fleet.snapshot"));
+    }
+}
@@ -0,0 +1,114 @@
+package bench;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import logging.Log;
+import vehicles.Airplane;
+import vehicles.Bus;
+import vehicles.Car;
+import vehicles.CargoShip;
+import vehicles.Truck;
+import vehicles.Vehicle;
+
+/**
+ * The CSV loader Persistence.loadFleet used before FleetCsvParser (trim,
+ * String.split, the throwing refuel/loadCargo/boardPassengers calls), kept
+ * as the baseline for PersistenceBenchmark. Metrics calls are left out.
+ */
+final class LegacyCsvLoader {
+    private LegacyCsvLoader() {}
+
+    static List<Vehicle> loadFleet(Path file) {
+        List<Vehicle> fleet = new ArrayList<>();
+        // One String instance per distinct model, however many rows share it
+        Map<String, String> models = new HashMap<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(file.toFile()))) {
+            String line;
+            int lineNo = 0;
+            while ((line = br.readLine()) != null) {
+                lineNo++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue; // skip header/comments
+                String[] parts = line.split(",");
+                String type = parts[0]; // vehicle type
+                if (parts.length > 2) parts[2] = models.computeIfAbsent(parts[2], m -> m); // model
+                try {
+                    switch (type) {
+                        case "Car" -> {
+                            if (parts.length < 8) throw new IllegalArgumentException("Not enough fields for Car");
+                            Car c = new Car(parts[1], parts[2],
+                                    Double.parseDouble(parts[3]),   // maxSpeed
+                                    Integer.parseInt(parts[4]));    // numWheels
+                            if (Double.parseDouble(parts[5]) > 0.0) c.refuel(Double.parseDouble(parts[5])); // fuelLevel
+                            c.addMileage(Double.parseDouble(parts[6])); // currentMileage
+                            if (Boolean.parseBoolean(parts[7])) c.scheduleMaintenance(); // needsMaintenance
+                            fleet.add(c);
+                        }
+                        case "Truck" -> {
+                            if (parts.length < 9) throw new IllegalArgumentException("Not enough fields for Truck");
+                            Truck t = new Truck(parts[1], parts[2],
+                                    Double.parseDouble(parts[3]),   // maxSpeed
+                                    Integer.parseInt(parts[4]));    // numWheels
+                            if (Double.parseDouble(parts[5]) > 0.0) t.refuel(Double.parseDouble(parts[5])); // fuelLevel
+                            t.loadCargo(Double.parseDouble(parts[6])); // currentCargo
+                            t.addMileage(Double.parseDouble(parts[7])); // currentMileage
+                            if (Boolean.parseBoolean(parts[8])) t.scheduleMaintenance(); // needsMaintenance
+                            fleet.add(t);
+                        }
+                        case "Bus" -> {
+                            if (parts.length < 10) throw new IllegalArgumentException("Not enough fields for Bus");
+                            Bus b = new Bus(parts[1], parts[2],
+                                    Double.parseDouble(parts[3]),   // maxSpeed
+                                    Integer.parseInt(parts[4]));    // numWheels
+                            if (Double.parseDouble(parts[5]) > 0.0) b.refuel(Double.parseDouble(parts[5])); // fuelLevel
+                            b.boardPassengers(Integer.parseInt(parts[7])); //currentPassengers
+                            b.addMileage(Double.parseDouble(parts[8])); // currentMileage
+                            if (Boolean.parseBoolean(parts[9])) b.scheduleMaintenance(); // needsMaintenance
+                            fleet.add(b);
+                        }
+                        case "Airplane" -> {
+                            if (parts.length < 11) throw new IllegalArgumentException("Not enough fields for Airplane");
+                            Airplane a = new Airplane(parts[1], parts[2],
+                                    Double.parseDouble(parts[3]),   // maxSpeed
+                                    Double.parseDouble(parts[4]));  // maxAltitude
+                            if (Double.parseDouble(parts[5]) > 0.0) a.refuel(Double.parseDouble(parts[5])); // fuelLevel
+                            a.boardPassengers(Integer.parseInt(parts[7])); // currentPassengers
+                            a.loadCargo(Double.parseDouble(parts[8])); // currentCargo
+                            a.addMileage(Double.parseDouble(parts[9])); // currentMileage
+                            if (Boolean.parseBoolean(parts[10])) a.scheduleMaintenance(); // needsMaintenance
+                            fleet.add(a);
+                        }
+                        case "CargoShip" -> {
+                            if (parts.length < 9) throw new IllegalArgumentException("Not enough fields for CargoShip");
+                            CargoShip s = new CargoShip(parts[1], parts[2],
+                                    Double.parseDouble(parts[3]),   // maxSpeed
+                                    Boolean.parseBoolean(parts[4])); // hasSail
+                            if (!s.hasSail()) {
+                                if (Double.parseDouble(parts[5]) > 0.0) s.refuel(Double.parseDouble(parts[5])); // fuelLevel (only if no sail)
+                            }
+                            s.loadCargo(Double.parseDouble(parts[6])); // currentCargo
+                            s.addMileage(Double.parseDouble(parts[7])); // currentMileage
+                            if (Boolean.parseBoolean(parts[8])) s.scheduleMaintenance(); // needsMaintenance
+                            fleet.add(s);
+                        }
+                        default -> {
+                            Log.info("Unknown type: " + type + " at line " + lineNo);
+                        }
+                    }
+                } catch (Exception e) {
+                    Log.info("Error restoring vehicle from line " + lineNo + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            Log.info("Error loading fleet: " + e.getMessage());
+        }
+        return fleet;
+    }
+}
@@ -0,0 +1,69 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import fleet.Persistence;
+import logging.Log;
+import logging.LogSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import vehicles.Vehicle;
+
+/**
+ * Persistence.loadFleetParallel on generated files of 1M and 10M rows with
+ * pools of 1 to 8 threads. Compare the scores across `threads` for scaling,
+ * and with PersistenceBenchmark.load for the sequential loader. The 10M-row
+ * file is about 650 MB, and the loaded fleet needs a large heap.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g"})
+@State(Scope.Benchmark)
+public class ParallelLoadBenchmark {
+    @Param({"1000000", "10000000"})
+    int size;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    private Path dir;
+    private Path input;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() throws IOException {
+        Log.setSink(LogSink.SILENT);
+        dir = Files.createTempDirectory("fleet-bench");
+        input = FleetGenerator.writeCsv(size, FleetGenerator.SEED, dir.resolve("fleet-" + size + ".csv"));
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public List<Vehicle> load() {
+        return Persistence.loadFleetParallel(input, pool);
+    }
+}
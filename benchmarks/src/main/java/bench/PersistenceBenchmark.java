@@ -0,0 +1,110 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import fleet.FleetSnapshotFile;
+import fleet.Persistence;
+import logging.Log;
+import logging.LogSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import vehicles.Vehicle;
+
+/**
+ * Persistence.saveFleet and loadFleet on generated CSV files of 100k and 1M
+ * vehicles, one whole file per operation. Files go to a temporary directory
+ * that is deleted afterwards.
+ *
+ * loadLegacy runs the split-based loader that FleetCsvParser replaced, on
+ * the same file. Compare it with load, and run with -prof gc to compare the
+ * bytes allocated per load.
+ *
+ * The snapshot benchmarks do the same with the binary format of
+ * FleetSnapshotFile. openSnapshot only maps the file and reads one field,
+ * which is all a caller that reads fields lazily pays up front.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+    @Param({"100000", "1000000"})
+    int size;
+
+    private Path dir;
+    private Path input;
+    private Path output;
+    private Path snapshotInput;
+    private Path snapshotOutput;
+    private List<Vehicle> vehicles;
+
+    @Setup
+    public void setup() throws IOException {
+        Log.setSink(LogSink.SILENT);
+        dir = Files.createTempDirectory("fleet-bench");
+        vehicles = FleetGenerator.generate(size, FleetGenerator.SEED);
+        input = dir.resolve("fleet-" + size + ".csv");
+        output = dir.resolve("saved-" + size + ".csv");
+        Persistence.saveFleet(vehicles, input);
+        snapshotInput = dir.resolve("fleet-" + size + ".snapshot");
+        snapshotOutput = dir.resolve("saved-" + size + ".snapshot");
+        Persistence.saveSnapshot(vehicles, snapshotInput);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+        Files.deleteIfExists(snapshotInput);
+        Files.deleteIfExists(snapshotOutput);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public void save() {
+        Persistence.saveFleet(vehicles, output);
+    }
+
+    @Benchmark
+    public List<Vehicle> load() {
+        return Persistence.loadFleet(input);
+    }
+
+    @Benchmark
+    public List<Vehicle> loadLegacy() {
+        return LegacyCsvLoader.loadFleet(input);
+    }
+
+    @Benchmark
+    public void saveSnapshot() {
+        Persistence.saveSnapshot(vehicles, snapshotOutput);
+    }
+
+    @Benchmark
+    public List<Vehicle> loadSnapshot() {
+        return Persistence.loadSnapshot(snapshotInput);
+    }
+
+    @Benchmark
+    public double openSnapshot() throws IOException {
+        try (FleetSnapshotFile snapshot = Persistence.openSnapshot(snapshotInput)) {
+            return snapshot.mileage(snapshot.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import fleet.Simulation;
+import interfaces.FuelConsumable;
+import logging.Log;
+import logging.LogSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import vehicles.Vehicle;
+
+/**
+ * Simulation tick throughput with many vehicles. Each benchmark thread has
+ * its own Simulation of `vehicles` generated vehicles (plus the three demo
+ * vehicles, which soon run dry and pause) and calls step(), which ticks every
+ * running vehicle once without the 1 s sleep. Ticks per second are the
+ * reported steps per second times `vehicles`.
+ *
+ * All simulations share the static highway counter, so the 4-thread variant
+ * measures contention on it; `synchronised` picks the locked or the racy
+ * unsynchronised increment.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SimulationBenchmark {
+    @Param({"100", "10000"})
+    int vehicles;
+
+    @Param({"false", "true"})
+    boolean synchronised;
+
+    private Simulation sim;
+
+    @Setup
+    public void setup() {
+        Log.setSink(LogSink.SILENT);
+        sim = new Simulation();
+        sim.setSynchronizedIncrement(synchronised);
+        for (Vehicle v : FleetGenerator.generate(vehicles, FleetGenerator.SEED)) {
+            // Enough fuel that nothing runs dry during the run
+            if (v instanceof FuelConsumable f) f.tryRefuel(1e9);
+            sim.addVehicle(v);
+        }
+    }
+
+    @Benchmark
+    public int step() {
+        return sim.step();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int stepFourThreads() {
+        return sim.step();
+    }
+}
@@ -1,10 +1,15 @@
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 
+import fleet.FleetAutosave;
+import fleet.FleetJournal;
 import fleet.FleetManager;
 import fleet.Persistence;
 import fleet.Simulation;
+import metrics.Metrics;
 import vehicles.Airplane;
 import vehicles.Bus;
 import vehicles.Car;
@@ -16,6 +21,49 @@ public class Main {
     static Scanner sc = new Scanner(System.in);
     static FleetManager fleetManager = new FleetManager();
     private static final Simulation sim = new Simulation();
+    // Saves go to a journal of changes in this directory; null if it could not be opened.
+    // Changes are also saved in the background shortly after they are made.
+    private static final String JOURNAL_DIR = "fleetdata.journal";
+    private static FleetJournal journal;
+    private static FleetAutosave autosave;
+
+    private static void openJournal() {
+        try {
+            journal = FleetJournal.open(Path.of(JOURNAL_DIR), FleetJournal.Sync.DATA);
+            fleetManager.useJournal(journal);
+            autosave = new FleetAutosave(journal);
+            if (!fleetManager.getAll().isEmpty()) {
+                System.out.println("Restored " + fleetManager.getAll().size() + " vehicles from " + JOURNAL_DIR);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Could not open the fleet journal (" + e.getMessage() + "); Save Fleet writes CSV instead.");
+            journal = null;
+        }
+    }
+
+    // Write what changed since the last (auto)save now, or the whole CSV without a journal
+    private static void saveFleetCLI() {
+        if (journal == null) {
+            Persistence.saveFleet(fleetManager.getAll());
+            return;
+        }
+        try {
+            int records = autosave.flush();
+            System.out.println("Fleet saved (" + records + " records written).");
+        } catch (IOException e) {
+            System.out.println("Error saving fleet: " + e.getMessage());
+        }
+    }
+
+    private static void closeJournal() {
+        if (journal == null) return;
+        autosave.close();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.out.println("Error saving fleet: " + e.getMessage());
+        }
+    }
 
     private static void addVehicleCLI() {
         System.out.print("Enter vehicle type (Car, Truck, Bus, Airplane, CargoShip): ");
@@ -235,7 +283,20 @@ public class Main {
         System.out.println("Refuel requested for " + id + ", amount=" + amount);
     }
 
+    private static void showMetricsCLI() {
+        if (!Metrics.isEnabled()) {
+            System.out.print("Metrics are off (start with -Dfleet.metrics=true). Turn them on now? (y/n): ");
+            if (sc.next().trim().equalsIgnoreCase("y")) {
+                Metrics.setEnabled(true);
+                System.out.println("Metrics on; operations from now on are recorded.");
+            }
+            return;
+        }
+        System.out.print(Metrics.dump());
+    }
+
     public static void main(String[] args) {
+        openJournal();
         boolean exit = false;
         while(!exit){
             System.out.println("\n=== Fleet Management Menu ===");
@@ -246,7 +307,7 @@ public class Main {
             System.out.println("5. Perform Maintenance");
             System.out.println("6. Generate Report");
             System.out.println("7. Save Fleet");
-            System.out.println("8. Load Fleet");
+            System.out.println("8. Load Fleet from CSV");
             System.out.println("9. Search by Type");
             System.out.println("10. List Vehicles Needing Maintenance");
             System.out.println("11. Board Passengers");
@@ -267,6 +328,8 @@ public class Main {
             System.out.println("26. Show Simulation Status");
             System.out.println("27. Refuel Simulation Vehicle");
             System.out.println("28. Exit");
+            System.out.println("29. Show Metrics");
+            System.out.println("30. Export Fleet to CSV");
 
             System.out.println("Enter your choice: ");
             int choice = sc.nextInt();
@@ -278,7 +341,7 @@ public class Main {
                 case 4 -> refuelAllCLI();
                 case 5 -> fleetManager.maintainAll();
                 case 6 -> System.out.println(fleetManager.generateReport());
-                case 7 -> Persistence.saveFleet(fleetManager.getAll());
+                case 7 -> saveFleetCLI();
                 case 8 -> fleetManager.loadFleet();
                 case 9 -> searchByTypeCLI();
                 case 10 -> listMaintenanceCLI();
@@ -310,10 +373,14 @@ public class Main {
                 }
                 case 26 -> showSimulationStatusCLI();
                 case 27 -> refuelSimulationCLI();
+                // Exit keeps its original number so scripted input still ends the session
                 case 28 -> {
+                    closeJournal();
                     System.out.println("Exiting program...");
                     exit = true;
                 }
+                case 29 -> showMetricsCLI();
+                case 30 -> Persistence.saveFleet(fleetManager.getAll());
                 default -> System.out.println("Invalid choice. Please try again.");
             }
         }
@@ -2,4 +2,8 @@ package exceptions;
 
 public class InsufficientFuelException extends Exception {
     public InsufficientFuelException(String message) { super(message); }
+
+    public InsufficientFuelException(String message, boolean writableStackTrace) { super(message, null, false, writableStackTrace); }
+
+    public static InsufficientFuelException stackless(String message) { return new InsufficientFuelException(message, false); }
 }
@@ -2,4 +2,8 @@ package exceptions;
 
 public class InvalidOperationException extends Exception {
     public InvalidOperationException(String message) { super(message); }
+
+    public InvalidOperationException(String message, boolean writableStackTrace) { super(message, null, false, writableStackTrace); }
+
+    public static InvalidOperationException stackless(String message) { return new InvalidOperationException(message, false); }
 }
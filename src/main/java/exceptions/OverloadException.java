@@ -1,4 +1,8 @@
 package exceptions;
 public class OverloadException extends Exception {
     public OverloadException(String message) { super(message); }
+
+    public OverloadException(String message, boolean writableStackTrace) { super(message, null, false, writableStackTrace); }
+
+    public static OverloadException stackless(String message) { return new OverloadException(message, false); }
 }
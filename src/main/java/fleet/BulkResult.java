@@ -0,0 +1,48 @@
+package fleet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import interfaces.Outcome;
+
+/**
+ * Per-vehicle outcomes of a bulk fleet operation, in fleet order.
+ */
+public final class BulkResult {
+    private final String[] ids;
+    private final Outcome[] outcomes;
+    private final Map<Outcome, Integer> counts = new EnumMap<>(Outcome.class);
+
+    BulkResult(String[] ids, Outcome[] outcomes) {
+        this.ids = ids;
+        this.outcomes = outcomes;
+        for (Outcome o : outcomes) counts.merge(o, 1, Integer::sum);
+    }
+
+    public int size() { return ids.length; }
+
+    public String vehicleId(int i) { return ids[i]; }
+
+    public Outcome outcome(int i) { return outcomes[i]; }
+
+    public int count(Outcome o) { return counts.getOrDefault(o, 0); }
+
+    public Map<Outcome, Integer> counts() { return Collections.unmodifiableMap(counts); }
+
+    /**
+     * IDs of the vehicles that ended with the given outcome, in fleet order.
+     */
+    public List<String> idsWith(Outcome o) {
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) if (outcomes[i] == o) out.add(ids[i]);
+        return out;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkResult{vehicles=" + ids.length + ", " + counts + "}";
+    }
+}
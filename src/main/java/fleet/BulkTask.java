@@ -0,0 +1,57 @@
+package fleet;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+import interfaces.Outcome;
+import vehicles.Vehicle;
+
+/**
+ * Fork-join task applying one operation to a slice of the fleet. Each vehicle
+ * writes only its own slot of `outcomes`, so results are identical to a
+ * sequential pass regardless of scheduling.
+ */
+class BulkTask extends RecursiveAction {
+    private final Vehicle[] vehicles;
+    private final Outcome[] outcomes;
+    private final Function<Vehicle, Outcome> op;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    BulkTask(Vehicle[] vehicles, Outcome[] outcomes, Function<Vehicle, Outcome> op, int threshold) {
+        this(vehicles, outcomes, op, 0, vehicles.length, threshold);
+    }
+
+    private BulkTask(Vehicle[] vehicles, Outcome[] outcomes, Function<Vehicle, Outcome> op, int from, int to, int threshold) {
+        this.vehicles = vehicles;
+        this.outcomes = outcomes;
+        this.op = op;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= threshold) {
+            Vehicle.runQuietly(this::runLeaf);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        invokeAll(new BulkTask(vehicles, outcomes, op, from, mid, threshold),
+                  new BulkTask(vehicles, outcomes, op, mid, to, threshold));
+    }
+
+    private void runLeaf() {
+        for (int i = from; i < to; i++) {
+            Outcome o;
+            try {
+                o = op.apply(vehicles[i]);
+            } catch (RuntimeException e) {
+                o = Outcome.ERROR;
+            }
+            outcomes[i] = o;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package fleet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import exceptions.InvalidOperationException;
+import interfaces.CargoCarrier;
+import interfaces.FuelConsumable;
+import interfaces.Maintainable;
+import interfaces.Outcome;
+import interfaces.PassengerCarrier;
+import vehicles.Vehicle;
+
+/**
+ * Structure-of-arrays fleet store: one primitive array per field instead of
+ * one object per vehicle, so fleet-wide scans are straight loops over
+ * contiguous doubles. Row i of every column belongs to the same vehicle.
+ *
+ * Removal moves the last row into the freed slot, so row order (and the order
+ * of toVehicles) is not insertion order once vehicles have been removed.
+ * Not thread-safe.
+ */
+public class ColumnarFleet implements FleetStore {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<String, Integer> rowById = new HashMap<>();
+    private int size = 0;
+
+    private int[] types = new int[INITIAL_CAPACITY];
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private String[] models = new String[INITIAL_CAPACITY];
+    private double[] maxSpeed = new double[INITIAL_CAPACITY];
+    private double[] param = new double[INITIAL_CAPACITY];       // wheels / altitude / sail (see VehicleType)
+    private double[] efficiency = new double[INITIAL_CAPACITY];  // base km/l; 0 for sail ships
+    private double[] fuel = new double[INITIAL_CAPACITY];
+    private double[] mileage = new double[INITIAL_CAPACITY];
+    private double[] cargo = new double[INITIAL_CAPACITY];
+    private int[] passengers = new int[INITIAL_CAPACITY];
+    private double[] lastMaintenance = new double[INITIAL_CAPACITY];
+    private boolean[] maintenanceFlag = new boolean[INITIAL_CAPACITY];
+
+    @Override
+    public void add(Vehicle v) throws InvalidOperationException {
+        VehicleType type = VehicleType.of(v);
+        if (rowById.putIfAbsent(v.getID(), size) != null) {
+            throw new InvalidOperationException("Vehicle ID must be unique");
+        }
+        if (size == types.length) grow();
+        int i = size++;
+        types[i] = type.code();
+        ids[i] = v.getID();
+        models[i] = v.getModel();
+        maxSpeed[i] = v.getMaxSpeed();
+        param[i] = VehicleType.paramOf(v);
+        efficiency[i] = v.calculateFuelEfficiency();
+        fuel[i] = v instanceof FuelConsumable f ? f.getFuelLevel() : 0.0;
+        mileage[i] = v.getCurrentMileage();
+        cargo[i] = v instanceof CargoCarrier c ? c.getCurrentCargo() : 0.0;
+        passengers[i] = v instanceof PassengerCarrier p ? p.getCurrentPassengers() : 0;
+        if (v instanceof Maintainable m) {
+            lastMaintenance[i] = m.getLastMaintenanceMileage();
+            maintenanceFlag[i] = m.needsMaintenance();
+        } else {
+            lastMaintenance[i] = 0.0;
+            maintenanceFlag[i] = false;
+        }
+    }
+
+    @Override
+    public boolean remove(String id) {
+        Integer row = rowById.remove(id);
+        if (row == null) return false;
+        int i = row;
+        int last = --size;
+        if (i != last) {
+            types[i] = types[last];
+            ids[i] = ids[last];
+            models[i] = models[last];
+            maxSpeed[i] = maxSpeed[last];
+            param[i] = param[last];
+            efficiency[i] = efficiency[last];
+            fuel[i] = fuel[last];
+            mileage[i] = mileage[last];
+            cargo[i] = cargo[last];
+            passengers[i] = passengers[last];
+            lastMaintenance[i] = lastMaintenance[last];
+            maintenanceFlag[i] = maintenanceFlag[last];
+            rowById.put(ids[i], i);
+        }
+        ids[last] = null;
+        models[last] = null;
+        return true;
+    }
+
+    @Override
+    public boolean contains(String id) {
+        return rowById.containsKey(id);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Vehicle getVehicle(String id) {
+        Integer row = rowById.get(id);
+        return row == null ? null : materialize(row);
+    }
+
+    @Override
+    public List<Vehicle> toVehicles() {
+        List<Vehicle> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) out.add(materialize(i));
+        return out;
+    }
+
+    // Row accessors for callers that want individual fields without building a Vehicle
+    public int indexOf(String id) {
+        Integer row = rowById.get(id);
+        return row == null ? -1 : row;
+    }
+
+    public VehicleType typeAt(int row) { return VehicleType.fromCode(types[checkRow(row)]); }
+    public String idAt(int row) { return ids[checkRow(row)]; }
+    public String modelAt(int row) { return models[checkRow(row)]; }
+    public double maxSpeedAt(int row) { return maxSpeed[checkRow(row)]; }
+    public double fuelAt(int row) { return fuel[checkRow(row)]; }
+    public double mileageAt(int row) { return mileage[checkRow(row)]; }
+    public double cargoAt(int row) { return cargo[checkRow(row)]; }
+    public int passengersAt(int row) { return passengers[checkRow(row)]; }
+    public boolean needsMaintenanceAt(int row) { return needsMaintenance(checkRow(row)); }
+
+    @Override
+    public double getTotalFuelConsumption(double distance) {
+        double total = 0.0;
+        for (int i = 0; i < size; i++) {
+            double eff = efficiency[i];
+            if (eff > 0) total += distance / eff;
+        }
+        return total;
+    }
+
+    @Override
+    public int refuelAll(double amount) {
+        if (amount <= 0) return 0;
+        int refuelled = 0;
+        for (int i = 0; i < size; i++) {
+            if (efficiency[i] > 0) { // sail ships cannot be refuelled
+                fuel[i] += amount;
+                refuelled++;
+            }
+        }
+        return refuelled;
+    }
+
+    @Override
+    public BulkResult startAllJourneys(double distance) {
+        Outcome[] outcomes = new Outcome[size];
+        for (int i = 0; i < size; i++) {
+            if (needsMaintenance(i)) {
+                outcomes[i] = Outcome.MAINTENANCE_REQUIRED;
+                continue;
+            }
+            if (distance < 0) {
+                outcomes[i] = Outcome.INVALID_OPERATION;
+                continue;
+            }
+            double eff = efficiency[i];
+            if (eff != 0) {
+                eff = VehicleType.fromCode(types[i]).efficiencyWithLoad(eff, cargo[i]);
+                double needed = distance / eff;
+                if (needed > fuel[i]) {
+                    outcomes[i] = Outcome.INSUFFICIENT_FUEL;
+                    continue;
+                }
+                fuel[i] -= needed;
+            }
+            if (distance > 0) mileage[i] += distance; // Vehicle.addMileage ignores non-positive distances
+            if (mileage[i] > VehicleType.MAINTENANCE_INTERVAL) maintenanceFlag[i] = true;
+            outcomes[i] = Outcome.OK;
+        }
+        return new BulkResult(Arrays.copyOf(ids, size), outcomes);
+    }
+
+    @Override
+    public int maintainAll() {
+        int maintained = 0;
+        for (int i = 0; i < size; i++) {
+            if (needsMaintenance(i)) {
+                lastMaintenance[i] = mileage[i];
+                maintenanceFlag[i] = false;
+                maintained++;
+            }
+        }
+        return maintained;
+    }
+
+    @Override
+    public String generateReport() {
+        int[] counts = new int[VehicleType.values().length];
+        double effSum = 0.0;
+        int effCount = 0;
+        double totalMileage = 0.0;
+        int due = 0;
+        for (int i = 0; i < size; i++) {
+            counts[types[i]]++;
+            if (efficiency[i] > 0) {
+                effSum += efficiency[i];
+                effCount++;
+            }
+            totalMileage += mileage[i];
+            if (needsMaintenance(i)) due++;
+        }
+        // List types in order of first appearance, like FleetManager
+        Map<String, Integer> byType = new LinkedHashMap<>();
+        for (int i = 0; i < size && byType.size() < counts.length; i++) {
+            VehicleType t = VehicleType.fromCode(types[i]);
+            byType.putIfAbsent(t.label(), counts[types[i]]);
+        }
+        return FleetStats.render(size, byType, effCount > 0 ? effSum / effCount : Double.NaN, totalMileage, due);
+    }
+
+    private boolean needsMaintenance(int i) {
+        return maintenanceFlag[i] || mileage[i] - lastMaintenance[i] >= VehicleType.MAINTENANCE_INTERVAL;
+    }
+
+    private Vehicle materialize(int i) {
+        try {
+            return VehicleType.fromCode(types[i]).restore(ids[i], models[i], maxSpeed[i], param[i],
+                    fuel[i], cargo[i], passengers[i], mileage[i], lastMaintenance[i], needsMaintenance(i));
+        } catch (InvalidOperationException e) {
+            // IDs were validated when the vehicle was added
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException("row " + row + " of " + size);
+        return row;
+    }
+
+    private void grow() {
+        int n = types.length * 2;
+        types = Arrays.copyOf(types, n);
+        ids = Arrays.copyOf(ids, n);
+        models = Arrays.copyOf(models, n);
+        maxSpeed = Arrays.copyOf(maxSpeed, n);
+        param = Arrays.copyOf(param, n);
+        efficiency = Arrays.copyOf(efficiency, n);
+        fuel = Arrays.copyOf(fuel, n);
+        mileage = Arrays.copyOf(mileage, n);
+        cargo = Arrays.copyOf(cargo, n);
+        passengers = Arrays.copyOf(passengers, n);
+        lastMaintenance = Arrays.copyOf(lastMaintenance, n);
+        maintenanceFlag = Arrays.copyOf(maintenanceFlag, n);
+    }
+}
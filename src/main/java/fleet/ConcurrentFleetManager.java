@@ -0,0 +1,264 @@
+package fleet;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import exceptions.InvalidOperationException;
+import interfaces.FuelConsumable;
+import interfaces.Maintainable;
+import interfaces.Outcome;
+import logging.Log;
+import vehicles.Vehicle;
+
+/**
+ * Thread-safe counterpart of FleetManager for fleets shared between the CLI,
+ * simulation threads and other callers.
+ *
+ * Membership lives in a ConcurrentHashMap. Every operation on a single
+ * vehicle (including add and remove) holds only the lock stripe its ID hashes
+ * to, so operations on vehicles in different stripes share no lock and
+ * operations on the same vehicle are serialised. Bulk operations and reports
+ * take every stripe, in order, so they see a fleet that nothing else is
+ * changing while they iterate. The list queries (getAll, searchByType,
+ * getVehiclesNeedingMaintenance) take no lock: they iterate the map weakly
+ * consistently and may see a vehicle in the middle of an update.
+ *
+ * Single-vehicle operations return the same results and log the same lines
+ * as FleetManager's (both go through VehicleOperations). Bulk operations run
+ * on the common ForkJoinPool and log nothing, like FleetManager's parallel
+ * variants. Iteration order is the map's, not insertion order.
+ */
+public class ConcurrentFleetManager {
+    private static final int DEFAULT_STRIPES = 64;
+    private static final int BULK_LEAF_SIZE = 1024;
+
+    private final ConcurrentHashMap<String, Vehicle> byId = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes;
+
+    // model -> number of vehicles with that model
+    private final ConcurrentHashMap<String, Integer> models = new ConcurrentHashMap<>();
+    // report lists types in the order they were first added, like FleetManager
+    private final ConcurrentHashMap<String, Integer> typeOrder = new ConcurrentHashMap<>();
+    private final AtomicInteger nextTypeOrder = new AtomicInteger();
+
+    public ConcurrentFleetManager() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripes number of lock stripes, rounded up to a power of two
+     */
+    public ConcurrentFleetManager(int stripes) {
+        int n = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[n];
+        for (int i = 0; i < n; i++) this.stripes[i] = new ReentrantLock();
+    }
+
+    public void addVehicle(Vehicle v) throws InvalidOperationException {
+        Lock stripe = stripeFor(v.getID());
+        stripe.lock();
+        try {
+            if (byId.putIfAbsent(v.getID(), v) != null) {
+                throw new InvalidOperationException("Vehicle ID must be unique");
+            }
+            if (v.getModel() != null) models.merge(v.getModel(), 1, Integer::sum);
+            typeOrder.computeIfAbsent(v.getClass().getSimpleName(), k -> nextTypeOrder.getAndIncrement());
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    public void removeVehicle(String id) throws InvalidOperationException {
+        Lock stripe = stripeFor(id);
+        stripe.lock();
+        try {
+            Vehicle v = byId.remove(id);
+            if (v == null) {
+                throw new InvalidOperationException(String.format("Vehicle with ID %s not found", id));
+            }
+            if (v.getModel() != null) models.computeIfPresent(v.getModel(), (m, n) -> n == 1 ? null : n - 1);
+        } finally {
+            stripe.unlock();
+        }
+        if (Log.isEnabled()) Log.info("Vehicle with ID " + id + " removed.");
+    }
+
+    /**
+     * A copy of the vehicle with this ID, taken while holding its stripe, or
+     * null if there is none. The copy is not part of the fleet: change the
+     * vehicle through this manager.
+     */
+    public Vehicle getVehicle(String id) {
+        Lock stripe = stripeFor(id);
+        stripe.lock();
+        try {
+            Vehicle v = byId.get(id);
+            return v == null ? null : VehicleType.copyOf(v);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public OperationResult startJourney(String id, double distance) {
+        return withVehicle(id, v -> VehicleOperations.move(v, id, distance));
+    }
+
+    public OperationResult refuelVehicle(String id, double amount) {
+        return withVehicle(id, v -> VehicleOperations.refuel(v, id, amount));
+    }
+
+    public OperationResult loadCargo(String id, double weight) {
+        return withVehicle(id, v -> VehicleOperations.loadCargo(v, id, weight));
+    }
+
+    public OperationResult unloadCargo(String id, double weight) {
+        return withVehicle(id, v -> VehicleOperations.unloadCargo(v, id, weight));
+    }
+
+    public OperationResult addPassengers(String id, int count) {
+        return withVehicle(id, v -> VehicleOperations.addPassengers(v, id, count));
+    }
+
+    public OperationResult removePassengers(String id, int count) {
+        return withVehicle(id, v -> VehicleOperations.removePassengers(v, id, count));
+    }
+
+    /**
+     * Move every vehicle by `distance` on the common ForkJoinPool. Nothing is
+     * logged; per-vehicle outcomes are in the result.
+     */
+    public BulkResult startAllJourneys(double distance) {
+        return bulk(v -> v.tryMove(distance));
+    }
+
+    /**
+     * Refuel every fuel-consuming vehicle; the others are UNSUPPORTED.
+     */
+    public BulkResult refuelAll(double amount) {
+        return bulk(v -> v instanceof FuelConsumable f ? f.tryRefuel(amount) : Outcome.UNSUPPORTED);
+    }
+
+    /**
+     * Maintain every vehicle that needs it; the others are SKIPPED (or
+     * UNSUPPORTED if they are not Maintainable).
+     */
+    public BulkResult maintainAll() {
+        return bulk(v -> {
+            if (!(v instanceof Maintainable m)) return Outcome.UNSUPPORTED;
+            if (!m.needsMaintenance()) return Outcome.SKIPPED;
+            m.performMaintenance();
+            return Outcome.OK;
+        });
+    }
+
+    /** The fleet's own vehicles of this type; see the class comment on consistency. */
+    public List<Vehicle> searchByType(Class<?> type) {
+        List<Vehicle> out = new ArrayList<>();
+        for (Vehicle v : byId.values()) {
+            if (type.isInstance(v)) out.add(v);
+        }
+        return out;
+    }
+
+    public List<Vehicle> getVehiclesNeedingMaintenance() {
+        List<Vehicle> out = new ArrayList<>();
+        for (Vehicle v : byId.values()) {
+            if (v instanceof Maintainable m && m.needsMaintenance()) out.add(v);
+        }
+        return out;
+    }
+
+    /**
+     * The fleet's own vehicles. Vehicles added or removed while the list is
+     * built may or may not be in it; see the class comment on consistency.
+     */
+    public List<Vehicle> getAll() {
+        return List.of(byId.values().toArray(new Vehicle[0]));
+    }
+
+    public List<String> getDistinctModelsSorted() {
+        return new ArrayList<>(new TreeSet<>(models.keySet()));
+    }
+
+    public String generateReport() {
+        lockAll();
+        try {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            typeOrder.entrySet().stream()
+                     .sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+                     .forEach(e -> counts.put(e.getKey(), 0));
+            double effSum = 0.0;
+            int effCount = 0;
+            double totalMileage = 0.0;
+            int due = 0;
+            for (Vehicle v : byId.values()) {
+                counts.merge(v.getClass().getSimpleName(), 1, Integer::sum);
+                double eff = v.calculateFuelEfficiency();
+                if (eff > 0) {
+                    effSum += eff;
+                    effCount++;
+                }
+                totalMileage += v.getCurrentMileage();
+                if (v instanceof Maintainable m && m.needsMaintenance()) due++;
+            }
+            return FleetStats.render(byId.size(), counts, effCount > 0 ? effSum / effCount : Double.NaN,
+                    totalMileage, due);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    // Runs `op` on the vehicle with this ID (null if there is none) while holding its stripe
+    private OperationResult withVehicle(String id, Function<Vehicle, OperationResult> op) {
+        Lock stripe = stripeFor(id);
+        stripe.lock();
+        try {
+            return op.apply(byId.get(id));
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    // Runs `op` on every vehicle with single-vehicle operations locked out
+    private BulkResult bulk(Function<Vehicle, Outcome> op) {
+        lockAll();
+        try {
+            Vehicle[] vehicles = byId.values().toArray(new Vehicle[0]);
+            Outcome[] outcomes = new Outcome[vehicles.length];
+            ForkJoinPool.commonPool().invoke(new BulkTask(vehicles, outcomes, op, BULK_LEAF_SIZE));
+            String[] ids = new String[vehicles.length];
+            for (int i = 0; i < vehicles.length; i++) ids[i] = vehicles[i].getID();
+            return new BulkResult(ids, outcomes);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    // Every stripe, always in index order so two bulk callers cannot deadlock
+    private void lockAll() {
+        for (ReentrantLock stripe : stripes) stripe.lock();
+    }
+
+    private void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) stripes[i].unlock();
+    }
+
+    private Lock stripeFor(String id) {
+        int h = id.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+}
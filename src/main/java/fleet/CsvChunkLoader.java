@@ -0,0 +1,129 @@
+package fleet;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import logging.Log;
+import vehicles.Vehicle;
+
+/**
+ * Loads a fleet CSV file in parallel. The file is memory-mapped whole and
+ * cut into chunks that end just after a '\n'. Each chunk is decoded and
+ * parsed by its own FleetCsvParser on a pool thread, and the results are
+ * joined in file order. A newline byte never occurs inside a multi-byte
+ * character in the charsets a JVM can default to, so every chunk decodes
+ * on its own.
+ *
+ * The parsers number lines from the start of their chunk and keep their
+ * problems. Once each chunk's line count is known, the problems are logged
+ * in file order with their line numbers in the whole file. The vehicles, the
+ * bad lines and the messages match a sequential FleetCsvParser pass over the
+ * same file.
+ */
+final class CsvChunkLoader {
+    // Target chunk size, and the smallest chunk worth a task of its own
+    private static final long CHUNK_BYTES = 8L << 20;
+    private static final long MIN_CHUNK_BYTES = 256L << 10;
+    // Chunks per pool thread on files too small for CHUNK_BYTES to keep all threads busy
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private CsvChunkLoader() {}
+
+    private record Chunk(List<Vehicle> vehicles, int lines, int badLines, List<FleetCsvParser.Problem> problems) {}
+
+    /**
+     * Add the vehicles in `file` to `out`, in file order, parsing on `pool`.
+     * Returns the number of bad lines.
+     */
+    static int load(Path file, Charset charset, ForkJoinPool pool, List<Vehicle> out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             Arena arena = Arena.ofShared()) {
+            long size = channel.size();
+            if (size == 0) return 0;
+            MemorySegment data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size, arena);
+            long[] bounds = boundaries(data, chunkCount(size, pool.getParallelism()));
+            ConcurrentMap<String, String> models = new ConcurrentHashMap<>();
+            List<Callable<Chunk>> tasks = new ArrayList<>(bounds.length - 1);
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                long from = bounds[i];
+                long to = bounds[i + 1];
+                tasks.add(() -> parse(data.asSlice(from, to - from), charset, models));
+            }
+            int badLines = 0;
+            int firstLine = 1;
+            for (Future<Chunk> f : pool.invokeAll(tasks)) {
+                Chunk c = join(f);
+                out.addAll(c.vehicles());
+                for (FleetCsvParser.Problem p : c.problems()) Log.info(p.message(firstLine));
+                badLines += c.badLines();
+                firstLine += c.lines();
+            }
+            return badLines;
+        }
+    }
+
+    private static int chunkCount(long size, int threads) {
+        long chunks = Math.max(size / CHUNK_BYTES, (long) threads * CHUNKS_PER_THREAD);
+        return (int) Math.max(1, Math.min(chunks, size / MIN_CHUNK_BYTES));
+    }
+
+    // Chunk start offsets plus the file size: each cut is moved forward to
+    // just past the next '\n', and chunks that end up empty are dropped
+    private static long[] boundaries(MemorySegment data, int chunks) {
+        long size = data.byteSize();
+        long[] cuts = new long[chunks + 1];
+        int n = 1;
+        for (int i = 1; i < chunks; i++) {
+            long at = Math.max(size / chunks * i, cuts[n - 1]);
+            while (at < size && data.get(ValueLayout.JAVA_BYTE, at) != '\n') at++;
+            if (at + 1 < size && at + 1 > cuts[n - 1]) cuts[n++] = at + 1;
+        }
+        cuts[n++] = size;
+        return Arrays.copyOf(cuts, n);
+    }
+
+    private static Chunk parse(MemorySegment bytes, Charset charset, ConcurrentMap<String, String> models) {
+        ByteBuffer in = ByteBuffer.wrap(bytes.toArray(ValueLayout.JAVA_BYTE));
+        // Replace bad input the way FileReader does
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer text = CharBuffer.allocate((int) Math.ceil(in.remaining() * (double) decoder.maxCharsPerByte()));
+        decoder.decode(in, text, true);
+        decoder.flush(text);
+        FleetCsvParser parser = new FleetCsvParser(models, true);
+        List<Vehicle> vehicles = new ArrayList<>();
+        int lines = parser.readAll(text.array(), 0, text.position(), vehicles);
+        return new Chunk(vehicles, lines, parser.badLines(), parser.problems());
+    }
+
+    private static Chunk join(Future<Chunk> f) throws IOException {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading fleet", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error parsing fleet file: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
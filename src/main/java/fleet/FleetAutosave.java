@@ -0,0 +1,180 @@
+package fleet;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import logging.Log;
+import metrics.Counter;
+import metrics.Gauge;
+import metrics.Metrics;
+import metrics.Operation;
+
+/**
+ * Saves a journaled fleet from a background thread, so the thread changing
+ * the fleet never waits for the disk.
+ *
+ * The fleet's FleetManager reports each change to the FleetJournal, which
+ * only marks the vehicle dirty. This writer checks for changes every
+ * `quietMillis` and commits once a check finds the fleet unchanged since the
+ * previous one, or once the oldest unsaved change is `maxDelayMillis` old. A
+ * burst of changes is therefore saved once, after it ends, and a fleet that
+ * keeps changing is still saved at least every `maxDelayMillis`. The commit
+ * writes only the vehicles that changed, or a fresh snapshot when most of the
+ * fleet did (see FleetJournal). The writer never holds a lock the fleet's own
+ * operations need, and never reads the fleet's vehicles: the journal writes
+ * the copies it took on the thread that reported each change.
+ *
+ * Reported as metrics: autosave.save (latency and failures of each save),
+ * autosave.queueDepth (changes waiting to be saved, sampled at each check),
+ * and autosave.records and autosave.bytes (what the saves wrote). The same
+ * figures are available from the accessors below.
+ */
+public final class FleetAutosave implements AutoCloseable {
+    public static final long DEFAULT_QUIET_MILLIS = 200;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 2000;
+
+    private static final Operation SAVE = Metrics.operation("autosave.save");
+    private static final Gauge QUEUE_DEPTH = Metrics.gauge("autosave.queueDepth");
+    private static final Counter RECORDS = Metrics.counter("autosave.records");
+    private static final Counter BYTES = Metrics.counter("autosave.bytes");
+
+    private final FleetJournal journal;
+    private final long quietMillis;
+    private final long maxDelayNanos;
+    private final Thread writer;
+    private volatile boolean closed = false;
+
+    // Written by the writer thread only
+    private volatile long saves = 0;
+    private volatile long lastSaveNanos = 0;
+    private volatile long bytesWritten = 0;
+    private volatile String lastError = null;
+
+    public FleetAutosave(FleetJournal journal) {
+        this(journal, DEFAULT_QUIET_MILLIS, DEFAULT_MAX_DELAY_MILLIS);
+    }
+
+    public FleetAutosave(FleetJournal journal, long quietMillis, long maxDelayMillis) {
+        if (quietMillis < 1) throw new IllegalArgumentException("quietMillis must be >= 1");
+        if (maxDelayMillis < quietMillis) throw new IllegalArgumentException("maxDelayMillis must be >= quietMillis");
+        this.journal = journal;
+        this.quietMillis = quietMillis;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.writer = new Thread(this::run, "fleet-autosave");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** Changes reported but not saved yet. */
+    public int queueDepth() {
+        return journal.pendingChanges();
+    }
+
+    /** Saves that wrote something. */
+    public long saves() {
+        return saves;
+    }
+
+    /** How long the last save took, in nanoseconds. */
+    public long lastSaveNanos() {
+        return lastSaveNanos;
+    }
+
+    /** Bytes written by the background saves. */
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    /** Message of the last failed save, or null if the last save worked. */
+    public String lastError() {
+        return lastError;
+    }
+
+    /**
+     * Save now on the calling thread, and return once every change reported
+     * before the call is written. Returns the number of records written.
+     */
+    public int flush() throws IOException {
+        return journal.commit();
+    }
+
+    private void run() {
+        long seen = journal.reportedChanges();
+        long firstUnsaved = 0;
+        while (!closed) {
+            if (!pause()) break;
+            QUEUE_DEPTH.set(journal.pendingChanges());
+            long now = System.nanoTime();
+            long reported = journal.reportedChanges();
+            boolean quiet = reported == seen;
+            seen = reported;
+            if (!journal.hasUnsavedChanges()) {
+                firstUnsaved = 0;
+                continue;
+            }
+            if (firstUnsaved == 0) firstUnsaved = now;
+            if (quiet || now - firstUnsaved >= maxDelayNanos) {
+                // A failed save leaves its changes unsaved (the journal's next commit
+                // writes a whole snapshot) and keeps firstUnsaved, so the next check retries
+                if (save()) firstUnsaved = 0;
+            }
+        }
+        if (journal.hasUnsavedChanges()) save();
+    }
+
+    // Wait quietMillis, or less if close() is called; false once closed.
+    // Not interruption: interrupting a thread in FileChannel I/O closes the channel.
+    private synchronized boolean pause() {
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(quietMillis);
+        long left;
+        while (!closed && (left = until - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, left);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return !closed;
+    }
+
+    private boolean save() {
+        long t = SAVE.start();
+        long started = System.nanoTime();
+        long before = journal.bytesWritten();
+        try {
+            int records = journal.commit();
+            long bytes = journal.bytesWritten() - before;
+            lastSaveNanos = System.nanoTime() - started;
+            if (records > 0) saves++;
+            bytesWritten += bytes;
+            lastError = null;
+            RECORDS.add(records);
+            BYTES.add(bytes);
+            SAVE.end(t);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            lastError = e.getMessage();
+            Log.info("Autosave failed: " + e.getMessage());
+            SAVE.end(t, false);
+            return false;
+        }
+    }
+
+    /**
+     * Stop the writer once it has saved the pending changes. The journal
+     * stays open.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package fleet;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+import exceptions.InvalidOperationException;
+import interfaces.CargoCarrier;
+import interfaces.FuelConsumable;
+import interfaces.Maintainable;
+import interfaces.Outcome;
+import interfaces.PassengerCarrier;
+import logging.Log;
+import vehicles.CargoShip;
+import vehicles.Vehicle;
+
+/**
+ * Single-pass reader for the CSV rows written by Persistence.saveFleet.
+ *
+ * Lines are cut out of one reusable char buffer and fields are parsed where
+ * they lie. No line strings, no split() arrays, and each number is parsed
+ * once. The only objects made per row are the vehicle and its ID. Models are
+ * interned, so rows that share a model share one String. Restored state
+ * goes through the vehicles' non-throwing try* methods, so a row is
+ * rejected by checking an Outcome rather than by catching an exception.
+ * Those checks are deliberately not skipped: the CSV is hand-editable, so
+ * unlike a binary snapshot its rows can't be trusted, and they cost a few
+ * comparisons per row next to parsing the row's numbers.
+ *
+ * Accepts and rejects the same rows as the String.split loader it replaces:
+ * - lines are trimmed, and blank lines and # comments are skipped;
+ * - trailing empty fields don't count towards the field count;
+ * - numbers follow Double.parseDouble and Integer.parseInt, booleans
+ *   Boolean.parseBoolean;
+ * - a row whose fuel, cargo or passengers the vehicle refuses is skipped
+ *   and logged with its line number.
+ *
+ * A parser can also work on one chunk of a larger file (see CsvChunkLoader).
+ * Line numbers then count from the chunk start, so problems are kept rather
+ * than logged, and the caller logs them once it knows the chunk's first line.
+ */
+final class FleetCsvParser {
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Airplane rows have the most fields; fields past these are ignored
+    private static final int MAX_FIELDS = 11;
+
+    // Per VehicleType (by ordinal): fields in a row, and the index of the
+    // cargo and passenger fields (-1: the row has none)
+    private static final int[] FIELDS = {8, 9, 10, 11, 9};
+    private static final int[] CARGO_FIELD = {-1, 6, -1, 8, 6};
+    private static final int[] PASSENGER_FIELD = {-1, -1, 7, 7, -1};
+    private static final VehicleType[] TYPES = VehicleType.values();
+
+    // Powers of ten that are exact doubles, for the fast path in parseDouble
+    private static final double[] POW10 = new double[23];
+    static {
+        POW10[0] = 1.0;
+        for (int i = 1; i < POW10.length; i++) POW10[i] = POW10[i - 1] * 10.0;
+    }
+
+    private char[] buf;
+    private final int[] starts = new int[MAX_FIELDS];
+    private final int[] ends = new int[MAX_FIELDS];
+    private final Interner models;
+    private final List<Problem> problems;  // null: log problems as they are found
+    private int badLines = 0;
+
+    FleetCsvParser() {
+        this(null, false);
+    }
+
+    /**
+     * A parser that interns models through `sharedModels` as well (when not
+     * null), so parsers working on chunks of one file share model Strings,
+     * and that keeps problems for problems() instead of logging them when
+     * `keepProblems` is set.
+     */
+    FleetCsvParser(ConcurrentMap<String, String> sharedModels, boolean keepProblems) {
+        this.models = new Interner(sharedModels);
+        this.problems = keepProblems ? new ArrayList<>() : null;
+    }
+
+    /**
+     * A rejected line. `unknownType` is set when the type was not recognised,
+     * otherwise `error` says why the vehicle could not be restored.
+     */
+    record Problem(int line, String unknownType, String error) {
+        /** The log message, with `line` counted from `firstLine` instead of 1. */
+        String message(int firstLine) {
+            int n = line + firstLine - 1;
+            return unknownType != null ? "Unknown type: " + unknownType + " at line " + n
+                    : "Error restoring vehicle from line " + n + ": " + error;
+        }
+    }
+
+    /** Rows skipped so far because they could not be restored. */
+    int badLines() {
+        return badLines;
+    }
+
+    /** Problems kept so far, in line order (empty when logging is off). */
+    List<Problem> problems() {
+        return problems == null ? List.of() : problems;
+    }
+
+    /**
+     * Read every line of `in`, adding the restored vehicles to `out` in file order.
+     */
+    void readAll(Reader in, List<Vehicle> out) throws IOException {
+        if (buf == null) buf = new char[BUFFER_SIZE];
+        int pos = 0;        // start of the current line
+        int len = 0;        // chars in buf
+        int scan = 0;       // buf[pos, scan) holds no line terminator
+        int lineNo = 0;
+        boolean eof = false;
+        boolean skipLF = false;  // last line ended with \r; a \n right after belongs to it
+        while (true) {
+            if (skipLF && pos < len) {
+                if (buf[pos] == '\n') pos++;
+                skipLF = false;
+                scan = Math.max(scan, pos);
+            }
+            int i = scan;
+            while (i < len && buf[i] != '\n' && buf[i] != '\r') i++;
+            if (i == len) {
+                if (eof) {
+                    if (pos < len) parseLine(buf, pos, len, ++lineNo, out);
+                    return;
+                }
+                // Move the partial line to the front (or grow the buffer) and read more
+                if (pos > 0) {
+                    System.arraycopy(buf, pos, buf, 0, len - pos);
+                    len -= pos;
+                    pos = 0;
+                } else if (len == buf.length) {
+                    buf = Arrays.copyOf(buf, buf.length * 2);
+                }
+                scan = len;
+                int n = in.read(buf, len, buf.length - len);
+                if (n < 0) eof = true;
+                else len += n;
+                continue;
+            }
+            parseLine(buf, pos, i, ++lineNo, out);
+            skipLF = buf[i] == '\r';
+            pos = scan = i + 1;
+        }
+    }
+
+    /**
+     * Parse the lines of b[from, to), which holds whole lines, numbering them
+     * from 1. Returns the number of lines.
+     */
+    int readAll(char[] b, int from, int to, List<Vehicle> out) {
+        int lineNo = 0;
+        int pos = from;
+        while (pos < to) {
+            int i = pos;
+            while (i < to && b[i] != '\n' && b[i] != '\r') i++;
+            parseLine(b, pos, i, ++lineNo, out);
+            if (i + 1 < to && b[i] == '\r' && b[i + 1] == '\n') i++;
+            pos = i + 1;
+        }
+        return lineNo;
+    }
+
+    /**
+     * Restore the vehicle in line `lineNo`, b[from, to) without its line
+     * terminator, and add it to `out`. Comments and blank lines add nothing;
+     * bad rows are logged and counted.
+     */
+    void parseLine(char[] b, int from, int to, int lineNo, List<Vehicle> out) {
+        while (from < to && b[from] <= ' ') from++;
+        while (to > from && b[to - 1] <= ' ') to--;
+        if (from == to || b[from] == '#') return; // skip header/comments
+        int fields = split(b, from, to);
+        VehicleType type = fields == 0 ? null : typeOf(b, starts[0], ends[0]);
+        if (type == null) {
+            reject(lineNo, fields == 0 ? "" : text(b, 0), null);
+            return;
+        }
+        try {
+            out.add(restore(type, b, fields));
+        } catch (Exception e) {
+            reject(lineNo, null, e.getMessage());
+        }
+    }
+
+    private void reject(int lineNo, String unknownType, String error) {
+        badLines++;
+        if (!Log.isEnabled()) return;
+        Problem p = new Problem(lineNo, unknownType, error);
+        if (problems != null) problems.add(p);
+        else Log.info(p.message(1));
+    }
+
+    // Record the bounds of the first MAX_FIELDS fields; returns the field count,
+    // not counting empty fields at the end (as String.split drops them)
+    private int split(char[] b, int from, int to) {
+        int count = 0;
+        int nonEmpty = 0;
+        int start = from;
+        for (int i = from; i <= to; i++) {
+            if (i < to && b[i] != ',') continue;
+            if (count < MAX_FIELDS) {
+                starts[count] = start;
+                ends[count] = i;
+            }
+            count++;
+            if (i > start) nonEmpty = count;
+            start = i + 1;
+        }
+        return nonEmpty;
+    }
+
+    private Vehicle restore(VehicleType type, char[] b, int fields) throws InvalidOperationException {
+        int t = type.ordinal();
+        if (fields < FIELDS[t]) throw new IllegalArgumentException("Not enough fields for " + type.label());
+        String id = text(b, 1);
+        String model = models.intern(b, starts[2], ends[2]);
+        double maxSpeed = parseDouble(b, starts[3], ends[3]);
+        double param = switch (type) {
+            case AIRPLANE -> parseDouble(b, starts[4], ends[4]);           // maxAltitude
+            case CARGO_SHIP -> parseBoolean(b, starts[4], ends[4]) ? 1 : 0; // hasSail
+            default -> parseInt(b, starts[4], ends[4]);                     // numWheels
+        };
+        Vehicle v = type.create(id, model, maxSpeed, param);
+        // A sail ship takes no fuel; its saved fuel level is not even parsed
+        if (!(v instanceof CargoShip s && s.hasSail())) {
+            double fuel = parseDouble(b, starts[5], ends[5]);
+            if (fuel > 0.0) require(((FuelConsumable) v).tryRefuel(fuel), "Invalid fuel level");
+        }
+        int p = PASSENGER_FIELD[t];
+        if (p >= 0) require(((PassengerCarrier) v).tryBoardPassengers(parseInt(b, starts[p], ends[p])), "Passenger overload");
+        int c = CARGO_FIELD[t];
+        if (c >= 0) require(((CargoCarrier) v).tryLoadCargo(parseDouble(b, starts[c], ends[c])), "Invalid cargo weight");
+        int last = FIELDS[t] - 1;
+        v.addMileage(parseDouble(b, starts[last - 1], ends[last - 1]));
+        if (parseBoolean(b, starts[last], ends[last])) ((Maintainable) v).scheduleMaintenance();
+        return v;
+    }
+
+    private static void require(Outcome outcome, String message) {
+        if (outcome == Outcome.OVERLOAD) throw new IllegalArgumentException(message + ": capacity exceeded");
+        if (outcome != Outcome.OK) throw new IllegalArgumentException(message);
+    }
+
+    private String text(char[] b, int field) {
+        return new String(b, starts[field], ends[field] - starts[field]);
+    }
+
+    private static VehicleType typeOf(char[] b, int from, int to) {
+        for (VehicleType type : TYPES) {
+            if (matches(b, from, to, type.label())) return type;
+        }
+        return null;
+    }
+
+    private static boolean matches(char[] b, int from, int to, String s) {
+        if (to - from != s.length()) return false;
+        for (int i = 0; i < s.length(); i++) {
+            if (b[from + i] != s.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Double.parseDouble of b[from, to). Plain decimals with at most 15
+     * significant digits (everything saveFleet writes) are computed directly:
+     * the digits and the power of ten are exact doubles, so one division
+     * rounds correctly. Anything else goes through Double.parseDouble.
+     */
+    static double parseDouble(char[] b, int from, int to) {
+        int i = from;
+        int end = to;
+        while (i < end && b[i] <= ' ') i++;  // parseDouble trims
+        while (end > i && b[end - 1] <= ' ') end--;
+        boolean negative = false;
+        if (i < end && (b[i] == '-' || b[i] == '+')) negative = b[i++] == '-';
+        long digits = 0;
+        int significant = 0;
+        int scale = 0;
+        boolean dot = false;
+        boolean any = false;
+        for (; i < end; i++) {
+            char c = b[i];
+            if (c >= '0' && c <= '9') {
+                digits = digits * 10 + (c - '0');
+                if (digits != 0 && ++significant > 15) return slowDouble(b, from, to);
+                if (dot) scale++;
+                any = true;
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                return slowDouble(b, from, to);
+            }
+        }
+        if (!any || scale >= POW10.length) return slowDouble(b, from, to);
+        double value = digits / POW10[scale];
+        return negative ? -value : value;
+    }
+
+    private static double slowDouble(char[] b, int from, int to) {
+        return Double.parseDouble(new String(b, from, to - from));
+    }
+
+    /** Integer.parseInt of b[from, to). */
+    static int parseInt(char[] b, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (b[i] == '-' || b[i] == '+')) negative = b[i++] == '-';
+        // Up to 9 digits can't overflow; longer or malformed input takes the slow path
+        if (i == to || to - i > 9) return Integer.parseInt(new String(b, from, to - from));
+        int value = 0;
+        for (; i < to; i++) {
+            char c = b[i];
+            if (c < '0' || c > '9') return Integer.parseInt(new String(b, from, to - from));
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /** Boolean.parseBoolean of b[from, to): "true" in any case. */
+    static boolean parseBoolean(char[] b, int from, int to) {
+        if (to - from != 4) return false;
+        return (b[from] | 0x20) == 't' && (b[from + 1] | 0x20) == 'r'
+                && (b[from + 2] | 0x20) == 'u' && (b[from + 3] | 0x20) == 'e';
+    }
+
+    /**
+     * One String per distinct char sequence, looked up without making a String.
+     * Open addressing with linear probing; fleets have few distinct models.
+     * New strings are first looked up in the shared map, if there is one.
+     */
+    private static final class Interner {
+        private final ConcurrentMap<String, String> shared;
+        private String[] table = new String[64];
+        private int size = 0;
+
+        Interner(ConcurrentMap<String, String> shared) {
+            this.shared = shared;
+        }
+
+        String intern(char[] b, int from, int to) {
+            int h = 0;
+            for (int i = from; i < to; i++) h = 31 * h + b[i];
+            int mask = table.length - 1;
+            int slot = mix(h) & mask;
+            for (String s; (s = table[slot]) != null; slot = (slot + 1) & mask) {
+                if (s.hashCode() == h && matches(b, from, to, s)) return s;
+            }
+            String s = new String(b, from, to - from);
+            if (shared != null) {
+                String prev = shared.putIfAbsent(s, s);
+                if (prev != null) s = prev;
+            }
+            table[slot] = s;
+            if (++size * 2 > table.length) rehash();
+            return s;
+        }
+
+        private void rehash() {
+            String[] old = table;
+            table = new String[old.length * 2];
+            int mask = table.length - 1;
+            for (String s : old) {
+                if (s == null) continue;
+                int slot = mix(s.hashCode()) & mask;
+                while (table[slot] != null) slot = (slot + 1) & mask;
+                table[slot] = s;
+            }
+        }
+
+        private static int mix(int h) {
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package fleet;
+
+import java.util.Collection;
+
+import interfaces.CargoCarrier;
+import vehicles.LandVehicle;
+import vehicles.Vehicle;
+
+/**
+ * Batch fuel and journey-time estimates for many vehicles and many distances.
+ *
+ * Each vehicle is reduced to three numbers: the efficiency a journey would
+ * actually use (the Truck over-half-load penalty applied, 0 for a sail ship,
+ * which burns no fuel), its max speed and its journey-time factor (1.1 land,
+ * 0.95 air, 1.15 water). Results are laid out [distance][vehicle] and match
+ * what the vehicles' own fuel and estimateJourneyTime code computes.
+ *
+ * When the jdk.incubator.vector module is present (run with
+ * --add-modules jdk.incubator.vector) the loops run on the Vector API;
+ * otherwise, or with -Dfleet.vector=false, plain scalar loops are used.
+ * Per-vehicle values are bit-for-bit the same either way; the totals of
+ * totalFuel may differ in the last bits because lanes are summed separately.
+ */
+public final class FleetEstimator {
+    private static final boolean VECTORIZED = vectorAvailable();
+
+    private final double[] efficiency;
+    private final double[] maxSpeed;
+    private final double[] journeyFactor;
+
+    /**
+     * @param efficiency    km per litre each vehicle would get, 0 for no fuel use
+     * @param maxSpeed      km/h
+     * @param journeyFactor multiplier applied to distance / maxSpeed
+     */
+    public FleetEstimator(double[] efficiency, double[] maxSpeed, double[] journeyFactor) {
+        if (efficiency.length != maxSpeed.length || efficiency.length != journeyFactor.length) {
+            throw new IllegalArgumentException("Estimator arrays must have the same length");
+        }
+        this.efficiency = efficiency.clone();
+        this.maxSpeed = maxSpeed.clone();
+        this.journeyFactor = journeyFactor.clone();
+    }
+
+    /** Estimator for the vehicles in their current state (cargo load included). */
+    public static FleetEstimator of(Collection<? extends Vehicle> vehicles) {
+        int n = vehicles.size();
+        double[] eff = new double[n];
+        double[] speed = new double[n];
+        double[] factor = new double[n];
+        int i = 0;
+        for (Vehicle v : vehicles) {
+            VehicleType type = VehicleType.of(v);
+            double cargo = v instanceof CargoCarrier c ? c.getCurrentCargo() : 0.0;
+            eff[i] = type.efficiencyWithLoad(v.calculateFuelEfficiency(), cargo);
+            speed[i] = v.getMaxSpeed();
+            // LandVehicle refuses to estimate without a positive speed; NaN marks that
+            factor[i] = v instanceof LandVehicle && v.getMaxSpeed() <= 0 ? Double.NaN : type.journeyFactor();
+            i++;
+        }
+        return new FleetEstimator(eff, speed, factor);
+    }
+
+    /** True if estimates run on the Vector API in this JVM. */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    public int size() {
+        return efficiency.length;
+    }
+
+    /** Litres each vehicle needs for each distance: result[d][v]. */
+    public double[][] fuelNeeded(double[] distances) {
+        checkDistances(distances);
+        double[][] out = new double[distances.length][efficiency.length];
+        for (int d = 0; d < distances.length; d++) {
+            if (VECTORIZED) VectorKernels.fuel(distances[d], efficiency, out[d]);
+            else scalarFuel(distances[d], efficiency, out[d]);
+        }
+        return out;
+    }
+
+    /** Hours each vehicle needs for each distance: result[d][v]. */
+    public double[][] journeyTimes(double[] distances) {
+        checkDistances(distances);
+        double[][] out = new double[distances.length][efficiency.length];
+        for (int d = 0; d < distances.length; d++) {
+            if (VECTORIZED) VectorKernels.time(distances[d], maxSpeed, journeyFactor, out[d]);
+            else scalarTime(distances[d], maxSpeed, journeyFactor, out[d]);
+        }
+        return out;
+    }
+
+    /** Fuel the whole fleet needs for each distance. */
+    public double[] totalFuel(double[] distances) {
+        checkDistances(distances);
+        double[] out = new double[distances.length];
+        for (int d = 0; d < distances.length; d++) {
+            out[d] = VECTORIZED ? VectorKernels.totalFuel(distances[d], efficiency)
+                                : scalarTotalFuel(distances[d], efficiency);
+        }
+        return out;
+    }
+
+    private static void checkDistances(double[] distances) {
+        for (double d : distances) {
+            if (d < 0 || Double.isNaN(d)) throw new IllegalArgumentException("Distance must be >= 0: " + d);
+        }
+    }
+
+    static void scalarFuel(double distance, double[] eff, double[] out) {
+        for (int i = 0; i < eff.length; i++) out[i] = eff[i] > 0 ? distance / eff[i] : 0.0;
+    }
+
+    static void scalarTime(double distance, double[] speed, double[] factor, double[] out) {
+        for (int i = 0; i < speed.length; i++) out[i] = distance / speed[i] * factor[i];
+    }
+
+    static double scalarTotalFuel(double distance, double[] eff) {
+        double total = 0.0;
+        for (double e : eff) {
+            if (e > 0) total += distance / e;
+        }
+        return total;
+    }
+
+    private static boolean vectorAvailable() {
+        if (!Boolean.parseBoolean(System.getProperty("fleet.vector", "true"))) return false;
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return false;
+        try {
+            VectorKernels.fuel(1.0, new double[1], new double[1]);
+            return true;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package fleet;
+
+import interfaces.CargoCarrier;
+import interfaces.FuelConsumable;
+import interfaces.Maintainable;
+import interfaces.PassengerCarrier;
+import interfaces.VehicleChange;
+import vehicles.Vehicle;
+
+/**
+ * One change to a fleet, as delivered by FleetEventStream.
+ *
+ * `value` is the changed quantity right after the change, so a consumer can
+ * apply it without reading the vehicle again: mileage for MILEAGE, fuel level
+ * for FUEL, current cargo for CARGO, current passengers for PASSENGERS, and
+ * 1 or 0 for MAINTENANCE (needs maintenance or not). ADDED and REMOVED carry
+ * NaN. RELOADED and REORDERED have no vehicle and carry the new fleet size;
+ * consumers should resync from a snapshot when they see them.
+ */
+public record FleetEvent(long sequence, Kind kind, Vehicle vehicle, double value) {
+
+    public enum Kind {
+        ADDED,
+        REMOVED,
+        RELOADED,       // the whole fleet was replaced by loadFleet
+        REORDERED,      // the fleet order changed (sortFleetByEfficiency)
+        MILEAGE,
+        MAINTENANCE,
+        FUEL,
+        CARGO,
+        PASSENGERS;
+
+        static Kind of(VehicleChange change) {
+            return switch (change) {
+                case MILEAGE -> MILEAGE;
+                case MAINTENANCE -> MAINTENANCE;
+                case FUEL -> FUEL;
+                case CARGO -> CARGO;
+                case PASSENGERS -> PASSENGERS;
+            };
+        }
+    }
+
+    /** ID of the vehicle, or null for fleet-wide events. */
+    public String vehicleId() {
+        return vehicle == null ? null : vehicle.getID();
+    }
+
+    static double valueOf(Vehicle v, VehicleChange change) {
+        return switch (change) {
+            case MILEAGE -> v.getCurrentMileage();
+            case MAINTENANCE -> v instanceof Maintainable m && m.needsMaintenance() ? 1.0 : 0.0;
+            case FUEL -> v instanceof FuelConsumable f ? f.getFuelLevel() : Double.NaN;
+            case CARGO -> v instanceof CargoCarrier c ? c.getCurrentCargo() : Double.NaN;
+            case PASSENGERS -> v instanceof PassengerCarrier p ? p.getCurrentPassengers() : Double.NaN;
+        };
+    }
+}
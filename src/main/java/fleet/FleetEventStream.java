@@ -0,0 +1,255 @@
+package fleet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import logging.Log;
+import vehicles.Vehicle;
+
+/**
+ * Bounded, lock-free stream of FleetEvents with any number of subscribers.
+ *
+ * Events go into a ring of `capacity` slots. A writer claims the next
+ * sequence number with one atomic increment and stores the event in its slot,
+ * so several threads may publish at once (a parallel bulk run does) without
+ * locking. The store is a compare-and-set that only replaces an older
+ * sequence: a writer that was lapped while it held its sequence finds a newer
+ * event in the slot and leaves it, so a slot's sequence only ever grows. Each subscription keeps its own cursor and reads the ring in
+ * batches; subscribing and closing are the only synchronized operations.
+ *
+ * What happens when a subscriber falls a full ring behind depends on its
+ * Overflow policy. DROP subscribers never hold up the writer: the ring is
+ * overwritten, the subscriber skips ahead to the oldest event still in it and
+ * the skipped events are counted in dropped(). BLOCK subscribers apply
+ * backpressure: a writer that would overwrite an event they have not read
+ * waits until they catch up or close. Nothing is published, and no event is
+ * allocated, while there are no subscribers.
+ */
+public final class FleetEventStream {
+    public enum Overflow { DROP, BLOCK }
+
+    private static final Subscription[] NONE = new Subscription[0];
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<FleetEvent> slots;
+    private final AtomicLong claimed = new AtomicLong();    // next sequence to hand out
+    private volatile Subscription[] subscribers = NONE;
+    private volatile Subscription[] blocking = NONE;
+
+    /** @param capacity ring size, rounded up to a power of two */
+    public FleetEventStream(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) throw new IllegalArgumentException("capacity out of range: " + capacity);
+        int size = 1;
+        while (size < capacity) size <<= 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean hasSubscribers() {
+        return subscribers.length != 0;
+    }
+
+    /** Number of events published since the stream was created. */
+    public long published() {
+        return claimed.get();
+    }
+
+    /**
+     * Publish an event; a no-op while nobody is subscribed. Safe to call from
+     * any number of threads. Returns the event's sequence number, or -1.
+     */
+    public long publish(FleetEvent.Kind kind, Vehicle vehicle, double value) {
+        if (subscribers.length == 0) return -1;
+        long seq = claimed.getAndIncrement();
+        if (blocking.length != 0) awaitSpace(seq);
+        store(new FleetEvent(seq, kind, vehicle, value));
+        return seq;
+    }
+
+    // Put `e` in its slot unless a writer a full ring ahead already has; the
+    // lapped event then counts as dropped for DROP subscribers
+    void store(FleetEvent e) {
+        int slot = (int) (e.sequence() & mask);
+        FleetEvent current = slots.getAcquire(slot);
+        while (current == null || current.sequence() < e.sequence()) {
+            FleetEvent witness = slots.compareAndExchangeRelease(slot, current, e);
+            if (witness == current) return;
+            current = witness;
+        }
+    }
+
+    // Wait until every BLOCK subscriber has read the event `seq` will overwrite
+    private void awaitSpace(long seq) {
+        long wrap = seq - capacity;
+        int spins = 0;
+        while (wrap >= minCursor(blocking)) {
+            if (++spins < 100) Thread.onSpinWait();
+            else LockSupport.parkNanos(10_000L);
+        }
+    }
+
+    private static long minCursor(Subscription[] subs) {
+        long min = Long.MAX_VALUE;
+        for (Subscription s : subs) min = Math.min(min, s.cursor);
+        return min;
+    }
+
+    /**
+     * Subscribe for events published from now on. The subscription is read by
+     * calling poll() from one thread at a time.
+     */
+    public Subscription subscribe(Overflow overflow) {
+        Subscription s = new Subscription(overflow);
+        synchronized (this) {
+            s.cursor = claimed.get();
+            subscribers = append(subscribers, s);
+            if (overflow == Overflow.BLOCK) blocking = append(blocking, s);
+        }
+        return s;
+    }
+
+    /**
+     * Subscribe and hand events to `handler` on a daemon thread, in batches
+     * of at most `maxBatch`. The batch list is reused, so the handler must
+     * copy anything it wants to keep. Closing the subscription stops the thread.
+     */
+    public Subscription subscribe(String name, Overflow overflow, int maxBatch, Consumer<? super List<FleetEvent>> handler) {
+        if (maxBatch < 1) throw new IllegalArgumentException("maxBatch must be >= 1");
+        Subscription s = subscribe(overflow);
+        Thread t = new Thread(() -> s.dispatch(maxBatch, handler), name);
+        t.setDaemon(true);
+        s.dispatcher = t;
+        t.start();
+        return s;
+    }
+
+    private synchronized void unsubscribe(Subscription s) {
+        subscribers = without(subscribers, s);
+        blocking = without(blocking, s);
+    }
+
+    private static Subscription[] append(Subscription[] subs, Subscription s) {
+        Subscription[] out = Arrays.copyOf(subs, subs.length + 1);
+        out[subs.length] = s;
+        return out;
+    }
+
+    private static Subscription[] without(Subscription[] subs, Subscription s) {
+        List<Subscription> out = new ArrayList<>(List.of(subs));
+        out.remove(s);
+        return out.isEmpty() ? NONE : out.toArray(NONE);
+    }
+
+    public final class Subscription implements AutoCloseable {
+        private final Overflow overflow;
+        private volatile long cursor;       // next sequence to read; read by writers for BLOCK
+        private volatile long delivered = 0;
+        private volatile long dropped = 0;
+        private volatile boolean closed = false;
+        private Thread dispatcher;
+
+        private Subscription(Overflow overflow) {
+            this.overflow = overflow;
+        }
+
+        /**
+         * Move up to `max` published events into `into`, oldest first, and
+         * return how many were added. Events a DROP subscriber was lapped on
+         * are skipped and counted in dropped().
+         */
+        public int poll(int max, List<? super FleetEvent> into) {
+            long next = cursor;
+            int n = 0;
+            while (n < max) {
+                FleetEvent e = slots.getAcquire((int) (next & mask));
+                if (e == null || e.sequence() < next) break;   // not published yet
+                if (e.sequence() > next) {
+                    // Overwritten before we read it; resume at the oldest event still in the ring
+                    long resume = Math.max(next + 1, claimed.get() - capacity);
+                    dropped += resume - next;
+                    next = resume;
+                    continue;
+                }
+                into.add(e);
+                next++;
+                n++;
+            }
+            cursor = next;
+            delivered += n;
+            return n;
+        }
+
+        public Overflow overflow() {
+            return overflow;
+        }
+
+        /** Events handed to this subscriber so far. */
+        public long delivered() {
+            return delivered;
+        }
+
+        /** Events this subscriber missed because it fell a full ring behind. */
+        public long dropped() {
+            return dropped;
+        }
+
+        /** Events published but not yet read by this subscriber. */
+        public long lag() {
+            return Math.max(0, claimed.get() - cursor);
+        }
+
+        public boolean isClosed() {
+            return closed;
+        }
+
+        /** Stop receiving events; writers blocked on this subscriber are released. */
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            unsubscribe(this);
+            Thread t = dispatcher;
+            if (t != null && t != Thread.currentThread()) {
+                LockSupport.unpark(t);
+                try {
+                    t.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void dispatch(int maxBatch, Consumer<? super List<FleetEvent>> handler) {
+            List<FleetEvent> batch = new ArrayList<>(Math.min(maxBatch, capacity));
+            List<FleetEvent> view = Collections.unmodifiableList(batch);
+            int idle = 0;
+            while (!closed) {
+                batch.clear();
+                if (poll(maxBatch, batch) == 0) {
+                    // Back off from spinning to short parks while the stream is quiet
+                    if (++idle < 100) Thread.onSpinWait();
+                    else LockSupport.parkNanos(Math.min(1_000_000L, 1_000L * idle));
+                    continue;
+                }
+                idle = 0;
+                try {
+                    handler.accept(view);
+                } catch (RuntimeException e) {
+                    if (Log.isEnabled()) Log.info("Event subscriber " + Thread.currentThread().getName() + " failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package fleet;
+
+import vehicles.Vehicle;
+
+/**
+ * A secondary index over the vehicles held by a FleetManager.
+ * FleetManager calls add/remove whenever fleet membership changes and
+ * clear before rebuilding from scratch (e.g. after loading a saved fleet).
+ *
+ * Indexes keyed on state that changes while a vehicle is in the fleet
+ * (mileage, maintenance) are updated from the vehicles' change listener;
+ * see FleetStats and MaintenanceIndex.
+ */
+interface FleetIndex {
+    void add(Vehicle v);
+    void remove(Vehicle v);
+    void clear();
+}
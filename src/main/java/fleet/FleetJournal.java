@@ -0,0 +1,635 @@
+package fleet;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+import logging.Log;
+import metrics.Counter;
+import metrics.Metrics;
+import metrics.Operation;
+import vehicles.Vehicle;
+
+/**
+ * Write-ahead journal of a fleet's changes, kept next to a snapshot of the
+ * fleet (see FleetSnapshotFile), so that saving writes the vehicles that
+ * changed rather than the whole fleet.
+ *
+ * FleetManager.useJournal recovers the fleet from the journal's directory and
+ * from then on reports every change to it: vehicles added and removed, and
+ * every journey, refuel, cargo, passenger and maintenance change. Reporting a
+ * change takes a copy of the vehicle on the reporting thread, replacing any
+ * earlier copy of it. commit() appends one record per added or changed
+ * vehicle, holding its state in the latest copy, and one per removed ID, then
+ * syncs the file as the Sync policy says. Records are after-images, so a
+ * vehicle changed a thousand times between commits is written once, and
+ * replaying a record twice does no harm.
+ *
+ * The journal keeps its own copy of the fleet, brought up to date with the
+ * reported changes on every commit, and compaction writes that copy. A commit
+ * therefore never reads a vehicle of the fleet, and can run on another thread
+ * (see FleetAutosave) while the fleet's own thread keeps changing it.
+ *
+ * Commits are group commits: they run one at a time, and each takes every
+ * change reported so far. A thread whose changes were written by another
+ * thread's commit while it waited returns without writing or syncing.
+ *
+ * Compaction writes the whole fleet to a new snapshot and starts an empty
+ * journal. commit() compacts once the journal has grown to the size of the
+ * snapshot (and at least minCompactBytes), which bounds recovery to reading
+ * about two snapshots, and after the fleet was reloaded or reordered, which
+ * per-vehicle records cannot express. It writes a snapshot straight away
+ * when half the fleet or more has changed since the last commit. Files carry a generation number:
+ * fleet-N.snapshot is written under a temporary name and moved into place, so
+ * it is complete once it exists, and fleet-N.journal holds the changes made
+ * after it. Recovery starts from the newest snapshot and deletes older files.
+ *
+ * A journal record is its payload length, the payload's CRC32C, then the
+ * payload. Recovery stops at the first record that is cut short or fails its
+ * checksum, which is what a crash in the middle of a commit leaves behind,
+ * and truncates the journal there.
+ *
+ * A commit that fails (an I/O error, or a vehicle that cannot be read) cuts
+ * the journal back to where the commit started, so no torn record is left in
+ * front of later commits, and leaves the changes unsaved: the next commit
+ * writes the whole fleet to a new snapshot, since the changes the failed one
+ * took from the pending set are no longer listed there.
+ */
+public final class FleetJournal implements AutoCloseable {
+    /** When commit() waits for what it wrote to reach the storage device. */
+    public enum Sync {
+        NONE,   // never; the OS writes it back, so a machine crash can lose recent commits
+        DATA,   // on every commit, file contents only (fdatasync)
+        FULL    // on every commit, contents and metadata (fsync)
+    }
+
+    static final int MAGIC = 0x4A4C4646;  // "FFLJ" read as little-endian bytes
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 16;    // magic, version, generation
+
+    // Payload: op byte, then a vehicle record, ID and model (PUT) or an ID (REMOVE)
+    private static final byte PUT = 1;     // add the vehicle, or replace it where it is
+    private static final byte REMOVE = 2;
+
+    // Journals smaller than this are never compacted
+    public static final long DEFAULT_MIN_COMPACT_BYTES = 1L << 20;
+    // A commit with at least this share of the fleet pending writes a snapshot instead
+    private static final double SNAPSHOT_FRACTION = 0.5;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    // Commits, compactions and recoveries, plus journal records and bytes written; see metrics.Metrics
+    private static final Operation COMMIT = Metrics.operation("journal.commit");
+    private static final Operation COMPACT = Metrics.operation("journal.compact");
+    private static final Operation RECOVER = Metrics.operation("journal.recover");
+    private static final Counter RECORDS = Metrics.counter("journal.records");
+    private static final Counter BYTES = Metrics.counter("journal.bytes");
+
+    private final Path dir;
+    private final Sync sync;
+    private final long minCompactBytes;
+
+    // Reported changes, as copies of the vehicles. Membership changes keep their
+    // order (a list guarded by `pendingLock`); state changes only need the
+    // latest copy per ID, and arrive from any thread during parallel bulk runs.
+    private final Object pendingLock = new Object();
+    private List<Object> membership = new ArrayList<>();       // added Vehicles, removed IDs and Reorders
+    private Set<String> pendingAdds = new HashSet<>();          // IDs of the added Vehicles in `membership`
+    private final ConcurrentHashMap<String, Vehicle> dirty = new ConcurrentHashMap<>();
+    private final AtomicLong reported = new AtomicLong();
+    private volatile boolean compactRequested = false;
+
+    // The whole fleet after a reload or reorder, in its new order
+    private record Reorder(List<Vehicle> fleet) {}
+
+    // Guarded by this
+    private final Map<String, Vehicle> image = new LinkedHashMap<>();  // copy of the fleet, in fleet order
+    private FileChannel channel;
+    private long generation;
+    private long journalBytes;
+    private long snapshotBytes;
+    private volatile long committed;    // value of `reported` covered by the last commit
+    private long bytesWritten;          // to journals and snapshots, since open
+    private boolean closed = false;
+    private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+
+    private FleetJournal(Path dir, Sync sync, long minCompactBytes) {
+        this.dir = dir;
+        this.sync = sync;
+        this.minCompactBytes = minCompactBytes;
+    }
+
+    /** A journal in `dir` (created if missing), compacted with the default threshold. */
+    public static FleetJournal open(Path dir, Sync sync) throws IOException {
+        return open(dir, sync, DEFAULT_MIN_COMPACT_BYTES);
+    }
+
+    /**
+     * A journal in `dir` (created if missing). Pass it to
+     * FleetManager.useJournal, which recovers the fleet saved there.
+     */
+    public static FleetJournal open(Path dir, Sync sync, long minCompactBytes) throws IOException {
+        if (sync == null) throw new IllegalArgumentException("sync must not be null");
+        if (minCompactBytes < 0) throw new IllegalArgumentException("minCompactBytes must be >= 0");
+        Files.createDirectories(dir);
+        return new FleetJournal(dir, sync, minCompactBytes);
+    }
+
+    /**
+     * The fleet saved in the directory: the newest snapshot with its journal
+     * replayed on top. Afterwards the journal is ready for appends. Called
+     * once, by FleetManager.useJournal.
+     */
+    synchronized List<Vehicle> recover() throws IOException {
+        if (channel != null || closed) throw new IllegalStateException("Journal already recovered or closed");
+        long t = RECOVER.start();
+        boolean ok = false;
+        try {
+            generation = newestSnapshot();
+            Map<String, Vehicle> fleet = new LinkedHashMap<>();
+            Path snapshot = snapshotFile(generation);
+            if (Files.exists(snapshot)) {
+                try (FleetSnapshotFile s = FleetSnapshotFile.open(snapshot)) {
+                    for (int i = 0; i < s.size(); i++) {
+                        Vehicle v = s.get(i);
+                        fleet.put(v.getID(), v);
+                    }
+                } catch (IllegalStateException e) {
+                    throw new IOException("Corrupt fleet snapshot " + snapshot + ": " + e.getMessage(), e);
+                }
+                snapshotBytes = Files.size(snapshot);
+            }
+            Path file = journalFile(generation);
+            long end = Files.exists(file) ? replay(file, fleet) : 0;
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            if (end < HEADER_SIZE) {
+                channel.truncate(0);
+                writeHeader(channel, generation);
+                end = HEADER_SIZE;
+            } else if (end < channel.size()) {
+                Log.info("Fleet journal " + file + ": dropped " + (channel.size() - end) + " bytes of an unfinished commit");
+                channel.truncate(end);
+            }
+            channel.position(end);
+            journalBytes = end;
+            deleteOtherGenerations();
+            image.putAll(fleet);
+            // The fleet gets copies, so the journal's own are never changed
+            List<Vehicle> recovered = new ArrayList<>(fleet.size());
+            for (Vehicle v : fleet.values()) recovered.add(VehicleType.copyOf(v));
+            ok = true;
+            return recovered;
+        } finally {
+            RECOVER.end(t, ok);
+        }
+    }
+
+    void added(Vehicle v) {
+        Vehicle copy = VehicleType.copyOf(v);
+        synchronized (pendingLock) {
+            membership.add(copy);
+            pendingAdds.add(copy.getID());
+        }
+        reported.incrementAndGet();
+    }
+
+    void removed(Vehicle v) {
+        dirty.remove(v.getID());
+        synchronized (pendingLock) {
+            membership.add(v.getID());
+            pendingAdds.remove(v.getID());
+        }
+        reported.incrementAndGet();
+    }
+
+    /**
+     * Safe to call from any thread that may read `v`: the one changing it.
+     * Costs a copy of the vehicle and a map update.
+     */
+    void changed(Vehicle v) {
+        if (dirty.put(v.getID(), VehicleType.copyOf(v)) == null) reported.incrementAndGet();
+    }
+
+    /** The fleet was reloaded or reordered and is now `fleet`: the next commit compacts. */
+    void replaced(List<Vehicle> fleet) {
+        List<Vehicle> copies = new ArrayList<>(fleet.size());
+        for (Vehicle v : fleet) copies.add(VehicleType.copyOf(v));
+        synchronized (pendingLock) {
+            membership.add(new Reorder(copies));
+            pendingAdds.clear();
+            // The copies above are newer than any marked before
+            dirty.clear();
+        }
+        compactRequested = true;
+        reported.incrementAndGet();
+    }
+
+    /**
+     * Write every change reported so far (see class comment) and sync as the
+     * Sync policy says; compacts when due. Returns the number of records
+     * written, to the journal or to a new snapshot: 0 when there was nothing
+     * to save, or another thread's commit already saved it.
+     */
+    public int commit() throws IOException {
+        long upTo = reported.get();
+        synchronized (this) {
+            ensureOpen();
+            if (committed >= upTo && !compactRequested) return 0;
+            long t = COMMIT.start();
+            boolean ok = false;
+            try {
+                upTo = reported.get();
+                int records;
+                if (compactRequested || mostlyChanged()) {
+                    records = compactNow();
+                } else {
+                    records = append();
+                    if (compactRequested || journalBytes - HEADER_SIZE >= Math.max(minCompactBytes, snapshotBytes)) {
+                        compactNow();
+                    }
+                }
+                committed = upTo;
+                ok = true;
+                return records;
+            } finally {
+                COMMIT.end(t, ok);
+            }
+        }
+    }
+
+    /**
+     * Write the whole fleet to a new snapshot and start an empty journal.
+     * commit() does this when due; call it to compact at a time of your
+     * choosing. Returns the number of vehicles in the snapshot.
+     */
+    public synchronized int compact() throws IOException {
+        ensureOpen();
+        long upTo = reported.get();
+        int records = compactNow();
+        committed = upTo;
+        return records;
+    }
+
+    /** True if changes were reported since the last commit. Safe from any thread. */
+    public boolean hasUnsavedChanges() {
+        return reported.get() > committed || compactRequested;
+    }
+
+    /**
+     * Vehicles marked changed plus membership changes waiting for a commit.
+     * Safe from any thread.
+     */
+    public int pendingChanges() {
+        int pending = dirty.size();
+        synchronized (pendingLock) {
+            return pending + membership.size();
+        }
+    }
+
+    /** Number of changes reported so far; grows whenever a change is reported. */
+    long reportedChanges() {
+        return reported.get();
+    }
+
+    /** Bytes written to journal and snapshot files since the journal was opened. */
+    public synchronized long bytesWritten() {
+        return bytesWritten;
+    }
+
+    /** Bytes in the current journal file, header included. */
+    public synchronized long journalBytes() {
+        return journalBytes;
+    }
+
+    /** Bytes in the current snapshot, 0 before the first compaction. */
+    public synchronized long snapshotBytes() {
+        return snapshotBytes;
+    }
+
+    /** Generation of the current snapshot and journal files. */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public Sync sync() {
+        return sync;
+    }
+
+    /** Commit whatever is pending and close the journal file. */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        try {
+            if (channel != null) commit();
+        } finally {
+            closed = true;
+            if (channel != null) channel.close();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("Journal closed");
+        if (channel == null) throw new IllegalStateException("Journal not recovered; see FleetManager.useJournal");
+    }
+
+    // Take the reported changes in the order to save them, and apply them to `image`
+    private List<Object> take() {
+        List<Object> ops;
+        synchronized (pendingLock) {
+            ops = membership;
+            membership = new ArrayList<>();
+            pendingAdds = new HashSet<>();
+        }
+        for (String id : dirty.keySet()) {
+            // A vehicle added since `ops` was taken waits for the commit that takes
+            // its addition, so vehicles are appended in fleet order
+            synchronized (pendingLock) {
+                if (pendingAdds.contains(id)) continue;
+            }
+            // The latest copy; a change reported after this is marked again
+            Vehicle v = dirty.remove(id);
+            if (v != null) ops.add(v);
+        }
+        for (Object op : ops) {
+            if (op instanceof Vehicle v) {
+                image.put(v.getID(), v);
+            } else if (op instanceof Reorder r) {
+                image.clear();
+                for (Vehicle v : r.fleet()) image.put(v.getID(), v);
+            } else {
+                image.remove((String) op);
+            }
+        }
+        return ops;
+    }
+
+    private int append() throws IOException {
+        List<Object> ops = take();
+        long start = journalBytes;
+        int records = 0;
+        try {
+            for (Object op : ops) {
+                if (op instanceof Vehicle v) {
+                    putVehicle(v);
+                } else if (op instanceof String id) {
+                    putRemove(id);
+                } else {
+                    // Per-vehicle records cannot express it; commit() compacts next
+                    compactRequested = true;
+                    continue;
+                }
+                records++;
+            }
+            drain();
+            switch (sync) {
+                case NONE -> {}
+                case DATA -> channel.force(false);
+                case FULL -> channel.force(true);
+            }
+        } catch (IOException | RuntimeException e) {
+            abandon(start, e);
+            throw e;
+        }
+        RECORDS.add(records);
+        BYTES.add(journalBytes - start);
+        bytesWritten += journalBytes - start;
+        return records;
+    }
+
+    // Undo a failed append: cut the journal back to `start`, where the last
+    // whole commit ends, and have the next commit write the whole fleet. The
+    // changes this one took are in `image` already, so that snapshot has them
+    private void abandon(long start, Exception cause) {
+        compactRequested = true;
+        buf.clear();
+        journalBytes = start;
+        try {
+            channel.truncate(start);
+            channel.position(start);
+        } catch (IOException e) {
+            // Compacting starts a new journal, so nothing is appended after the torn tail
+            cause.addSuppressed(e);
+        }
+    }
+
+    // Writing the whole fleet is then about as cheap as appending the changes
+    private boolean mostlyChanged() {
+        int size = image.size();
+        return size > 0 && pendingChanges() >= size * SNAPSHOT_FRACTION;
+    }
+
+    private int compactNow() throws IOException {
+        long t = COMPACT.start();
+        boolean ok = false;
+        FileChannel fresh = null;
+        try {
+            // Bring `image` up to date and write it: any change reported from
+            // here on is pending again. If the snapshot is not written,
+            // compactRequested is set again below
+            compactRequested = false;
+            take();
+            List<Vehicle> fleet = new ArrayList<>(image.values());
+
+            long next = generation + 1;
+            Path snapshot = snapshotFile(next);
+            // Written under a temporary name and moved into place
+            int records = FleetSnapshotFile.write(fleet, snapshot, sync != Sync.NONE);
+            fresh = FileChannel.open(journalFile(next), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            writeHeader(fresh, next);
+            if (sync != Sync.NONE) fresh.force(true);
+            FileChannel old = channel;
+            channel = fresh;
+            fresh = null;
+            generation = next;
+            journalBytes = HEADER_SIZE;
+            snapshotBytes = Files.size(snapshot);
+            old.close();
+            deleteOtherGenerations();
+            RECORDS.add(records);
+            BYTES.add(snapshotBytes);
+            bytesWritten += snapshotBytes + HEADER_SIZE;
+            ok = true;
+            return records;
+        } catch (IOException | RuntimeException e) {
+            // Unless the new journal is already in place, this stays on the old
+            // generation, whose journal ends with the last whole commit; either
+            // way the next commit compacts again
+            compactRequested = true;
+            if (fresh != null) {
+                try {
+                    fresh.close();
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        } finally {
+            COMPACT.end(t, ok);
+        }
+    }
+
+    private void putVehicle(Vehicle v) throws IOException {
+        byte[] id = v.getID().getBytes(StandardCharsets.UTF_8);
+        // A null model is marked in the record, and stored as an empty string
+        byte[] model = v.getModel() == null ? new byte[0] : v.getModel().getBytes(StandardCharsets.UTF_8);
+        int at = begin(1 + FleetSnapshotFile.RECORD_SIZE + 4 + id.length + 4 + model.length);
+        buf.put(PUT);
+        FleetSnapshotFile.putRecord(buf, v, v.getModel() == null ? FleetSnapshotFile.NULL_MODEL : 0);
+        buf.putInt(id.length).put(id).putInt(model.length).put(model);
+        end(at);
+    }
+
+    private void putRemove(String id) throws IOException {
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        int at = begin(1 + 4 + bytes.length);
+        buf.put(REMOVE).putInt(bytes.length).put(bytes);
+        end(at);
+    }
+
+    // Start a record with a payload of `length` bytes; returns where it starts in buf
+    private int begin(int length) throws IOException {
+        if (buf.remaining() < 8 + length) drain();
+        if (buf.remaining() < 8 + length) throw new IOException("Journal record too large: " + length + " bytes");
+        int at = buf.position();
+        buf.putInt(length).putInt(0);
+        return at;
+    }
+
+    // Fill in the checksum of the record started at `at`
+    private void end(int at) {
+        int length = buf.getInt(at);
+        crc.reset();
+        crc.update(buf.slice(at + 8, length));
+        buf.putInt(at + 4, (int) crc.getValue());
+    }
+
+    private void drain() throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) journalBytes += channel.write(buf);
+        buf.clear();
+    }
+
+    // Apply the records of `file` to `fleet`; returns the end of the last whole record
+    private long replay(Path file, Map<String, Vehicle> fleet) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+             Arena arena = Arena.ofConfined()) {
+            long size = ch.size();
+            if (size < HEADER_SIZE) return 0; // crashed while creating it
+            MemorySegment data = ch.map(FileChannel.MapMode.READ_ONLY, 0, size, arena);
+            if (data.get(INT, 0) != MAGIC || data.get(INT, 4) != FORMAT_VERSION || data.get(LONG, 8) != generation) {
+                throw new IOException("Not a fleet journal for generation " + generation + ": " + file);
+            }
+            long pos = HEADER_SIZE;
+            while (pos + 8 <= size) {
+                int length = data.get(INT, pos);
+                if (length < 1 || length > size - pos - 8) break;
+                MemorySegment payload = data.asSlice(pos + 8, length);
+                crc.reset();
+                crc.update(payload.asByteBuffer());
+                if ((int) crc.getValue() != data.get(INT, pos + 4)) break;
+                try {
+                    apply(payload, fleet);
+                } catch (RuntimeException e) {
+                    throw new IOException("Corrupt fleet journal record at byte " + pos + " of " + file + ": " + e.getMessage(), e);
+                }
+                pos += 8 + length;
+            }
+            return pos;
+        }
+    }
+
+    private static void apply(MemorySegment payload, Map<String, Vehicle> fleet) {
+        byte op = payload.get(ValueLayout.JAVA_BYTE, 0);
+        if (op == PUT) {
+            long at = 1 + FleetSnapshotFile.RECORD_SIZE;
+            String id = string(payload, at);
+            String model = payload.get(INT, 1 + FleetSnapshotFile.MODEL) == FleetSnapshotFile.NULL_MODEL
+                    ? null : string(payload, at + 4 + payload.get(INT, at));
+            // put keeps an existing ID where it is in the fleet order
+            fleet.put(id, FleetSnapshotFile.readRecord(payload, 1, id, model));
+        } else if (op == REMOVE) {
+            fleet.remove(string(payload, 1));
+        } else {
+            throw new IllegalArgumentException("unknown record type " + op);
+        }
+    }
+
+    private static String string(MemorySegment payload, long at) {
+        int length = payload.get(INT, at);
+        return new String(payload.asSlice(at + 4, length).toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8);
+    }
+
+    private static void writeHeader(FileChannel ch, long generation) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(generation).flip();
+        long pos = 0;
+        while (header.hasRemaining()) pos += ch.write(header, pos);
+        ch.position(HEADER_SIZE);
+    }
+
+    private Path snapshotFile(long generation) {
+        return dir.resolve("fleet-" + generation + SNAPSHOT_SUFFIX);
+    }
+
+    private Path journalFile(long generation) {
+        return dir.resolve("fleet-" + generation + JOURNAL_SUFFIX);
+    }
+
+    // Generation of the newest snapshot, or 0 if there is none yet
+    private long newestSnapshot() throws IOException {
+        long newest = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "fleet-*" + SNAPSHOT_SUFFIX)) {
+            for (Path f : files) newest = Math.max(newest, generationOf(f, SNAPSHOT_SUFFIX));
+        }
+        return newest;
+    }
+
+    // Delete the files of other generations and unfinished snapshots
+    private void deleteOtherGenerations() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "fleet-*")) {
+            for (Path f : files) {
+                String name = f.getFileName().toString();
+                boolean stale = name.endsWith(TEMP_SUFFIX)
+                        || name.endsWith(SNAPSHOT_SUFFIX) && generationOf(f, SNAPSHOT_SUFFIX) != generation
+                        || name.endsWith(JOURNAL_SUFFIX) && generationOf(f, JOURNAL_SUFFIX) != generation;
+                if (stale) Files.deleteIfExists(f);
+            }
+        }
+    }
+
+    // N in fleet-N<suffix>, or -1 if the name has another form
+    private static long generationOf(Path file, String suffix) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring("fleet-".length(), name.length() - suffix.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+}
@@ -1,332 +1,685 @@
 package fleet;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 
-import exceptions.InsufficientFuelException;
 import exceptions.InvalidOperationException;
-import exceptions.OverloadException;
 import interfaces.CargoCarrier;
 import interfaces.FuelConsumable;
 import interfaces.Maintainable;
+import interfaces.Outcome;
 import interfaces.PassengerCarrier;
+import interfaces.VehicleChange;
+import interfaces.VehicleListener;
+import logging.Log;
+import metrics.Metrics;
+import metrics.Operation;
 import vehicles.Vehicle;
 
 public class FleetManager {
-    private List<Vehicle> fleet = new ArrayList<>();
-
-    // Keep a HashSet of model names for uniqueness demonstration (distinct models)
-    // TreeSet views can be created on demand for sorted order.
-    private java.util.Set<String> modelSet = new java.util.HashSet<>();
+    // Fork-join leaves process slices of at most this many vehicles
+    private static final int BULK_LEAF_SIZE = 1024;
+    // Ring size of the change event stream
+    private static final int EVENT_CAPACITY = 1 << 14;
+    // Most derived-view results (whole views and pages) kept at once
+    private static final int CACHE_CAPACITY = 64;
+
+    // Membership in fleet order. Snapshots are immutable and replaced on every
+    // membership change, so getAll() can hand out the current one without copying.
+    private volatile FleetSnapshot fleet = FleetSnapshot.EMPTY;
+    // Key of each vehicle in `fleet`; keys grow with each insertion
+    private Map<String, Long> seqById = new HashMap<>();
+    private long nextSeq = 0;
+
+    // ID -> vehicle index kept in sync with `fleet` so per-vehicle operations
+    // and the uniqueness check on add don't have to walk the whole list.
+    private Map<String, Vehicle> byId = new HashMap<>();
+
+    // Per-class / per-interface partitions used by bulk operations and searchByType
+    private final TypeIndex types = new TypeIndex();
+    // Running report aggregates (counts, efficiency, mileage, maintenance due)
+    private final FleetStats stats = new FleetStats();
+    // Orderings on keys that never change while a vehicle is in the fleet
+    private final OrderedIndex<Double> bySpeed = new OrderedIndex<>(Vehicle::getMaxSpeed, java.util.Comparator.naturalOrder());
+    private final OrderedIndex<Double> byEfficiency = new OrderedIndex<>(Vehicle::calculateFuelEfficiency, java.util.Comparator.naturalOrder());
+    // Distinct models with their vehicles, sorted by model
+    private final ModelCatalogue models = new ModelCatalogue();
+    // Maintainable vehicles by km left before maintenance is due
+    private final MaintenanceIndex maintenance = new MaintenanceIndex();
+    // Memoized reports and sorted views, invalidated per aspect they depend on
+    private final ResultCache cache = new ResultCache(CACHE_CAPACITY);
+    // Secondary indexes notified on every membership change
+    private final List<FleetIndex> indexes = List.of(types, stats, bySpeed, models, byEfficiency, maintenance, cache);
+
+    // Change events for subscribers; created by the first call to events()
+    private volatile FleetEventStream events;
+    // Journal told about every change, once useJournal was called
+    private volatile FleetJournal journal;
+
+    // Vehicles in the fleet report their changes here. During a parallel bulk
+    // run the calls come from pool threads: the report totals and maintenance
+    // index ignore them (the run recounts its vehicles afterwards) but the cache
+    // is still told and events are still published, since both take calls from
+    // any thread. Fuel, cargo and passenger changes affect no cached view.
+    private volatile boolean parallelRun = false;
+    private final VehicleListener changeListener = (v, change) -> {
+        if (change == VehicleChange.MILEAGE || change == VehicleChange.MAINTENANCE) {
+            cache.changed(change == VehicleChange.MILEAGE ? ResultCache.Aspect.MILEAGE : ResultCache.Aspect.MAINTENANCE);
+            if (!parallelRun) {
+                stats.update(v);
+                maintenance.update(v);
+            }
+        }
+        FleetEventStream s = events;
+        if (s != null && s.hasSubscribers()) s.publish(FleetEvent.Kind.of(change), v, FleetEvent.valueOf(v, change));
+        FleetJournal j = journal;
+        if (j != null) j.changed(v);
+    };
 
     public void addVehicle(Vehicle v) throws InvalidOperationException{
-        for(Vehicle x : fleet){
-            if(x.getID().equals(v.getID())){
+        timed(Ops.ADD_VEHICLE, () -> {
+            if (byId.putIfAbsent(v.getID(), v) != null) {
                 throw new InvalidOperationException("Vehicle ID must be unique");
             }
-        }
-        fleet.add(v);
-        if (v.getModel() != null) modelSet.add(v.getModel());
+            long seq = nextSeq++;
+            seqById.put(v.getID(), seq);
+            fleet = fleet.with(seq, v);
+            v.setListener(changeListener);
+            for (FleetIndex i : indexes) i.add(v);
+            publish(FleetEvent.Kind.ADDED, v, Double.NaN);
+            FleetJournal j = journal;
+            if (j != null) j.added(v);
+        });
     }
 
     public void removeVehicle(String id) throws InvalidOperationException{
-        Iterator<Vehicle> it = fleet.iterator();
-        while(it.hasNext()){
-            if(it.next().getID().equals(id)){
-                it.remove();
-                System.out.printf("Vehicle with ID %s removed.\n", id);
-                return;
-            }
-        }
-        throw new InvalidOperationException(String.format("Vehicle with ID %s not found",id));
-    }
-
-    public void startAllJourneys(double distance){
-        for (Vehicle v : fleet){
-            try {
-                v.move(distance);
-            } catch (InsufficientFuelException e) {
-                System.out.println("Insufficient fuel in " + v.getID() + ": " + e.getMessage());
-            } catch (InvalidOperationException e) {
-                System.out.println("Invalid operation in " + v.getID() + ": " + e.getMessage());
-            } catch (Exception e) {
-                System.out.println("Error occured while moving " + v.getID() + ": " + e.getMessage());
+        timed(Ops.REMOVE_VEHICLE, () -> {
+            Vehicle v = byId.remove(id);
+            if (v == null) {
+                throw new InvalidOperationException(String.format("Vehicle with ID %s not found",id));
             }
-        }
+            fleet = fleet.without(seqById.remove(id));
+            if (v.getListener() == changeListener) v.setListener(null);
+            for (FleetIndex i : indexes) i.remove(v);
+            publish(FleetEvent.Kind.REMOVED, v, Double.NaN);
+            FleetJournal j = journal;
+            if (j != null) j.removed(v);
+            if (Log.isEnabled()) Log.info("Vehicle with ID " + id + " removed.");
+        });
+    }
+
+    /**
+     * Look up a vehicle by ID. Returns null if no vehicle has that ID.
+     */
+    public Vehicle getVehicle(String id) {
+        return timed(Ops.GET_VEHICLE, () -> byId.get(id));
     }
 
-    public void startJourney(String id, double distance){
-        for (Vehicle v : fleet){
-            if (v.getID().equals(id)){
+    /**
+     * Move every vehicle by `distance`. Failures are logged and reported in the result.
+     */
+    public BulkResult startAllJourneys(double distance){
+        return timed(Ops.START_ALL_JOURNEYS, FleetManager::allOk, () -> {
+            Vehicle[] vehicles = fleet.toArray(new Vehicle[0]);
+            Outcome[] outcomes = new Outcome[vehicles.length];
+            for (int i = 0; i < vehicles.length; i++) {
+                Vehicle v = vehicles[i];
                 try {
-                    v.move(distance);
-                    System.out.printf("Vehicle %s moved %.2f km.\n", id, distance);
-                    return;
-                } catch (InsufficientFuelException e) {
-                    System.out.println("Insufficient fuel in " + v.getID() + ": " + e.getMessage());
-                    return;
-                } catch (InvalidOperationException e) {
-                    System.out.println("Invalid operation in " + v.getID() + ": " + e.getMessage());
-                    return;
-                } catch (Exception e) {
-                    System.out.println("Error occured while moving " + v.getID() + ": " + e.getMessage());
-                    return;
+                    // Non-throwing path: running dry is routine in bulk runs
+                    outcomes[i] = v.tryMove(distance);
+                } catch (RuntimeException e) {
+                    outcomes[i] = Outcome.ERROR;
+                    if (Log.isEnabled()) Log.info("Error occured while moving " + v.getID() + ": " + e.getMessage());
+                }
+                if (outcomes[i] != Outcome.OK && Log.isEnabled()) {
+                    switch (outcomes[i]) {
+                        case INSUFFICIENT_FUEL -> Log.info("Insufficient fuel in " + v.getID());
+                        case MAINTENANCE_REQUIRED -> Log.info("Invalid operation in " + v.getID() + ": requires maintenance and cannot move");
+                        case INVALID_OPERATION -> Log.info("Invalid operation in " + v.getID() + ": distance cannot be negative");
+                        default -> { }
+                    }
                 }
             }
-        }
-        System.out.printf("Vehicle with ID %s not found.\n", id);
+            return new BulkResult(idsOf(vehicles), outcomes);
+        });
     }
 
-    public void refuelAll(double amount) { //Included in CLI but not in Fleetmanager documentation
-    for (Vehicle v : fleet) {
-        if (v instanceof FuelConsumable f) {
-            try {
-                f.refuel(amount);
-            } catch (InvalidOperationException e) {
-                System.out.println("Refuel failed for " + v.getID() + ": " + e.getMessage());
-            }
-        }
+    /**
+     * Parallel version of startAllJourneys: the fleet is split across the common
+     * ForkJoinPool and nothing is logged. Per-vehicle outcomes are the same as
+     * a sequential run, since every vehicle is moved exactly once.
+     */
+    public BulkResult startAllJourneysParallel(double distance) {
+        return timed(Ops.START_ALL_JOURNEYS_PARALLEL, FleetManager::allOk, () -> runParallel(fleet, v -> v.tryMove(distance)));
     }
-}
-    public void refuelVehicle(String id, double amount){  
-        for (Vehicle v : fleet) {
-            if (v.getID().equals(id) && v instanceof FuelConsumable f) {
-                try {
-                    f.refuel(amount);
-                    System.out.println("Refueled " + id + " with " + amount + " liters.");
-                    return;
-                } catch (InvalidOperationException e) {
-                    System.out.println("Refuel failed for " + v.getID() + ": " + e.getMessage());
-                    return;
+
+    public OperationResult startJourney(String id, double distance){
+        return timed(Ops.START_JOURNEY, OperationResult::isOk, () -> VehicleOperations.move(byId.get(id), id, distance));
+    }
+
+    /**
+     * Refuel every fuel-consuming vehicle. Failures are logged and reported in the result.
+     */
+    public BulkResult refuelAll(double amount) { //Included in CLI but not in Fleetmanager documentation
+        return timed(Ops.REFUEL_ALL, FleetManager::allOk, () -> {
+            Vehicle[] vehicles = types.members(FuelConsumable.class).toArray(new Vehicle[0]);
+            Outcome[] outcomes = new Outcome[vehicles.length];
+            for (int i = 0; i < vehicles.length; i++) {
+                Vehicle v = vehicles[i];
+                outcomes[i] = ((FuelConsumable) v).tryRefuel(amount);
+                if (outcomes[i] != Outcome.OK && Log.isEnabled()) {
+                    Log.info("Refuel failed for " + v.getID() + ": invalid amount or vehicle cannot be refuelled");
                 }
             }
-        }
-        System.out.println("Vehicle with ID " + id + " not found or is not fuel consumable.");
+            return new BulkResult(idsOf(vehicles), outcomes);
+        });
+    }
 
+    /**
+     * Parallel version of refuelAll over the fuel-consuming vehicles.
+     */
+    public BulkResult refuelAllParallel(double amount) {
+        return timed(Ops.REFUEL_ALL_PARALLEL, FleetManager::allOk, () -> runParallel(types.members(FuelConsumable.class), v -> ((FuelConsumable) v).tryRefuel(amount)));
     }
 
-    public void loadCargo(String id, double weight){
-        for (Vehicle v : fleet) {
-            if (v.getID().equals(id) && v instanceof CargoCarrier c) {
-                try {
-                    c.loadCargo(weight);
-                    System.out.println("Loaded " + weight + " kg into " + id);
-                    return;
-                } catch (InvalidOperationException e) {
-                    System.out.println("Load cargo failed for " + v.getID() + ": " + e.getMessage());
-                    return;
-                } catch (OverloadException e) {
-                    System.out.println("Overload error for " + v.getID() + ": " + e.getMessage());
-                    return;
-                    
-            }
-        }
-        System.out.println("Vehicle with ID " + id + " not found or not of cargocarrier type.");
+    public OperationResult refuelVehicle(String id, double amount){
+        return timed(Ops.REFUEL_VEHICLE, OperationResult::isOk, () -> VehicleOperations.refuel(byId.get(id), id, amount));
     }
+
+    public OperationResult loadCargo(String id, double weight){
+        return timed(Ops.LOAD_CARGO, OperationResult::isOk, () -> VehicleOperations.loadCargo(byId.get(id), id, weight));
     }
 
-    public void unloadCargo(String id, double weight){
-        for (Vehicle v : fleet) {
-            if (v.getID().equals(id) && v instanceof CargoCarrier c) {
-                try {
-                    c.unloadCargo(weight);
-                    System.out.println("Unloaded " + weight + " kg from " + id);
-                    return;
-                } catch (InvalidOperationException e) {
-                    System.out.println("Unload cargo failed for " + v.getID() + ": " + e.getMessage());
-                    return;
-                }
-            }
-        }
-        System.out.println("Vehicle with ID " + id + " not found or not of cargocarrier type.");
+    public OperationResult unloadCargo(String id, double weight){
+        return timed(Ops.UNLOAD_CARGO, OperationResult::isOk, () -> VehicleOperations.unloadCargo(byId.get(id), id, weight));
     }
 
     public void displayCargoStatus(String id){
-        for (Vehicle v : fleet) {
-            if (v.getID().equals(id) && v instanceof CargoCarrier c) {
-                System.out.printf("Vehicle %s: Current Cargo = %.2f kg, Capacity = %.2f kg\n", id, c.getCurrentCargo(), c.getCargoCapacity());
-                return;
+        timed(Ops.DISPLAY_CARGO_STATUS, found -> found, () -> {
+            if (!(byId.get(id) instanceof CargoCarrier c)) {
+                Log.info("Vehicle with ID " + id + " not found or not of cargocarrier type.");
+                return false;
             }
-        }
-        System.out.println("Vehicle with ID " + id + " not found or not of cargocarrier type.");
+            Log.printf("Vehicle %s: Current Cargo = %.2f kg, Capacity = %.2f kg", id, c.getCurrentCargo(), c.getCargoCapacity());
+            return true;
+        });
     }
 
-    public void addPassengers(String id, int count){
-        for (Vehicle v : fleet) {
-            if (v.getID().equals(id) && v instanceof PassengerCarrier p) {
-                try {
-                    p.boardPassengers(count);
-                    System.out.println("Boarded " + count + " passengers into " + id);
-                    return;
-                } catch (OverloadException e) {
-                    System.out.println("Overload error for " + v.getID() + ": " + e.getMessage());
-                    return;
-                }
-            }
-        }
-        System.out.println("Vehicle with ID " + id + " not found or not of PassengerCarrier type.");
+    public OperationResult addPassengers(String id, int count){
+        return timed(Ops.ADD_PASSENGERS, OperationResult::isOk, () -> VehicleOperations.addPassengers(byId.get(id), id, count));
     }
 
-    public void removePassengers(String id, int count){
-        for (Vehicle v : fleet) {
-            if (v.getID().equals(id) && v instanceof PassengerCarrier p) {
-                try {
-                    p.disembarkPassengers(count);
-                    System.out.println("Disembarked " + count + " passengers from " + id);
-                    return;
-                } catch (InvalidOperationException e) {
-                    System.out.println("Disembark failed for " + v.getID() + ": " + e.getMessage());
-                    return;
-                }
-            }
-        }
-        System.out.println("Vehicle with ID " + id + " not found or not of PassengerCarrier type.");
+    public OperationResult removePassengers(String id, int count){
+        return timed(Ops.REMOVE_PASSENGERS, OperationResult::isOk, () -> VehicleOperations.removePassengers(byId.get(id), id, count));
     }
 
     public void displayPassengerStatus(String id){
-        for (Vehicle v : fleet) {
-            if (v.getID().equals(id) && v instanceof PassengerCarrier p) {
-                System.out.printf("Vehicle %s: Current Passengers = %d, Capacity = %d\n", id, p.getCurrentPassengers(), p.getPassengerCapacity());
-                return;
+        timed(Ops.DISPLAY_PASSENGER_STATUS, found -> found, () -> {
+            if (!(byId.get(id) instanceof PassengerCarrier p)) {
+                Log.info("Vehicle with ID " + id + " not found or not of PassengerCarrier type.");
+                return false;
             }
-        }
-        System.out.println("Vehicle with ID " + id + " not found or not of PassengerCarrier type.");
+            Log.printf("Vehicle %s: Current Passengers = %d, Capacity = %d", id, p.getCurrentPassengers(), p.getPassengerCapacity());
+            return true;
+        });
+    }
+
+    private static String[] idsOf(Vehicle[] vehicles) {
+        String[] ids = new String[vehicles.length];
+        for (int i = 0; i < vehicles.length; i++) ids[i] = vehicles[i].getID();
+        return ids;
     }
 
     double getTotalFuelConsumption(double distance){
         double total = 0.0;
-        for(Vehicle v: fleet){
-            if (v instanceof FuelConsumable){
-                double eff = v.calculateFuelEfficiency();
-                if (eff>0) total+= distance/eff;
-            }
+        for(Vehicle v: types.members(FuelConsumable.class)){
+            double eff = v.calculateFuelEfficiency();
+            if (eff>0) total+= distance/eff;
         }
         return total;
     }
 
-    public void maintainAll() {
-        for (Vehicle v : fleet) {
-            if (v instanceof Maintainable m) {
-                if (m.needsMaintenance()) m.performMaintenance();
+    /**
+     * Start a query over the fleet; see FleetQuery.
+     */
+    public FleetQuery query() {
+        return new FleetQuery(this::getAll, types, models.ordering(), bySpeed);
+    }
+
+    /**
+     * Batch estimator over the current fleet, for fuel and journey-time
+     * estimates across many distances; see FleetEstimator.
+     */
+    public FleetEstimator estimator() {
+        return timed(Ops.ESTIMATOR, () -> FleetEstimator.of(fleet));
+    }
+
+    /**
+     * Perform maintenance on every vehicle that needs it. Only those vehicles
+     * are visited (read off the maintenance index) and appear in the result.
+     */
+    public BulkResult maintainAll() {
+        return timed(Ops.MAINTAIN_ALL, FleetManager::allOk, () -> {
+            Vehicle[] vehicles = maintenance.due().toArray(new Vehicle[0]);
+            Outcome[] outcomes = new Outcome[vehicles.length];
+            for (int i = 0; i < vehicles.length; i++) {
+                ((Maintainable) vehicles[i]).performMaintenance();
+                outcomes[i] = Outcome.OK;
             }
+            return new BulkResult(idsOf(vehicles), outcomes);
+        });
+    }
+
+    /**
+     * Parallel version of maintainAll over the vehicles that need maintenance.
+     */
+    public BulkResult maintainAllParallel() {
+        return timed(Ops.MAINTAIN_ALL_PARALLEL, FleetManager::allOk, () -> runParallel(maintenance.due(), v -> {
+            ((Maintainable) v).performMaintenance();
+            return Outcome.OK;
+        }));
+    }
+
+    // Run `op` on each target across the common pool. Bulk operations don't change
+    // membership; the state-dependent indexes (report totals, maintenance) are
+    // brought up to date afterwards instead of per vehicle from the pool threads.
+    private BulkResult runParallel(Collection<Vehicle> targets, Function<Vehicle, Outcome> op) {
+        Vehicle[] vehicles = targets.toArray(new Vehicle[0]);
+        Outcome[] outcomes = new Outcome[vehicles.length];
+        parallelRun = true;
+        try {
+            ForkJoinPool.commonPool().invoke(new BulkTask(vehicles, outcomes, op, BULK_LEAF_SIZE));
+        } finally {
+            parallelRun = false;
+            List<Vehicle> ran = Arrays.asList(vehicles);
+            stats.refresh(ran);
+            maintenance.refresh(ran);
         }
+        return new BulkResult(idsOf(vehicles), outcomes);
     }
 
     public List<Vehicle> searchByType(Class<?> type) {
-        List<Vehicle> out = new ArrayList<>();
-        for (Vehicle v : fleet){
-         if (type.isInstance(v)) out.add(v);
-        }
-        return out;
+        // Every class and interface in a vehicle's hierarchy has a partition
+        return timed(Ops.SEARCH_BY_TYPE, () -> new ArrayList<>(types.members(type)));
     }
 
     public void sortFleetByEfficiency(){
-        Collections.sort(fleet);
+        timed(Ops.SORT_BY_EFFICIENCY, () -> {
+            // Same order as a stable Collections.sort(fleet) (Vehicle.compareTo compares
+            // efficiency), read off the efficiency index instead of sorting.
+            replaceFleet(byEfficiency.toList(false));
+            // The ID index is unaffected; the rest are rebuilt so they follow the new order
+            rebuildIndexes();
+            publish(FleetEvent.Kind.REORDERED, null, fleet.size());
+            FleetJournal j = journal;
+            if (j != null) j.replaced(fleet);
+        });
     }
 
+    /**
+     * Vehicles that need maintenance now, most overdue first, as an unmodifiable list.
+     */
     public List<Vehicle> getVehiclesNeedingMaintenance() {
-        List<Vehicle> list = new ArrayList<>();
+        return timed(Ops.NEEDING_MAINTENANCE, () -> cache.get(Views.NEEDING_MAINTENANCE, Views.STATE, () -> frozen(maintenance.due())));
+    }
+
+    /**
+     * Vehicles that need maintenance now or will within the next `km` km, soonest first.
+     */
+    public List<Vehicle> getVehiclesDueWithin(double km) {
+        return timed(Ops.DUE_WITHIN, () -> maintenance.within(km));
+    }
+
+     public void loadFleet() {
+        timed(Ops.LOAD_FLEET, () -> {
+            install(Persistence.loadFleet());
+            FleetJournal j = journal;
+            if (j != null) j.replaced(fleet);
+        });
+    }
+
+    /**
+     * Replace the fleet with the one saved in `journal` (its snapshot plus the
+     * changes journaled since) and from now on report every change to it, so
+     * that journal.commit() saves only what changed. See FleetJournal.
+     */
+    public void useJournal(FleetJournal journal) throws IOException {
+        timed(Ops.USE_JOURNAL, () -> {
+            List<Vehicle> recovered = journal.recover();
+            this.journal = null;
+            install(recovered);
+            this.journal = journal;
+        });
+    }
+
+    // Make `loaded` the fleet, skipping duplicate IDs, and rebuild the indexes
+    private void install(List<Vehicle> loaded) {
+        // The vehicles being replaced no longer report to this fleet
         for (Vehicle v : fleet) {
-            if (v instanceof Maintainable m) {
-                if (m.needsMaintenance()) list.add(v);
+            if (v.getListener() == changeListener) v.setListener(null);
+        }
+        List<Vehicle> kept = new ArrayList<>(loaded.size());
+        // Rebuild ID index after loading; the other indexes are rebuilt below
+        byId = new HashMap<>(Math.max(16, loaded.size() * 4 / 3 + 1));
+        for (Vehicle v : loaded) {
+            if (byId.putIfAbsent(v.getID(), v) != null) {
+                Log.info("Skipping duplicate vehicle ID " + v.getID() + " in saved fleet.");
+                continue;
             }
+            kept.add(v);
+            v.setListener(changeListener);
         }
-        return list;
+        replaceFleet(kept); // overwrite with loaded list
+        rebuildIndexes();
+        publish(FleetEvent.Kind.RELOADED, null, fleet.size());
     }
 
-     public void loadFleet() {
-        fleet = Persistence.loadFleet(); // overwrite with loaded list
-        // Rebuild model set after loading
-        modelSet.clear();
-        for (Vehicle v : fleet) if (v.getModel() != null) modelSet.add(v.getModel());
+    /**
+     * The stream of this fleet's change events: membership changes, reloads
+     * and reorders, and every mileage, maintenance, fuel, cargo and passenger
+     * change to a vehicle in the fleet. See FleetEventStream and FleetEvent.
+     */
+    public FleetEventStream events() {
+        FleetEventStream s = events;
+        if (s == null) {
+            synchronized (this) {
+                s = events;
+                if (s == null) events = s = new FleetEventStream(EVENT_CAPACITY);
+            }
+        }
+        return s;
     }
 
+    private void publish(FleetEvent.Kind kind, Vehicle v, double value) {
+        FleetEventStream s = events;
+        if (s != null) s.publish(kind, v, value);
+    }
+
+    private void replaceFleet(List<Vehicle> vehicles) {
+        fleet = fleet.replacedBy(vehicles);
+        seqById = new HashMap<>(Math.max(16, vehicles.size() * 4 / 3 + 1));
+        for (int i = 0; i < vehicles.size(); i++) seqById.put(vehicles.get(i).getID(), (long) i);
+        nextSeq = vehicles.size();
+    }
+
+    private void rebuildIndexes() {
+        for (FleetIndex i : indexes) {
+            i.clear();
+            for (Vehicle v : fleet) i.add(v);
+        }
+    }
+
+    /**
+     * The fleet as an unmodifiable list. This is the current snapshot, not a
+     * copy: it is taken in O(1) and does not change when the fleet does.
+     */
     public List<Vehicle> getAll() {
-        // Return a defensive copy to avoid external modification
-        return new ArrayList<>(fleet);
+        return fleet;
     }
 
     /**
-     * Return a sorted list (by model name) of distinct model names using a TreeSet.
+     * The current fleet snapshot; see FleetSnapshot. Safe to read from any
+     * thread while this manager keeps changing.
+     */
+    public FleetSnapshot snapshot() {
+        return fleet;
+    }
+
+    /**
+     * Return a sorted, unmodifiable list of the distinct model names in the fleet.
      */
     public java.util.List<String> getDistinctModelsSorted() {
-        java.util.TreeSet<String> t = new java.util.TreeSet<>(modelSet);
-        return new java.util.ArrayList<>(t);
+        return timed(Ops.DISTINCT_MODELS, () -> cache.get(Views.DISTINCT_MODELS, Views.MEMBERSHIP, models::distinctModels));
+    }
+
+    /**
+     * Return the vehicles of the given model, in the order they were added.
+     */
+    public java.util.List<Vehicle> getVehiclesByModel(String model) {
+        return timed(Ops.BY_MODEL, () -> new ArrayList<>(models.vehicles(model)));
+    }
+
+    /**
+     * Return how many vehicles in the fleet have the given model.
+     */
+    public int countByModel(String model) {
+        return timed(Ops.COUNT_BY_MODEL, () -> models.count(model));
     }
 
     /**
      * Return the vehicle with maximum maxSpeed. Returns null if fleet empty.
      */
     public Vehicle getFastestVehicle() {
-        if (fleet.isEmpty()) return null;
-        return Collections.max(fleet, java.util.Comparator.comparingDouble(Vehicle::getMaxSpeed));
+        return timed(Ops.FASTEST, () -> bySpeed.last());
     }
 
     /**
      * Return the vehicle with minimum maxSpeed. Returns null if fleet empty.
      */
     public Vehicle getSlowestVehicle() {
-        if (fleet.isEmpty()) return null;
-        return Collections.min(fleet, java.util.Comparator.comparingDouble(Vehicle::getMaxSpeed));
+        return timed(Ops.SLOWEST, () -> bySpeed.first());
     }
 
     /**
-     * Sort fleet in-place by model name (lexicographical) and return a copy of sorted list.
+     * Return an unmodifiable list of the fleet sorted by model name (lexicographical, nulls first).
      */
     public java.util.List<Vehicle> getFleetSortedByModel() {
-        java.util.List<Vehicle> copy = new java.util.ArrayList<>(fleet);
-        copy.sort(java.util.Comparator.comparing(Vehicle::getModel, java.util.Comparator.nullsFirst(String::compareTo)));
-        return copy;
+        return timed(Ops.SORTED_BY_MODEL, () -> cache.get(Views.SORTED_BY_MODEL, Views.MEMBERSHIP, () -> frozen(models.ordering().toList(false))));
     }
 
     /**
-     * Sort fleet by maxSpeed and return a new list (fastest first).
+     * Return one page of the fleet sorted by model name, as an unmodifiable list.
+     */
+    public java.util.List<Vehicle> getFleetSortedByModel(int offset, int limit) {
+        return timed(Ops.SORTED_BY_MODEL, () -> cache.get(new ResultCache.Key("sortedByModel", offset, limit), Views.MEMBERSHIP,
+                () -> frozen(models.ordering().page(offset, limit, false))));
+    }
+
+    /**
+     * Return an unmodifiable list of the fleet sorted by maxSpeed (fastest first).
      */
     public java.util.List<Vehicle> getFleetSortedBySpeedDesc() {
-        java.util.List<Vehicle> copy = new java.util.ArrayList<>(fleet);
-        copy.sort(java.util.Comparator.comparingDouble(Vehicle::getMaxSpeed).reversed());
-        return copy;
+        return timed(Ops.SORTED_BY_SPEED, () -> cache.get(Views.SORTED_BY_SPEED, Views.MEMBERSHIP, () -> frozen(bySpeed.toList(true))));
+    }
+
+    /**
+     * Return one page of the fleet sorted by maxSpeed (fastest first), as an unmodifiable list.
+     */
+    public java.util.List<Vehicle> getFleetSortedBySpeedDesc(int offset, int limit) {
+        return timed(Ops.SORTED_BY_SPEED, () -> cache.get(new ResultCache.Key("sortedBySpeedDesc", offset, limit), Views.MEMBERSHIP,
+                () -> frozen(bySpeed.page(offset, limit, true))));
+    }
+
+    /**
+     * Return vehicles whose maxSpeed lies in [minSpeed, maxSpeed], slowest first.
+     */
+    public java.util.List<Vehicle> getVehiclesBySpeedRange(double minSpeed, double maxSpeed) {
+        return timed(Ops.BY_SPEED_RANGE, () -> minSpeed > maxSpeed ? new ArrayList<>() : bySpeed.range(minSpeed, maxSpeed));
+    }
+
+    /**
+     * The k vehicles of `type` with the highest (or lowest) `metric`, best first.
+     * Runs in O(n log k) time and O(k) memory; ties go to the vehicle that comes
+     * first in the fleet and vehicles whose metric is NaN are left out.
+     */
+    public List<Vehicle> topK(Class<?> type, int k, ToDoubleFunction<? super Vehicle> metric, boolean highest) {
+        return timed(Ops.TOP_K, () -> top(type, k, metric, highest));
+    }
+
+    public List<Vehicle> topK(int k, ToDoubleFunction<? super Vehicle> metric, boolean highest) {
+        return topK(Vehicle.class, k, metric, highest);
+    }
+
+    /**
+     * Parallel version of topK: per-slice heaps on the common ForkJoinPool,
+     * merged pairwise. Returns the same list as topK, but copies the type's
+     * vehicles into an array to split them, so it takes O(n) memory.
+     */
+    public List<Vehicle> topKParallel(Class<?> type, int k, ToDoubleFunction<? super Vehicle> metric, boolean highest) {
+        return timed(Ops.TOP_K_PARALLEL, () -> TopK.selectParallel(types.members(type).toArray(new Vehicle[0]), k, metric, highest, BULK_LEAF_SIZE));
+    }
+
+    /** The k fuel-burning vehicles with the least fuel left (sail ships are left out). */
+    public List<Vehicle> lowestFuel(int k) {
+        return timed(Ops.LOWEST_FUEL, () -> top(FuelConsumable.class, k,
+                v -> v.calculateFuelEfficiency() > 0 ? ((FuelConsumable) v).getFuelLevel() : Double.NaN, false));
+    }
+
+    public List<Vehicle> highestMileage(int k) {
+        return timed(Ops.HIGHEST_MILEAGE, () -> top(Vehicle.class, k, Vehicle::getCurrentMileage, true));
+    }
+
+    /** The k cargo carriers of `type` with the most free cargo capacity. */
+    public List<Vehicle> mostFreeCargoCapacity(Class<?> type, int k) {
+        return timed(Ops.MOST_FREE_CARGO, () -> top(type, k,
+                v -> v instanceof CargoCarrier c ? c.getCargoCapacity() - c.getCurrentCargo() : Double.NaN, true));
+    }
+
+    private List<Vehicle> top(Class<?> type, int k, ToDoubleFunction<? super Vehicle> metric, boolean highest) {
+        return TopK.select(types.members(type), k, metric, highest);
+    }
+
+    /** The k vehicles not yet due for maintenance that are closest to it, in km. */
+    public List<Vehicle> closestToMaintenance(int k) {
+        if (k < 0) throw new IllegalArgumentException("k must be >= 0");
+        return timed(Ops.CLOSEST_TO_MAINTENANCE, () -> maintenance.closest(k));
     }
 
     public String generateReport(){
-        StringBuilder sb = new StringBuilder();
-        sb.append("----FLEET REPORT----\n");
-        sb.append("Total vehicles: ").append(fleet.size()).append("\n");
+        // Built from the running aggregates in FleetStats: cost depends on the
+        // number of vehicle types, not the number of vehicles.
+        return timed(Ops.GENERATE_REPORT, () -> cache.get(Views.REPORT, Views.STATE, () -> FleetStats.render(stats.size(), stats.countsByType(),
+                stats.averageEfficiency(), stats.totalMileage(), stats.maintenanceDue())));
+    }
 
-        Map<String, Integer> vtypes = new LinkedHashMap<>();
-        double totalEff = 0.0;
-        int effCount = 0;
-        double totalMileage = 0.0;
+    /** Calls to the cached views answered from the cache. */
+    public long cacheHits() {
+        return cache.hits();
+    }
 
-        for (Vehicle v : fleet) {
-            String key = v.getClass().getSimpleName(); //Turns Class.class to Class
-            vtypes.put(key, vtypes.getOrDefault(key, 0) + 1); //Increment the count
+    /** Calls to the cached views that had to compute their result. */
+    public long cacheMisses() {
+        return cache.misses();
+    }
 
-            double eff = v.calculateFuelEfficiency();
-            if (eff > 0) { 
-                totalEff += eff; 
-                effCount++; 
-            }
-            totalMileage += v.getCurrentMileage();
-        }
-        sb.append("Count by types: \n");
-        for (var e : vtypes.entrySet()) {
-            sb.append(e.getKey()).append(": ").append(e.getValue()).append("\n"); // Type : count
+    /** Cached results dropped to stay within the cache's capacity. */
+    public long cacheEvictions() {
+        return cache.evictions();
+    }
+
+    private static <T> List<T> frozen(List<T> list) {
+        return Collections.unmodifiableList(list);
+    }
+
+    // Cache keys of the whole-fleet views and the aspects each one is built from.
+    // Sorted views and model lists change only with membership (a vehicle's speed
+    // and model are fixed); the report and maintenance list also follow journeys
+    // and maintenance.
+    private static final class Views {
+        static final Set<ResultCache.Aspect> MEMBERSHIP = EnumSet.of(ResultCache.Aspect.MEMBERSHIP);
+        static final Set<ResultCache.Aspect> STATE = EnumSet.of(ResultCache.Aspect.MEMBERSHIP, ResultCache.Aspect.MILEAGE, ResultCache.Aspect.MAINTENANCE);
+
+        static final ResultCache.Key REPORT = ResultCache.Key.of("report");
+        static final ResultCache.Key DISTINCT_MODELS = ResultCache.Key.of("distinctModels");
+        static final ResultCache.Key SORTED_BY_MODEL = ResultCache.Key.of("sortedByModel");
+        static final ResultCache.Key SORTED_BY_SPEED = ResultCache.Key.of("sortedBySpeedDesc");
+        static final ResultCache.Key NEEDING_MAINTENANCE = ResultCache.Key.of("needingMaintenance");
+    }
+
+    // Run `work` as one call of `op`. Every timed operation goes through here so
+    // none can forget to end its call: a call that throws counts as failed, and
+    // so does one whose result `ok` rejects.
+    private static <T, E extends Exception> T timed(Operation op, Predicate<? super T> ok, Work<T, E> work) throws E {
+        long t = op.start();
+        boolean succeeded = false;
+        try {
+            T out = work.run();
+            succeeded = ok.test(out);
+            return out;
+        } finally {
+            op.end(t, succeeded);
         }
+    }
+
+    private static <T, E extends Exception> T timed(Operation op, Work<T, E> work) throws E {
+        return timed(op, out -> true, work);
+    }
+
+    private static <E extends Exception> void timed(Operation op, Task<E> task) throws E {
+        timed(op, out -> true, () -> {
+            task.run();
+            return null;
+        });
+    }
 
-        sb.append("Average fuel efficiency: ")
-          .append(effCount > 0 ? String.format("%.2f km/l", totalEff / effCount) : "N/A")
-          .append("\n");
-        sb.append("Total mileage: ").append(String.format("%.2f km", totalMileage)).append("\n");
+    // A bulk call counts as failed if any vehicle's outcome was not OK
+    private static boolean allOk(BulkResult r) {
+        return r.count(Outcome.OK) == r.size();
+    }
 
-        List<Vehicle> needMaint = getVehiclesNeedingMaintenance();
-        sb.append("Vehicles needing maintenance: ").append(needMaint.size()).append("\n");
-        return sb.toString();
+    private interface Work<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    private interface Task<E extends Exception> {
+        void run() throws E;
+    }
 
+    // Calls, failures and latency of each public operation; see metrics.Metrics.
+    // Overloads share one entry. O(1) accessors (getAll, snapshot, query, events)
+    // are not timed.
+    private static final class Ops {
+        static final Operation ADD_VEHICLE = Metrics.operation("fleet.addVehicle");
+        static final Operation REMOVE_VEHICLE = Metrics.operation("fleet.removeVehicle");
+        static final Operation GET_VEHICLE = Metrics.operation("fleet.getVehicle");
+        static final Operation START_ALL_JOURNEYS = Metrics.operation("fleet.startAllJourneys");
+        static final Operation START_ALL_JOURNEYS_PARALLEL = Metrics.operation("fleet.startAllJourneysParallel");
+        static final Operation START_JOURNEY = Metrics.operation("fleet.startJourney");
+        static final Operation REFUEL_ALL = Metrics.operation("fleet.refuelAll");
+        static final Operation REFUEL_ALL_PARALLEL = Metrics.operation("fleet.refuelAllParallel");
+        static final Operation REFUEL_VEHICLE = Metrics.operation("fleet.refuelVehicle");
+        static final Operation LOAD_CARGO = Metrics.operation("fleet.loadCargo");
+        static final Operation UNLOAD_CARGO = Metrics.operation("fleet.unloadCargo");
+        static final Operation DISPLAY_CARGO_STATUS = Metrics.operation("fleet.displayCargoStatus");
+        static final Operation ADD_PASSENGERS = Metrics.operation("fleet.addPassengers");
+        static final Operation REMOVE_PASSENGERS = Metrics.operation("fleet.removePassengers");
+        static final Operation DISPLAY_PASSENGER_STATUS = Metrics.operation("fleet.displayPassengerStatus");
+        static final Operation ESTIMATOR = Metrics.operation("fleet.estimator");
+        static final Operation MAINTAIN_ALL = Metrics.operation("fleet.maintainAll");
+        static final Operation MAINTAIN_ALL_PARALLEL = Metrics.operation("fleet.maintainAllParallel");
+        static final Operation SEARCH_BY_TYPE = Metrics.operation("fleet.searchByType");
+        static final Operation SORT_BY_EFFICIENCY = Metrics.operation("fleet.sortFleetByEfficiency");
+        static final Operation NEEDING_MAINTENANCE = Metrics.operation("fleet.getVehiclesNeedingMaintenance");
+        static final Operation DUE_WITHIN = Metrics.operation("fleet.getVehiclesDueWithin");
+        static final Operation LOAD_FLEET = Metrics.operation("fleet.loadFleet");
+        static final Operation USE_JOURNAL = Metrics.operation("fleet.useJournal");
+        static final Operation DISTINCT_MODELS = Metrics.operation("fleet.getDistinctModelsSorted");
+        static final Operation BY_MODEL = Metrics.operation("fleet.getVehiclesByModel");
+        static final Operation COUNT_BY_MODEL = Metrics.operation("fleet.countByModel");
+        static final Operation FASTEST = Metrics.operation("fleet.getFastestVehicle");
+        static final Operation SLOWEST = Metrics.operation("fleet.getSlowestVehicle");
+        static final Operation SORTED_BY_MODEL = Metrics.operation("fleet.getFleetSortedByModel");
+        static final Operation SORTED_BY_SPEED = Metrics.operation("fleet.getFleetSortedBySpeedDesc");
+        static final Operation BY_SPEED_RANGE = Metrics.operation("fleet.getVehiclesBySpeedRange");
+        static final Operation TOP_K = Metrics.operation("fleet.topK");
+        static final Operation TOP_K_PARALLEL = Metrics.operation("fleet.topKParallel");
+        static final Operation LOWEST_FUEL = Metrics.operation("fleet.lowestFuel");
+        static final Operation HIGHEST_MILEAGE = Metrics.operation("fleet.highestMileage");
+        static final Operation MOST_FREE_CARGO = Metrics.operation("fleet.mostFreeCargoCapacity");
+        static final Operation CLOSEST_TO_MAINTENANCE = Metrics.operation("fleet.closestToMaintenance");
+        static final Operation GENERATE_REPORT = Metrics.operation("fleet.generateReport");
     }
 
 }
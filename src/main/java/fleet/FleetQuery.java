@@ -0,0 +1,340 @@
+package fleet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import interfaces.CargoCarrier;
+import interfaces.FuelConsumable;
+import interfaces.Maintainable;
+import interfaces.PassengerCarrier;
+import vehicles.Vehicle;
+
+/**
+ * A conjunctive query over a FleetManager's vehicles, built with
+ * FleetManager.query(). Every condition added must hold; ranges are inclusive.
+ * A range whose minimum is above its maximum matches nothing, and a NaN bound
+ * is rejected with IllegalArgumentException, whichever plan the query picks.
+ *
+ * Before running, the query picks its starting set of vehicles from the
+ * smallest available index: a type/capability partition, a model bucket or a
+ * maxSpeed range, falling back to a full scan. The other conditions are then
+ * checked per vehicle. explain() describes the chosen plan.
+ *
+ * A query reads the manager's live indexes, so it must run on the thread that
+ * changes the fleet, like every other FleetManager method.
+ */
+public final class FleetQuery {
+    private enum Access { SCAN, TYPE, MODEL, SPEED }
+
+    private record Filter(String label, Predicate<? super Vehicle> test) { }
+
+    private record Plan(Access access, long estimate, Class<?> type, boolean orderedByIndex, String considered) { }
+
+    private final Supplier<? extends Collection<Vehicle>> fleet;
+    private final TypeIndex types;
+    private final OrderedIndex<String> byModel;
+    private final OrderedIndex<Double> bySpeed;
+
+    private final List<Class<?>> typeFilters = new ArrayList<>();
+    private boolean hasModel = false;
+    private String model;
+    private double minSpeed = Double.NEGATIVE_INFINITY;
+    private double maxSpeed = Double.POSITIVE_INFINITY;
+    private final List<Filter> filters = new ArrayList<>();
+
+    private Comparator<? super Vehicle> order;
+    private String orderLabel;
+    private boolean speedOrder = false;
+    private boolean speedDescending = false;
+    private int limit = Integer.MAX_VALUE;
+
+    FleetQuery(Supplier<? extends Collection<Vehicle>> fleet, TypeIndex types, OrderedIndex<String> byModel, OrderedIndex<Double> bySpeed) {
+        this.fleet = fleet;
+        this.types = types;
+        this.byModel = byModel;
+        this.bySpeed = bySpeed;
+    }
+
+    /** Vehicles that are instances of `type` (a vehicle class or capability interface). */
+    public FleetQuery ofType(Class<?> type) {
+        typeFilters.add(type);
+        return this;
+    }
+
+    public FleetQuery model(String model) {
+        if (hasModel && !Objects.equals(this.model, model)) {
+            filters.add(new Filter("model=" + model, v -> Objects.equals(v.getModel(), model)));
+        } else {
+            hasModel = true;
+            this.model = model;
+        }
+        return this;
+    }
+
+    public FleetQuery maxSpeedBetween(double min, double max) {
+        checkBounds(min, max);
+        minSpeed = Math.max(minSpeed, min);
+        maxSpeed = Math.min(maxSpeed, max);
+        return this;
+    }
+
+    /** Fuel-consuming vehicles whose fuel level lies in [min, max]. */
+    public FleetQuery fuelBetween(double min, double max) {
+        checkBounds(min, max);
+        return where("fuel in " + range(min, max),
+                v -> v instanceof FuelConsumable f && f.getFuelLevel() >= min && f.getFuelLevel() <= max);
+    }
+
+    public FleetQuery mileageBetween(double min, double max) {
+        checkBounds(min, max);
+        return where("mileage in " + range(min, max),
+                v -> v.getCurrentMileage() >= min && v.getCurrentMileage() <= max);
+    }
+
+    /** Cargo carriers whose current cargo lies in [min, max] kg. */
+    public FleetQuery cargoBetween(double min, double max) {
+        checkBounds(min, max);
+        return where("cargo in " + range(min, max),
+                v -> v instanceof CargoCarrier c && c.getCurrentCargo() >= min && c.getCurrentCargo() <= max);
+    }
+
+    /** Passenger carriers whose current passenger count lies in [min, max]. */
+    public FleetQuery passengersBetween(int min, int max) {
+        return where("passengers in [" + min + ", " + max + "]",
+                v -> v instanceof PassengerCarrier p && p.getCurrentPassengers() >= min && p.getCurrentPassengers() <= max);
+    }
+
+    /** Vehicles that do (or do not) need maintenance; non-maintainable vehicles never do. */
+    public FleetQuery needsMaintenance(boolean due) {
+        return where(due ? "maintenance due" : "no maintenance due",
+                v -> (v instanceof Maintainable m && m.needsMaintenance()) == due);
+    }
+
+    /** Any other condition; `label` is what explain() shows for it. */
+    public FleetQuery where(String label, Predicate<? super Vehicle> test) {
+        filters.add(new Filter(label, test));
+        return this;
+    }
+
+    /** Sort results by maxSpeed, which the speed index can supply without sorting. */
+    public FleetQuery orderBySpeed(boolean descending) {
+        this.order = descending ? Comparator.comparingDouble(Vehicle::getMaxSpeed).reversed()
+                                : Comparator.comparingDouble(Vehicle::getMaxSpeed);
+        this.orderLabel = "maxSpeed" + (descending ? " desc" : "");
+        this.speedOrder = true;
+        this.speedDescending = descending;
+        return this;
+    }
+
+    public FleetQuery orderBy(String label, Comparator<? super Vehicle> order) {
+        this.order = order;
+        this.orderLabel = label;
+        this.speedOrder = false;
+        return this;
+    }
+
+    public FleetQuery limit(int limit) {
+        if (limit < 0) throw new IllegalArgumentException("limit must be >= 0");
+        this.limit = limit;
+        return this;
+    }
+
+    /** The matching vehicles. */
+    public List<Vehicle> list() {
+        return execute(plan());
+    }
+
+    /** The matching vehicles mapped through `projection`. */
+    public <R> List<R> select(Function<? super Vehicle, ? extends R> projection) {
+        List<Vehicle> vehicles = list();
+        List<R> out = new ArrayList<>(vehicles.size());
+        for (Vehicle v : vehicles) out.add(projection.apply(v));
+        return out;
+    }
+
+    /** How the query would run: access path, estimated candidates, filters, order and limit. */
+    public String explain() {
+        Plan p = plan();
+        StringBuilder sb = new StringBuilder();
+        sb.append("access: ").append(describe(p)).append(" (est. ").append(p.estimate())
+          .append(" of ").append(fleet.get().size()).append(" vehicles)\n");
+        sb.append("considered: ").append(p.considered()).append("\n");
+        List<String> checks = new ArrayList<>();
+        for (Class<?> t : typeFilters) {
+            if (!(p.access() == Access.TYPE && t == p.type())) checks.add("type=" + t.getSimpleName());
+        }
+        if (hasModel && p.access() != Access.MODEL) checks.add("model=" + model);
+        if (hasSpeedRange() && p.access() != Access.SPEED) checks.add("maxSpeed in " + range(minSpeed, maxSpeed));
+        for (Filter f : filters) checks.add(f.label());
+        sb.append("filter: ").append(checks.isEmpty() ? "none" : String.join(", ", checks)).append("\n");
+        if (order != null) {
+            sb.append("order: ").append(orderLabel)
+              .append(p.orderedByIndex() ? " (from index)" : limit != Integer.MAX_VALUE ? " (bounded heap)" : " (sort)")
+              .append("\n");
+        }
+        if (limit != Integer.MAX_VALUE) sb.append("limit: ").append(limit).append("\n");
+        return sb.toString();
+    }
+
+    private Plan plan() {
+        long n = fleet.get().size();
+        Access best = Access.SCAN;
+        long bestEstimate = n;
+        Class<?> bestType = null;
+        StringBuilder considered = new StringBuilder("scan=" + n);
+
+        for (Class<?> t : typeFilters) {
+            long est = types.members(t).size();
+            considered.append(", type=").append(t.getSimpleName()).append(':').append(est);
+            if (est < bestEstimate) {
+                best = Access.TYPE;
+                bestEstimate = est;
+                bestType = t;
+            }
+        }
+        if (hasModel) {
+            long est = byModel.bucket(model).size();
+            considered.append(", model=").append(model).append(':').append(est);
+            if (est < bestEstimate) {
+                best = Access.MODEL;
+                bestEstimate = est;
+            }
+        }
+        if (hasSpeedRange() || speedOrder) {
+            long est = estimateSpeedRange();
+            considered.append(", maxSpeed:").append(est);
+            // An ordered walk also saves the sort and can stop at the limit, so it wins ties
+            if (est < bestEstimate || (speedOrder && est <= bestEstimate)) {
+                best = Access.SPEED;
+                bestEstimate = est;
+            }
+        }
+        return new Plan(best, bestEstimate, bestType, best == Access.SPEED && speedOrder, considered.toString());
+    }
+
+    private List<Vehicle> execute(Plan p) {
+        List<Vehicle> out = new ArrayList<>();
+        if (limit == 0 || minSpeed > maxSpeed) return out;
+        if (p.orderedByIndex()) {
+            bySpeed.scan(lowSpeed(), highSpeed(), speedDescending, v -> {
+                if (matches(v)) out.add(v);
+                return out.size() < limit;
+            });
+            return out;
+        }
+        if (order != null && limit != Integer.MAX_VALUE) return topK(p);
+        forEachCandidate(p, v -> {
+            if (matches(v)) out.add(v);
+            return order != null || out.size() < limit;
+        });
+        if (order != null) out.sort(order);
+        return out;
+    }
+
+    // Ordered query with a limit: keep only the best `limit` matches, O(n log k)
+    private List<Vehicle> topK(Plan p) {
+        // Ties keep encounter order, as a stable sort would
+        record Ranked(Vehicle v, long seq) { }
+        Comparator<Ranked> best = Comparator.<Ranked, Vehicle>comparing(Ranked::v, order)
+                                            .thenComparingLong(Ranked::seq);
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(best.reversed()); // worst kept match on top
+        long[] seq = {0};
+        forEachCandidate(p, v -> {
+            if (matches(v)) {
+                Ranked r = new Ranked(v, seq[0]++);
+                if (heap.size() < limit) heap.add(r);
+                else if (best.compare(r, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(r);
+                }
+            }
+            return true;
+        });
+        List<Ranked> ranked = new ArrayList<>(heap);
+        ranked.sort(best);
+        List<Vehicle> out = new ArrayList<>(ranked.size());
+        for (Ranked r : ranked) out.add(r.v());
+        return out;
+    }
+
+    private void forEachCandidate(Plan p, Predicate<Vehicle> visit) {
+        Iterable<Vehicle> source = switch (p.access()) {
+            case TYPE -> types.members(p.type());
+            case MODEL -> byModel.bucket(model);
+            case SPEED -> null;
+            case SCAN -> fleet.get();
+        };
+        if (source == null) {
+            bySpeed.scan(lowSpeed(), highSpeed(), false, visit);
+            return;
+        }
+        for (Vehicle v : source) {
+            if (!visit.test(v)) return;
+        }
+    }
+
+    private boolean matches(Vehicle v) {
+        for (Class<?> t : typeFilters) {
+            if (!t.isInstance(v)) return false;
+        }
+        if (hasModel && !Objects.equals(v.getModel(), model)) return false;
+        if (v.getMaxSpeed() < minSpeed || v.getMaxSpeed() > maxSpeed) return false;
+        for (Filter f : filters) {
+            if (!f.test().test(v)) return false;
+        }
+        return true;
+    }
+
+    // Candidates in the speed range, assuming speeds spread evenly between the extremes
+    private long estimateSpeedRange() {
+        if (!hasSpeedRange()) return bySpeed.size();
+        Double lo = bySpeed.firstKey(), hi = bySpeed.lastKey();
+        if (lo == null || minSpeed > maxSpeed) return 0;
+        if (minSpeed == maxSpeed) return bySpeed.bucket(minSpeed).size();
+        double from = Math.max(minSpeed, lo), to = Math.min(maxSpeed, hi);
+        if (from > to) return 0;
+        if (hi.equals(lo)) return bySpeed.size();
+        return (long) Math.ceil(bySpeed.size() * ((to - from) / (hi - lo)));
+    }
+
+    private boolean hasSpeedRange() {
+        return minSpeed != Double.NEGATIVE_INFINITY || maxSpeed != Double.POSITIVE_INFINITY;
+    }
+
+    private Double lowSpeed() {
+        return minSpeed == Double.NEGATIVE_INFINITY ? null : minSpeed;
+    }
+
+    private Double highSpeed() {
+        return maxSpeed == Double.POSITIVE_INFINITY ? null : maxSpeed;
+    }
+
+    private String describe(Plan p) {
+        return switch (p.access()) {
+            case SCAN -> "full scan";
+            case TYPE -> "type index " + p.type().getSimpleName();
+            case MODEL -> "model index =" + model;
+            case SPEED -> "maxSpeed index " + (hasSpeedRange() ? "range " + range(minSpeed, maxSpeed) : "walk")
+                          + (p.orderedByIndex() ? (speedDescending ? " descending" : " ascending") : "");
+        };
+    }
+
+    // NaN compares false both ways, so the index walk and the per-vehicle
+    // check would disagree on what it matches
+    private static void checkBounds(double min, double max) {
+        if (Double.isNaN(min) || Double.isNaN(max)) {
+            throw new IllegalArgumentException("Range bounds must not be NaN: " + range(min, max));
+        }
+    }
+
+    private static String range(double min, double max) {
+        return "[" + min + ", " + max + "]";
+    }
+}
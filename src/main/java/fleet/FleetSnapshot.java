@@ -0,0 +1,166 @@
+package fleet;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import vehicles.Vehicle;
+
+/**
+ * Immutable point-in-time list of the fleet's vehicles, in fleet order.
+ *
+ * FleetManager keeps its membership in one of these and replaces it on every
+ * add, remove, load or reorder, so handing one out costs nothing and later
+ * changes never show up in it. Versions increase with every such change.
+ * Only membership and order are frozen: the Vehicle objects are the live
+ * ones held by the manager.
+ *
+ * Internally a persistent AVL tree keyed by a sequence number that grows with
+ * each insertion. An update copies only the O(log n) nodes on its path and
+ * shares the rest with the previous snapshot.
+ */
+public final class FleetSnapshot extends AbstractList<Vehicle> {
+    static final FleetSnapshot EMPTY = new FleetSnapshot(0, null);
+
+    private final long version;
+    private final Node root;
+
+    private FleetSnapshot(long version, Node root) {
+        this.version = version;
+        this.root = root;
+    }
+
+    /** Number of membership or order changes the fleet had seen when this was taken. */
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public Vehicle get(int index) {
+        if (index < 0 || index >= size()) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        Node n = root;
+        while (true) {
+            int leftSize = size(n.left);
+            if (index < leftSize) {
+                n = n.left;
+            } else if (index == leftSize) {
+                return n.vehicle;
+            } else {
+                index -= leftSize + 1;
+                n = n.right;
+            }
+        }
+    }
+
+    @Override
+    public Iterator<Vehicle> iterator() {
+        return new Iterator<>() {
+            private final ArrayDeque<Node> path = new ArrayDeque<>();
+            { pushLeft(root); }
+
+            private void pushLeft(Node n) {
+                for (; n != null; n = n.left) path.push(n);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public Vehicle next() {
+                if (path.isEmpty()) throw new NoSuchElementException();
+                Node n = path.pop();
+                pushLeft(n.right);
+                return n.vehicle;
+            }
+        };
+    }
+
+    // A snapshot that also holds `v` under `key`; key must exceed every key present
+    FleetSnapshot with(long key, Vehicle v) {
+        return new FleetSnapshot(version + 1, insert(root, key, v));
+    }
+
+    // A snapshot without the vehicle stored under `key`
+    FleetSnapshot without(long key) {
+        return new FleetSnapshot(version + 1, delete(root, key));
+    }
+
+    // A snapshot holding `vehicles` in order under keys 0..size-1
+    FleetSnapshot replacedBy(List<Vehicle> vehicles) {
+        return new FleetSnapshot(version + 1, build(vehicles.toArray(new Vehicle[0]), 0, vehicles.size() - 1));
+    }
+
+    private static final class Node {
+        final long key;
+        final Vehicle vehicle;
+        final Node left, right;
+        final int height, size;
+
+        Node(long key, Vehicle vehicle, Node left, Node right) {
+            this.key = key;
+            this.vehicle = vehicle;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    private static int height(Node n) { return n == null ? 0 : n.height; }
+
+    private static int size(Node n) { return n == null ? 0 : n.size; }
+
+    private static Node build(Vehicle[] vs, int lo, int hi) {
+        if (lo > hi) return null;
+        int mid = (lo + hi) >>> 1;
+        return new Node(mid, vs[mid], build(vs, lo, mid - 1), build(vs, mid + 1, hi));
+    }
+
+    private static Node insert(Node n, long key, Vehicle v) {
+        if (n == null) return new Node(key, v, null, null);
+        if (key < n.key) return balance(n.key, n.vehicle, insert(n.left, key, v), n.right);
+        return balance(n.key, n.vehicle, n.left, insert(n.right, key, v));
+    }
+
+    private static Node delete(Node n, long key) {
+        if (n == null) return null;
+        if (key < n.key) return balance(n.key, n.vehicle, delete(n.left, key), n.right);
+        if (key > n.key) return balance(n.key, n.vehicle, n.left, delete(n.right, key));
+        if (n.left == null) return n.right;
+        if (n.right == null) return n.left;
+        Node min = n.right;
+        while (min.left != null) min = min.left;
+        return balance(min.key, min.vehicle, n.left, delete(n.right, min.key));
+    }
+
+    // Node for (key, v, l, r), rotated if the subtree heights differ by more than one
+    private static Node balance(long key, Vehicle v, Node l, Node r) {
+        int hl = height(l), hr = height(r);
+        if (hl > hr + 1) {
+            if (height(l.left) >= height(l.right)) {
+                return new Node(l.key, l.vehicle, l.left, new Node(key, v, l.right, r));
+            }
+            return new Node(l.right.key, l.right.vehicle,
+                    new Node(l.key, l.vehicle, l.left, l.right.left),
+                    new Node(key, v, l.right.right, r));
+        }
+        if (hr > hl + 1) {
+            if (height(r.right) >= height(r.left)) {
+                return new Node(r.key, r.vehicle, new Node(key, v, l, r.left), r.right);
+            }
+            return new Node(r.left.key, r.left.vehicle,
+                    new Node(key, v, l, r.left.left),
+                    new Node(r.key, r.vehicle, r.left.right, r.right));
+        }
+        return new Node(key, v, l, r);
+    }
+}
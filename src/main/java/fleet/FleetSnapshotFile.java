@@ -0,0 +1,457 @@
+package fleet;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemoryLayout.PathElement;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.StructLayout;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import exceptions.InvalidOperationException;
+import interfaces.CargoCarrier;
+import interfaces.FuelConsumable;
+import interfaces.Maintainable;
+import interfaces.Outcome;
+import interfaces.PassengerCarrier;
+import vehicles.Airplane;
+import vehicles.Bus;
+import vehicles.Car;
+import vehicles.CargoShip;
+import vehicles.Truck;
+import vehicles.Vehicle;
+
+/**
+ * A fleet saved in the binary snapshot format, opened by mapping the file.
+ *
+ * Opening reads the header and the model names and nothing else, so it takes
+ * about the same time for any fleet size. The field accessors read one field
+ * of one record straight from the mapping. get(i) builds a new Vehicle from
+ * record i on every call. Doubles are stored as written, so unlike the CSV
+ * file a snapshot keeps every digit, and it also keeps the mileage at the
+ * last service.
+ *
+ * File layout, little-endian whatever the machine:
+ * - a 64-byte header: magic, format version, vehicle count, record size,
+ *   model count, and the offsets of the sections below;
+ * - one 56-byte record per vehicle (see RECORD_SIZE). All types share the
+ *   same width, so record i is at a fixed offset; fields a type does not
+ *   have are 0;
+ * - the string table: the UTF-8 bytes of each distinct model, then of each
+ *   ID in vehicle order, followed by the start of each string plus the end
+ *   of the last, as 32-bit offsets. Records refer to their model by its
+ *   index, or NULL_MODEL for a null model, and vehicle i's ID is string
+ *   (model count + i).
+ *
+ * OffHeapFleet keeps its records in this layout and saves and maps the same
+ * files. Snapshots are written under a temporary name next to the target and
+ * moved over it once complete, so a save that did not finish leaves the old
+ * file, and a reader that mapped the old file keeps seeing it. Not
+ * thread-safe to close while other threads read; close() unmaps the file.
+ */
+public final class FleetSnapshotFile extends AbstractList<Vehicle> implements AutoCloseable {
+    static final int MAGIC = 0x534C4646;  // "FFLS" read as little-endian bytes
+    static final int FORMAT_VERSION = 2;   // 1 saved a null model as the model "null"
+    static final int HEADER_SIZE = 64;
+
+    private static final ValueLayout.OfChar CHAR = ValueLayout.JAVA_CHAR_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    // Record: type and flags bytes, passengers (16 bits; capacities are in
+    // the hundreds), model index, then the doubles on 8-byte boundaries
+    static final StructLayout RECORD = MemoryLayout.structLayout(
+            ValueLayout.JAVA_BYTE.withName("type"),
+            ValueLayout.JAVA_BYTE.withName("flags"),
+            ValueLayout.JAVA_CHAR.withOrder(ByteOrder.LITTLE_ENDIAN).withName("passengers"),
+            ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN).withName("model"),
+            ValueLayout.JAVA_DOUBLE.withOrder(ByteOrder.LITTLE_ENDIAN).withName("maxSpeed"),
+            ValueLayout.JAVA_DOUBLE.withOrder(ByteOrder.LITTLE_ENDIAN).withName("param"), // wheels, max altitude, or 1/0 for a sail
+            ValueLayout.JAVA_DOUBLE.withOrder(ByteOrder.LITTLE_ENDIAN).withName("fuel"),
+            ValueLayout.JAVA_DOUBLE.withOrder(ByteOrder.LITTLE_ENDIAN).withName("cargo"),
+            ValueLayout.JAVA_DOUBLE.withOrder(ByteOrder.LITTLE_ENDIAN).withName("mileage"),
+            ValueLayout.JAVA_DOUBLE.withOrder(ByteOrder.LITTLE_ENDIAN).withName("lastMaintenance"));
+
+    static final int RECORD_SIZE = (int) RECORD.byteSize();
+    static final long TYPE = offset("type");
+    static final long FLAGS = offset("flags");
+    static final long PASSENGERS = offset("passengers");
+    static final long MODEL = offset("model");
+    static final long MAX_SPEED = offset("maxSpeed");
+    static final long PARAM = offset("param");
+    static final long FUEL = offset("fuel");
+    static final long CARGO = offset("cargo");
+    static final long MILEAGE = offset("mileage");
+    static final long LAST_MAINTENANCE = offset("lastMaintenance");
+
+    static final int FLAG_MAINTENANCE = 1;
+    // Model index of a vehicle whose model is null (the vehicle classes allow one)
+    static final int NULL_MODEL = -1;
+    private static final int TYPE_COUNT = VehicleType.values().length;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Arena arena;
+    private final Sections file;
+    private final MemorySegment records;
+    private final String[] models;
+    private final int size;
+
+    private FleetSnapshotFile(Arena arena, Sections file, String[] models) {
+        this.arena = arena;
+        this.file = file;
+        this.records = file.records();
+        this.models = models;
+        this.size = file.count();
+    }
+
+    /**
+     * The parts of a mapped snapshot: `count` records, and the string table
+     * of `modelCount` models followed by `count` IDs.
+     */
+    record Sections(int count, int modelCount, MemorySegment records, MemorySegment strings, MemorySegment offsets) {
+        /** String `n` of the table: model n, or the ID of vehicle n - modelCount. */
+        String string(long n) {
+            int from = offsets.get(INT, n * Integer.BYTES);
+            int to = offsets.get(INT, (n + 1) * Integer.BYTES);
+            return new String(strings.asSlice(from, to - from).toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8);
+        }
+
+        /** The model names, by index. */
+        String[] models() {
+            String[] out = new String[modelCount];
+            for (int i = 0; i < modelCount; i++) out[i] = string(i);
+            return out;
+        }
+    }
+
+    /** Writes the records of a snapshot, RECORD_SIZE bytes each, through `buf` to `ch`. */
+    @FunctionalInterface
+    interface RecordWriter {
+        void write(FileChannel ch, ByteBuffer buf) throws IOException;
+    }
+
+    /**
+     * Writes `fleet` to `file` in the snapshot format, replacing it. Returns
+     * the number of vehicles written; vehicles of other classes than the five
+     * VehicleTypes are skipped, as saveFleet skips them.
+     */
+    public static int write(List<Vehicle> fleet, Path file) throws IOException {
+        return write(fleet, file, false);
+    }
+
+    /** write(), then with `force` also waits until the file is on the storage device. */
+    static int write(List<Vehicle> fleet, Path file, boolean force) throws IOException {
+        List<Vehicle> stored = new ArrayList<>(fleet.size());
+        // Number the distinct models first, so they open the string table
+        Map<String, Integer> modelIndex = new LinkedHashMap<>();
+        for (Vehicle v : fleet) {
+            if (!isStorable(v)) continue;
+            stored.add(v);
+            if (v.getModel() != null) modelIndex.putIfAbsent(v.getModel(), modelIndex.size());
+        }
+        writeFile(file, force, stored.size(), modelIndex.keySet(), i -> stored.get(i).getID(), (ch, buf) -> {
+            for (Vehicle v : stored) {
+                if (buf.remaining() < RECORD_SIZE) drain(ch, buf);
+                putRecord(buf, v, v.getModel() == null ? NULL_MODEL : modelIndex.get(v.getModel()));
+            }
+        });
+        return stored.size();
+    }
+
+    /**
+     * Writes a snapshot of `count` vehicles to `file`, replacing it:
+     * `records` writes their records, `models` is the model table and
+     * `id.apply(i)` is vehicle i's ID. See the class comment on replacing.
+     */
+    static void writeFile(Path file, boolean force, int count, Collection<String> models,
+                          IntFunction<String> id, RecordWriter records) throws IOException {
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel ch = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                ch.position(HEADER_SIZE);
+                records.write(ch, buf);
+                drain(ch, buf);
+                long stringsAt = HEADER_SIZE + (long) count * RECORD_SIZE;
+                if (ch.position() != stringsAt) throw new IllegalStateException("Wrong number of record bytes written");
+
+                int[] starts = new int[models.size() + count + 1];
+                int n = 0;
+                long at = 0;
+                for (String model : models) {
+                    starts[n++] = stringOffset(at);
+                    at += putString(ch, buf, model);
+                }
+                for (int i = 0; i < count; i++) {
+                    starts[n++] = stringOffset(at);
+                    at += putString(ch, buf, id.apply(i));
+                }
+                starts[n] = stringOffset(at);
+                // Keep the offset table 4-byte aligned
+                while ((stringsAt + at) % Integer.BYTES != 0) {
+                    if (!buf.hasRemaining()) drain(ch, buf);
+                    buf.put((byte) 0);
+                    at++;
+                }
+                long offsetsAt = stringsAt + at;
+                for (int start : starts) {
+                    if (buf.remaining() < Integer.BYTES) drain(ch, buf);
+                    buf.putInt(start);
+                }
+                drain(ch, buf);
+
+                buf.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(count).putInt(RECORD_SIZE)
+                   .putInt(models.size()).putInt(0)
+                   .putLong(HEADER_SIZE).putLong(stringsAt).putLong(offsetsAt)
+                   .putLong(offsetsAt + (long) starts.length * Integer.BYTES);
+                while (buf.position() < HEADER_SIZE) buf.put((byte) 0);
+                buf.flip();
+                long pos = 0;
+                while (buf.hasRemaining()) pos += ch.write(buf, pos);
+                if (force) ch.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Maps a file written by write(). Only the header and the model names are
+     * read; everything else is read from the mapping when asked for.
+     */
+    public static FleetSnapshotFile open(Path file) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            Sections sections = sections(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size(), arena), file);
+            return new FleetSnapshotFile(arena, sections, sections.models());
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /** Checks the header of a whole mapped snapshot and finds its parts. */
+    static Sections sections(MemorySegment whole, Path file) throws IOException {
+        if (whole.byteSize() < HEADER_SIZE || whole.get(INT, 0) != MAGIC) {
+            throw new IOException("Not a fleet snapshot: " + file);
+        }
+        int version = whole.get(INT, 4);
+        if (version != FORMAT_VERSION && version != 1) {
+            throw new IOException("Unsupported fleet snapshot version " + version + ": " + file);
+        }
+        int count = whole.get(INT, 8);
+        int recordSize = whole.get(INT, 12);
+        int modelCount = whole.get(INT, 16);
+        long recordsAt = whole.get(LONG, 24);
+        long stringsAt = whole.get(LONG, 32);
+        long offsetsAt = whole.get(LONG, 40);
+        long end = whole.get(LONG, 48);
+        long stringCount = (long) modelCount + count;
+        if (count < 0 || modelCount < 0 || recordSize != RECORD_SIZE || recordsAt != HEADER_SIZE
+                || stringsAt != recordsAt + (long) count * RECORD_SIZE || offsetsAt < stringsAt
+                || end != offsetsAt + (stringCount + 1) * Integer.BYTES || end != whole.byteSize()) {
+            throw new IOException("Corrupt fleet snapshot: " + file);
+        }
+        return new Sections(count, modelCount, whole.asSlice(recordsAt, (long) count * RECORD_SIZE),
+                whole.asSlice(stringsAt, offsetsAt - stringsAt), whole.asSlice(offsetsAt, end - offsetsAt));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * A new Vehicle restored from record `i`. Throws IllegalStateException
+     * if the record holds state its type cannot take.
+     */
+    @Override
+    public Vehicle get(int i) {
+        long base = base(i);
+        try {
+            return readRecord(records, base, id(i), modelAt(base));
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Corrupt fleet snapshot record " + i + ": " + e.getMessage(), e);
+        }
+    }
+
+    public VehicleType type(int i) {
+        return typeAt(records, base(i));
+    }
+
+    public String id(int i) {
+        return file.string(models.length + (long) index(i));
+    }
+
+    public String model(int i) {
+        return modelAt(base(i));
+    }
+
+    public double maxSpeed(int i) {
+        return records.get(DOUBLE, base(i) + MAX_SPEED);
+    }
+
+    public double fuel(int i) {
+        return records.get(DOUBLE, base(i) + FUEL);
+    }
+
+    public double cargo(int i) {
+        return records.get(DOUBLE, base(i) + CARGO);
+    }
+
+    public int passengers(int i) {
+        return records.get(CHAR, base(i) + PASSENGERS);
+    }
+
+    public double mileage(int i) {
+        return records.get(DOUBLE, base(i) + MILEAGE);
+    }
+
+    /** Same answer as needsMaintenance() on the vehicle that was saved. */
+    public boolean needsMaintenance(int i) {
+        long base = base(i);
+        return (records.get(ValueLayout.JAVA_BYTE, base + FLAGS) & FLAG_MAINTENANCE) != 0;
+    }
+
+    /** Distinct models in the snapshot, in order of first appearance. */
+    public List<String> models() {
+        return List.of(models);
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private int index(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + size);
+        return i;
+    }
+
+    private long base(int i) {
+        return (long) index(i) * RECORD_SIZE;
+    }
+
+    private String modelAt(long base) {
+        int model = records.get(INT, base + MODEL);
+        return model == NULL_MODEL ? null : models[model];
+    }
+
+    private static long offset(String field) {
+        return RECORD.byteOffset(PathElement.groupElement(field));
+    }
+
+    private static boolean isStorable(Vehicle v) {
+        return v instanceof Car || v instanceof Truck || v instanceof Bus
+                || v instanceof Airplane || v instanceof CargoShip;
+    }
+
+    /**
+     * Appends the RECORD_SIZE-byte record of `v` to `buf`, which must be
+     * little-endian. FleetJournal stores vehicles in the same records.
+     */
+    static void putRecord(ByteBuffer buf, Vehicle v, int model) {
+        boolean due = v instanceof Maintainable m && m.needsMaintenance();
+        buf.put((byte) VehicleType.of(v).code())
+           .put((byte) (due ? FLAG_MAINTENANCE : 0))
+           .putChar((char) (v instanceof PassengerCarrier p ? p.getCurrentPassengers() : 0))
+           .putInt(model)
+           .putDouble(v.getMaxSpeed())
+           .putDouble(VehicleType.paramOf(v))
+           .putDouble(v instanceof FuelConsumable f ? f.getFuelLevel() : 0.0)
+           .putDouble(v instanceof CargoCarrier c ? c.getCurrentCargo() : 0.0)
+           .putDouble(v.getCurrentMileage())
+           .putDouble(v instanceof Maintainable m ? m.getLastMaintenanceMileage() : 0.0);
+    }
+
+    // Writes the UTF-8 bytes of `s` through `buf`; returns their length
+    private static int putString(FileChannel ch, ByteBuffer buf, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        int done = 0;
+        while (done < bytes.length) {
+            if (!buf.hasRemaining()) drain(ch, buf);
+            int n = Math.min(buf.remaining(), bytes.length - done);
+            buf.put(bytes, done, n);
+            done += n;
+        }
+        return bytes.length;
+    }
+
+    private static int stringOffset(long at) throws IOException {
+        if (at > Integer.MAX_VALUE) throw new IOException("Fleet too large for a snapshot: over 2 GB of IDs and models");
+        return (int) at;
+    }
+
+    static void drain(FileChannel ch, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) ch.write(buf);
+        buf.clear();
+    }
+
+    /**
+     * A new vehicle restored from the record at `base` in `records`, written
+     * by putRecord. Throws IllegalArgumentException if the record holds state
+     * its type cannot take.
+     */
+    static Vehicle readRecord(MemorySegment records, long base, String id, String model) {
+        try {
+            return restore(typeAt(records, base), id, model,
+                    records.get(DOUBLE, base + MAX_SPEED), records.get(DOUBLE, base + PARAM),
+                    records.get(DOUBLE, base + FUEL), records.get(DOUBLE, base + CARGO),
+                    records.get(CHAR, base + PASSENGERS), records.get(DOUBLE, base + MILEAGE),
+                    records.get(DOUBLE, base + LAST_MAINTENANCE),
+                    (records.get(ValueLayout.JAVA_BYTE, base + FLAGS) & FLAG_MAINTENANCE) != 0);
+        } catch (InvalidOperationException | ClassCastException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private static VehicleType typeAt(MemorySegment records, long base) {
+        int code = records.get(ValueLayout.JAVA_BYTE, base + TYPE);
+        if (code < 0 || code >= TYPE_COUNT) throw new IllegalArgumentException("Unknown vehicle type " + code);
+        return VehicleType.fromCode(code);
+    }
+
+    // Like FleetCsvParser.restore, plus the mileage at the last service: the
+    // vehicle is driven to it, serviced, then driven the rest of the way
+    private static Vehicle restore(VehicleType type, String id, String model, double maxSpeed, double param,
+                                   double fuel, double cargo, int passengers, double mileage,
+                                   double lastMaintenance, boolean maintenanceDue) throws InvalidOperationException {
+        Vehicle v = type.create(id, model, maxSpeed, param);
+        if (!(v instanceof CargoShip s && s.hasSail()) && fuel > 0.0) {
+            require(((FuelConsumable) v).tryRefuel(fuel), "Invalid fuel level");
+        }
+        if (passengers > 0) require(((PassengerCarrier) v).tryBoardPassengers(passengers), "Passenger overload");
+        if (cargo > 0.0) require(((CargoCarrier) v).tryLoadCargo(cargo), "Invalid cargo weight");
+        Maintainable m = (Maintainable) v;
+        if (lastMaintenance > 0.0) {
+            v.addMileage(lastMaintenance);
+            Vehicle.runQuietly(m::performMaintenance);
+        }
+        v.addMileage(mileage - lastMaintenance);
+        if (maintenanceDue && !m.needsMaintenance()) m.scheduleMaintenance();
+        return v;
+    }
+
+    private static void require(Outcome outcome, String message) {
+        if (outcome != Outcome.OK) throw new IllegalArgumentException(message + " (" + outcome + ")");
+    }
+}
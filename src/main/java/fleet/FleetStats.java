@@ -0,0 +1,182 @@
+package fleet;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import interfaces.Maintainable;
+import vehicles.Vehicle;
+
+/**
+ * Running totals behind FleetManager.generateReport(), updated as vehicles
+ * are added, removed, moved or maintained so a report never rescans the fleet.
+ *
+ * The totals keep what each vehicle contributed to them, so a vehicle's
+ * mileage or maintenance flag can change by any route (a journey, addMileage,
+ * scheduleMaintenance, a bulk run) and update() or remove() still take out
+ * exactly what was put in. FleetManager calls update() from the vehicles'
+ * change listener.
+ *
+ * Mileage and efficiency are running sums that see many small additions and
+ * subtractions over a fleet's lifetime, so they are kept as compensated sums;
+ * a plain double would drift away from a fresh recompute.
+ *
+ * Types are listed in the order they first joined the fleet, not in current
+ * fleet order as a full scan would list them; the report compares the same
+ * either way apart from line order.
+ */
+class FleetStats implements FleetIndex {
+    // Mileage and maintenance-due state last counted for a vehicle
+    private static final class Contribution {
+        double mileage;
+        boolean due;
+    }
+
+    // Neumaier compensated sum: `compensation` carries the low-order bits
+    // lost when adding to `sum`
+    private static final class CompensatedSum {
+        private double sum;
+        private double compensation;
+
+        void add(double x) {
+            double t = sum + x;
+            if (Math.abs(sum) >= Math.abs(x)) compensation += (sum - t) + x;
+            else compensation += (x - t) + sum;
+            sum = t;
+        }
+
+        double value() { return sum + compensation; }
+
+        void reset() {
+            sum = 0.0;
+            compensation = 0.0;
+        }
+    }
+
+    private final Map<Vehicle, Contribution> contributions = new HashMap<>();
+    // Insertion ordered so the report lists types in the order they first appeared.
+    // Counts are left at zero rather than removed to keep that order stable.
+    private final Map<String, Integer> countsByType = new LinkedHashMap<>();
+    private int size = 0;
+    private final CompensatedSum efficiencySum = new CompensatedSum();
+    private int efficiencyCount = 0;
+    private final CompensatedSum totalMileage = new CompensatedSum();
+    private int maintenanceDue = 0;
+
+    @Override
+    public void add(Vehicle v) {
+        countsByType.merge(v.getClass().getSimpleName(), 1, Integer::sum);
+        size++;
+        double eff = v.calculateFuelEfficiency();
+        if (eff > 0) {
+            efficiencySum.add(eff);
+            efficiencyCount++;
+        }
+        Contribution c = new Contribution();
+        if (contributions.putIfAbsent(v, c) == null) count(c, v);
+    }
+
+    @Override
+    public void remove(Vehicle v) {
+        Contribution c = contributions.remove(v);
+        if (c != null) {
+            totalMileage.add(-c.mileage);
+            if (c.due) maintenanceDue--;
+        }
+        countsByType.merge(v.getClass().getSimpleName(), -1, Integer::sum);
+        size--;
+        double eff = v.calculateFuelEfficiency();
+        if (eff > 0) {
+            efficiencySum.add(-eff);
+            efficiencyCount--;
+        }
+    }
+
+    @Override
+    public void clear() {
+        contributions.clear();
+        countsByType.clear();
+        size = 0;
+        efficiencySum.reset();
+        efficiencyCount = 0;
+        totalMileage.reset();
+        maintenanceDue = 0;
+    }
+
+    /** Recount `v` after its mileage or maintenance state changed. */
+    public void update(Vehicle v) {
+        Contribution c = contributions.get(v);
+        if (c == null) return;
+        double mileage = v.getCurrentMileage();
+        boolean due = v instanceof Maintainable m && m.needsMaintenance();
+        if (mileage != c.mileage) {
+            totalMileage.add(mileage);
+            totalMileage.add(-c.mileage);
+            c.mileage = mileage;
+        }
+        if (due != c.due) {
+            maintenanceDue += due ? 1 : -1;
+            c.due = due;
+        }
+    }
+
+    /** Recount every vehicle in `vehicles`, e.g. after a bulk run that did not report changes. */
+    public void refresh(Collection<Vehicle> vehicles) {
+        for (Vehicle v : vehicles) update(v);
+    }
+
+    private void count(Contribution c, Vehicle v) {
+        c.mileage = v.getCurrentMileage();
+        c.due = v instanceof Maintainable m && m.needsMaintenance();
+        totalMileage.add(c.mileage);
+        if (c.due) maintenanceDue++;
+    }
+
+    public int size() { return size; }
+
+    /**
+     * Vehicle count per simple class name; types whose count dropped to zero are kept.
+     */
+    public Map<String, Integer> countsByType() {
+        return Collections.unmodifiableMap(countsByType);
+    }
+
+    /**
+     * Average of the positive fuel efficiencies, or NaN if there are none.
+     */
+    public double averageEfficiency() {
+        return efficiencyCount > 0 ? efficiencySum.value() / efficiencyCount : Double.NaN;
+    }
+
+    public double totalMileage() { return totalMileage.value(); }
+
+    public int maintenanceDue() { return maintenanceDue; }
+
+    /**
+     * The fleet report text. Shared by FleetManager and the FleetStore backends
+     * so all of them print the same format. Types with a zero count are left out;
+     * pass NaN as avgEfficiency when no vehicle has a positive efficiency.
+     */
+    static String render(int total, Map<String, Integer> countsByType, double avgEfficiency,
+                         double totalMileage, int maintenanceDue) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("----FLEET REPORT----\n");
+        sb.append("Total vehicles: ").append(total).append("\n");
+
+        sb.append("Count by types: \n");
+        for (Map.Entry<String, Integer> e : countsByType.entrySet()) {
+            if (e.getValue() == 0) continue; // type no longer in the fleet
+            sb.append(e.getKey()).append(": ").append(e.getValue()).append("\n"); // Type : count
+        }
+
+        sb.append("Average fuel efficiency: ")
+          .append(!Double.isNaN(avgEfficiency) ? String.format("%.2f km/l", avgEfficiency) : "N/A")
+          .append("\n");
+        sb.append("Total mileage: ").append(String.format("%.2f km", totalMileage)).append("\n");
+
+        sb.append("Vehicles needing maintenance: ").append(maintenanceDue).append("\n");
+        return sb.toString();
+    }
+}
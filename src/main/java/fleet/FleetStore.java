@@ -0,0 +1,41 @@
+package fleet;
+
+import java.util.Collection;
+import java.util.List;
+
+import exceptions.InvalidOperationException;
+import vehicles.Vehicle;
+
+/**
+ * A fleet backend that keeps vehicle state outside individual Vehicle objects
+ * and runs the bulk operations directly over that state. Vehicles go in by
+ * copy; getVehicle/toVehicles hand back detached Vehicle objects built from
+ * the stored state, so changing those objects does not change the store.
+ *
+ * The stores stand alone: FleetManager keeps live Vehicle objects, since its
+ * indexes, events and journal are fed by the vehicles' change listeners.
+ *
+ * Bulk operations follow the same per-type rules as the vehicle classes.
+ */
+public interface FleetStore {
+    void add(Vehicle v) throws InvalidOperationException;
+    boolean remove(String id);
+    boolean contains(String id);
+    int size();
+
+    Vehicle getVehicle(String id);
+    List<Vehicle> toVehicles();
+
+    /** Fuel the fuel-consuming vehicles would need for `distance`; sail ships need none. */
+    double getTotalFuelConsumption(double distance);
+    /** Refuel every vehicle that can take fuel; returns how many were refuelled. */
+    int refuelAll(double amount);
+    BulkResult startAllJourneys(double distance);
+    /** Maintain every vehicle that needs it; returns how many were maintained. */
+    int maintainAll();
+    String generateReport();
+
+    default void addAll(Collection<? extends Vehicle> vehicles) throws InvalidOperationException {
+        for (Vehicle v : vehicles) add(v);
+    }
+}
@@ -0,0 +1,98 @@
+package fleet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import interfaces.Maintainable;
+import vehicles.Vehicle;
+
+/**
+ * Maintainable vehicles ordered by the km they have left before maintenance
+ * falls due (lastMaintenanceMileage + 10000 - mileage). Vehicles that already
+ * need maintenance, by mileage or because it was scheduled, are keyed at or
+ * below 0, so "due now" and "due within X km" are head ranges of the map.
+ *
+ * Unlike the other indexes, a vehicle's key changes while it is in the fleet:
+ * FleetManager calls update() from the vehicles' change listener.
+ */
+class MaintenanceIndex implements FleetIndex {
+    private final NavigableMap<Double, Set<Vehicle>> byRemaining = new TreeMap<>();
+    private final Map<Vehicle, Double> keys = new HashMap<>();
+
+    @Override
+    public void add(Vehicle v) {
+        if (!(v instanceof Maintainable m)) return;
+        double key = key(m);
+        if (keys.putIfAbsent(v, key) == null) {
+            byRemaining.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(v);
+        }
+    }
+
+    @Override
+    public void remove(Vehicle v) {
+        Double key = keys.remove(v);
+        if (key == null) return;
+        Set<Vehicle> bucket = byRemaining.get(key);
+        bucket.remove(v);
+        if (bucket.isEmpty()) byRemaining.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        byRemaining.clear();
+        keys.clear();
+    }
+
+    /** Re-key `v` after its mileage or maintenance state changed. */
+    public void update(Vehicle v) {
+        Double old = keys.get(v);
+        if (old == null || old == key((Maintainable) v)) return;
+        remove(v);
+        add(v);
+    }
+
+    /** Re-key every vehicle in `vehicles`, e.g. after a bulk run that did not report changes. */
+    public void refresh(Collection<Vehicle> vehicles) {
+        for (Vehicle v : vehicles) {
+            if (keys.containsKey(v)) update(v);
+        }
+    }
+
+    /** Vehicles that need maintenance now, most overdue first. */
+    public List<Vehicle> due() {
+        return within(0.0);
+    }
+
+    /** Vehicles that need maintenance now or will within `km` more km, soonest first. */
+    public List<Vehicle> within(double km) {
+        List<Vehicle> out = new ArrayList<>();
+        for (Set<Vehicle> bucket : byRemaining.headMap(km, true).values()) out.addAll(bucket);
+        return out;
+    }
+
+    /** The k vehicles not yet due that are closest to being due, soonest first. */
+    public List<Vehicle> closest(int k) {
+        List<Vehicle> out = new ArrayList<>(Math.min(k, keys.size()));
+        for (Set<Vehicle> bucket : byRemaining.tailMap(0.0, false).values()) {
+            for (Vehicle v : bucket) {
+                if (out.size() >= k) return out;
+                out.add(v);
+            }
+        }
+        return out;
+    }
+
+    // km left before the mileage threshold; capped at 0 for vehicles already due
+    static double key(Maintainable m) {
+        double remaining = m.getLastMaintenanceMileage() + VehicleType.MAINTENANCE_INTERVAL
+                           - ((Vehicle) m).getCurrentMileage();
+        return m.needsMaintenance() ? Math.min(remaining, 0.0) : remaining;
+    }
+}
@@ -0,0 +1,66 @@
+package fleet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import vehicles.Vehicle;
+
+/**
+ * The fleet's models, sorted, each with the vehicles that have it. A model
+ * is listed only while at least one vehicle has it, so removals are
+ * reflected. The sorted list of distinct models is cached and rebuilt only
+ * after a model appears or disappears, not on every read.
+ */
+class ModelCatalogue implements FleetIndex {
+    // model -> vehicles (insertion order), sorted by model with null first
+    private final OrderedIndex<String> byModel =
+            new OrderedIndex<>(Vehicle::getModel, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+    private List<String> distinct = null; // null when a model was added or removed since the last read
+
+    @Override
+    public void add(Vehicle v) {
+        boolean newModel = byModel.bucket(v.getModel()).isEmpty();
+        byModel.add(v);
+        if (newModel) distinct = null;
+    }
+
+    @Override
+    public void remove(Vehicle v) {
+        byModel.remove(v);
+        if (byModel.bucket(v.getModel()).isEmpty()) distinct = null;
+    }
+
+    @Override
+    public void clear() {
+        byModel.clear();
+        distinct = null;
+    }
+
+    /** Distinct non-null models in sorted order; an unmodifiable list. */
+    public List<String> distinctModels() {
+        if (distinct == null) {
+            List<String> models = new ArrayList<>(byModel.keys());
+            if (!models.isEmpty() && models.get(0) == null) models.remove(0);
+            distinct = Collections.unmodifiableList(models);
+        }
+        return distinct;
+    }
+
+    /** Number of vehicles with this model. */
+    public int count(String model) {
+        return byModel.bucket(model).size();
+    }
+
+    /** Vehicles with this model, in insertion order; read-only view. */
+    public Set<Vehicle> vehicles(String model) {
+        return byModel.bucket(model);
+    }
+
+    /** The whole fleet ordered by model, for sorted listings and queries. */
+    public OrderedIndex<String> ordering() {
+        return byModel;
+    }
+}
@@ -0,0 +1,406 @@
+package fleet;
+
+import static fleet.FleetSnapshotFile.CARGO;
+import static fleet.FleetSnapshotFile.FLAGS;
+import static fleet.FleetSnapshotFile.FLAG_MAINTENANCE;
+import static fleet.FleetSnapshotFile.FUEL;
+import static fleet.FleetSnapshotFile.LAST_MAINTENANCE;
+import static fleet.FleetSnapshotFile.MAX_SPEED;
+import static fleet.FleetSnapshotFile.MILEAGE;
+import static fleet.FleetSnapshotFile.MODEL;
+import static fleet.FleetSnapshotFile.NULL_MODEL;
+import static fleet.FleetSnapshotFile.PARAM;
+import static fleet.FleetSnapshotFile.PASSENGERS;
+import static fleet.FleetSnapshotFile.TYPE;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import exceptions.InvalidOperationException;
+import interfaces.CargoCarrier;
+import interfaces.FuelConsumable;
+import interfaces.Maintainable;
+import interfaces.Outcome;
+import interfaces.PassengerCarrier;
+import vehicles.Vehicle;
+
+/**
+ * Fleet store that keeps one fixed-size record per vehicle in native memory,
+ * outside the Java heap. Only the ID and model strings stay on the heap, in a
+ * table indexed by row, so a large fleet costs the garbage collector two
+ * strings per vehicle instead of a Vehicle object graph.
+ *
+ * Records use the FleetSnapshotFile layout, and the store saves and maps
+ * FleetSnapshotFile's files: a snapshot written by either can be opened by
+ * the other. A mapped snapshot is used in place (see {@link #map(Path)}):
+ * field updates (fuel, mileage, maintenance) then go directly to the file.
+ * Adding or removing vehicles first copies the records into memory owned by
+ * this store, after which the file is only updated by
+ * {@link #writeSnapshot(Path)}. The records' model index is only meaningful
+ * in files; in memory the model is in the string table.
+ *
+ * Like ColumnarFleet, removal moves the last row into the freed slot. Not
+ * thread-safe; close() frees the native memory.
+ */
+public class OffHeapFleet implements FleetStore, AutoCloseable {
+    // FleetSnapshotFile's little-endian layouts; records are 8-byte aligned in
+    // memory and in snapshot files, so these can be the aligned ones
+    private static final ValueLayout.OfByte BYTE = ValueLayout.JAVA_BYTE;
+    private static final ValueLayout.OfChar CHAR = ValueLayout.JAVA_CHAR.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt INT_UNALIGNED = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    static final long RECORD_SIZE = FleetSnapshotFile.RECORD_SIZE;
+
+    // km per litre by type code; records don't store it (see efficiency())
+    private static final double[] EFFICIENCY = new double[VehicleType.values().length];
+    static {
+        for (VehicleType t : VehicleType.values()) EFFICIENCY[t.code()] = t.efficiency();
+    }
+    private static final int CARGO_SHIP = VehicleType.CARGO_SHIP.code();
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<String, Integer> rowById = new HashMap<>();
+    private String[] ids;
+    private String[] models;
+    private int size;
+
+    private Arena arena;
+    private MemorySegment records;  // capacity * RECORD_SIZE bytes
+    private long capacity;
+    private boolean mapped;         // records is a view of a snapshot file
+    private Path source;            // that file, while mapped
+
+    public OffHeapFleet() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public OffHeapFleet(int initialCapacity) {
+        int cap = Math.max(1, initialCapacity);
+        this.arena = Arena.ofShared();
+        this.records = arena.allocate(cap * RECORD_SIZE, 8);
+        this.capacity = cap;
+        this.ids = new String[cap];
+        this.models = new String[cap];
+    }
+
+    private OffHeapFleet(Arena arena, MemorySegment records, int size, String[] ids, String[] models, Path source) {
+        this.arena = arena;
+        this.records = records;
+        this.capacity = size;
+        this.size = size;
+        this.ids = ids;
+        this.models = models;
+        this.mapped = true;
+        this.source = source;
+        for (int i = 0; i < size; i++) rowById.put(ids[i], i);
+    }
+
+    @Override
+    public void add(Vehicle v) throws InvalidOperationException {
+        VehicleType type = VehicleType.of(v);
+        if (rowById.containsKey(v.getID())) {
+            throw new InvalidOperationException("Vehicle ID must be unique");
+        }
+        ensureOwned(size + 1L);
+        int i = size++;
+        rowById.put(v.getID(), i);
+        ids[i] = v.getID();
+        models[i] = v.getModel();
+        long base = i * RECORD_SIZE;
+        records.set(BYTE, base + TYPE, (byte) type.code());
+        records.set(CHAR, base + PASSENGERS, (char) (v instanceof PassengerCarrier p ? p.getCurrentPassengers() : 0));
+        records.set(INT, base + MODEL, 0);
+        records.set(DOUBLE, base + MAX_SPEED, v.getMaxSpeed());
+        records.set(DOUBLE, base + PARAM, VehicleType.paramOf(v));
+        records.set(DOUBLE, base + FUEL, v instanceof FuelConsumable f ? f.getFuelLevel() : 0.0);
+        records.set(DOUBLE, base + MILEAGE, v.getCurrentMileage());
+        records.set(DOUBLE, base + CARGO, v instanceof CargoCarrier c ? c.getCurrentCargo() : 0.0);
+        if (v instanceof Maintainable m) {
+            records.set(DOUBLE, base + LAST_MAINTENANCE, m.getLastMaintenanceMileage());
+            records.set(BYTE, base + FLAGS, (byte) (m.needsMaintenance() ? FLAG_MAINTENANCE : 0));
+        } else {
+            records.set(DOUBLE, base + LAST_MAINTENANCE, 0.0);
+            records.set(BYTE, base + FLAGS, (byte) 0);
+        }
+    }
+
+    @Override
+    public boolean remove(String id) {
+        Integer row = rowById.get(id);
+        if (row == null) return false;
+        ensureOwned(size);
+        rowById.remove(id);
+        int i = row;
+        int last = --size;
+        if (i != last) {
+            MemorySegment.copy(records, last * RECORD_SIZE, records, i * RECORD_SIZE, RECORD_SIZE);
+            ids[i] = ids[last];
+            models[i] = models[last];
+            rowById.put(ids[i], i);
+        }
+        ids[last] = null;
+        models[last] = null;
+        return true;
+    }
+
+    @Override
+    public boolean contains(String id) {
+        return rowById.containsKey(id);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** True while the records are a live view of a snapshot file. */
+    public boolean isMapped() {
+        return mapped;
+    }
+
+    @Override
+    public Vehicle getVehicle(String id) {
+        Integer row = rowById.get(id);
+        return row == null ? null : materialize(row);
+    }
+
+    @Override
+    public List<Vehicle> toVehicles() {
+        List<Vehicle> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) out.add(materialize(i));
+        return out;
+    }
+
+    @Override
+    public double getTotalFuelConsumption(double distance) {
+        double total = 0.0;
+        for (long base = 0, end = size * RECORD_SIZE; base < end; base += RECORD_SIZE) {
+            double eff = efficiency(base);
+            if (eff > 0) total += distance / eff;
+        }
+        return total;
+    }
+
+    @Override
+    public int refuelAll(double amount) {
+        if (amount <= 0) return 0;
+        int refuelled = 0;
+        for (long base = 0, end = size * RECORD_SIZE; base < end; base += RECORD_SIZE) {
+            if (efficiency(base) > 0) { // sail ships cannot be refuelled
+                records.set(DOUBLE, base + FUEL, records.get(DOUBLE, base + FUEL) + amount);
+                refuelled++;
+            }
+        }
+        return refuelled;
+    }
+
+    @Override
+    public BulkResult startAllJourneys(double distance) {
+        Outcome[] outcomes = new Outcome[size];
+        for (int i = 0; i < size; i++) {
+            long base = i * RECORD_SIZE;
+            if (needsMaintenance(base)) {
+                outcomes[i] = Outcome.MAINTENANCE_REQUIRED;
+                continue;
+            }
+            if (distance < 0) {
+                outcomes[i] = Outcome.INVALID_OPERATION;
+                continue;
+            }
+            double eff = efficiency(base);
+            if (eff != 0) {
+                VehicleType type = VehicleType.fromCode(records.get(BYTE, base + TYPE));
+                eff = type.efficiencyWithLoad(eff, records.get(DOUBLE, base + CARGO));
+                double needed = distance / eff;
+                double fuel = records.get(DOUBLE, base + FUEL);
+                if (needed > fuel) {
+                    outcomes[i] = Outcome.INSUFFICIENT_FUEL;
+                    continue;
+                }
+                records.set(DOUBLE, base + FUEL, fuel - needed);
+            }
+            double mileage = records.get(DOUBLE, base + MILEAGE);
+            if (distance > 0) { // Vehicle.addMileage ignores non-positive distances
+                mileage += distance;
+                records.set(DOUBLE, base + MILEAGE, mileage);
+            }
+            if (mileage > VehicleType.MAINTENANCE_INTERVAL) {
+                records.set(BYTE, base + FLAGS, (byte) (records.get(BYTE, base + FLAGS) | FLAG_MAINTENANCE));
+            }
+            outcomes[i] = Outcome.OK;
+        }
+        return new BulkResult(Arrays.copyOf(ids, size), outcomes);
+    }
+
+    @Override
+    public int maintainAll() {
+        int maintained = 0;
+        for (long base = 0, end = size * RECORD_SIZE; base < end; base += RECORD_SIZE) {
+            if (needsMaintenance(base)) {
+                records.set(DOUBLE, base + LAST_MAINTENANCE, records.get(DOUBLE, base + MILEAGE));
+                records.set(BYTE, base + FLAGS, (byte) (records.get(BYTE, base + FLAGS) & ~FLAG_MAINTENANCE));
+                maintained++;
+            }
+        }
+        return maintained;
+    }
+
+    @Override
+    public String generateReport() {
+        int[] counts = new int[VehicleType.values().length];
+        double effSum = 0.0;
+        int effCount = 0;
+        double totalMileage = 0.0;
+        int due = 0;
+        for (long base = 0, end = size * RECORD_SIZE; base < end; base += RECORD_SIZE) {
+            counts[records.get(BYTE, base + TYPE)]++;
+            double eff = efficiency(base);
+            if (eff > 0) {
+                effSum += eff;
+                effCount++;
+            }
+            totalMileage += records.get(DOUBLE, base + MILEAGE);
+            if (needsMaintenance(base)) due++;
+        }
+        // List types in order of first appearance, like FleetManager
+        Map<String, Integer> byType = new LinkedHashMap<>();
+        for (int i = 0; i < size && byType.size() < counts.length; i++) {
+            int code = records.get(BYTE, i * RECORD_SIZE + TYPE);
+            byType.putIfAbsent(VehicleType.fromCode(code).label(), counts[code]);
+        }
+        return FleetStats.render(size, byType, effCount > 0 ? effSum / effCount : Double.NaN, totalMileage, due);
+    }
+
+    /**
+     * Writes the records and the string table to `file` as a FleetSnapshotFile,
+     * replacing it; see there on how the file is replaced. If this store is
+     * mapped from `file`, it first copies its records into memory of its own:
+     * the mapping would otherwise keep showing the replaced file.
+     */
+    public void writeSnapshot(Path file) throws IOException {
+        if (mapped && source != null && Files.exists(file) && Files.isSameFile(file, source)) ensureOwned(size);
+        // Number the distinct models in row order, as FleetSnapshotFile.write does
+        Map<String, Integer> modelIndex = new LinkedHashMap<>();
+        int[] modelOf = new int[size];
+        for (int i = 0; i < size; i++) {
+            String m = models[i];
+            modelOf[i] = m == null ? NULL_MODEL : modelIndex.computeIfAbsent(m, k -> modelIndex.size());
+        }
+        FleetSnapshotFile.writeFile(file, true, size, modelIndex.keySet(), i -> ids[i], (ch, buf) -> {
+            // The records as they are, with the model index of the file filled in
+            MemorySegment out = MemorySegment.ofBuffer(buf);
+            for (int i = 0; i < size; i++) {
+                if (buf.remaining() < RECORD_SIZE) FleetSnapshotFile.drain(ch, buf);
+                int at = buf.position();
+                MemorySegment.copy(records, i * RECORD_SIZE, out, at, RECORD_SIZE);
+                out.set(INT_UNALIGNED, at + MODEL, modelOf[i]);
+                buf.position(at + (int) RECORD_SIZE);
+            }
+        });
+    }
+
+    /**
+     * Maps a snapshot written by writeSnapshot() or FleetSnapshotFile. Only
+     * the string table is read into the heap; the records stay in the file
+     * (see class comment).
+     */
+    public static OffHeapFleet map(Path file) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            FleetSnapshotFile.Sections sections = FleetSnapshotFile.sections(
+                    ch.map(FileChannel.MapMode.READ_WRITE, 0, ch.size(), arena), file);
+            int count = sections.count();
+            MemorySegment records = sections.records();
+            String[] names = sections.models();
+            String[] ids = new String[count];
+            String[] models = new String[count];
+            for (int i = 0; i < count; i++) {
+                ids[i] = sections.string(names.length + (long) i);
+                int model = records.get(INT, i * RECORD_SIZE + MODEL);
+                if (model != NULL_MODEL && (model < 0 || model >= names.length)) {
+                    throw new IOException("Corrupt fleet snapshot: " + file);
+                }
+                models[i] = model == NULL_MODEL ? null : names[model];
+            }
+            return new OffHeapFleet(arena, records, count, ids, models, file);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /** Writes changed records of a mapped fleet back to its file. */
+    public void flush() {
+        if (mapped) records.force();
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    // km per litre of the record at `base`: its type's, or 0 for a sail ship
+    private double efficiency(long base) {
+        int type = records.get(BYTE, base + TYPE);
+        return type == CARGO_SHIP && records.get(DOUBLE, base + PARAM) != 0 ? 0.0 : EFFICIENCY[type];
+    }
+
+    private boolean needsMaintenance(long base) {
+        return (records.get(BYTE, base + FLAGS) & FLAG_MAINTENANCE) != 0
+                || records.get(DOUBLE, base + MILEAGE)
+                   - records.get(DOUBLE, base + LAST_MAINTENANCE) >= VehicleType.MAINTENANCE_INTERVAL;
+    }
+
+    private Vehicle materialize(int i) {
+        long base = i * RECORD_SIZE;
+        try {
+            return VehicleType.fromCode(records.get(BYTE, base + TYPE)).restore(ids[i], models[i],
+                    records.get(DOUBLE, base + MAX_SPEED),
+                    records.get(DOUBLE, base + PARAM),
+                    records.get(DOUBLE, base + FUEL),
+                    records.get(DOUBLE, base + CARGO),
+                    records.get(CHAR, base + PASSENGERS),
+                    records.get(DOUBLE, base + MILEAGE),
+                    records.get(DOUBLE, base + LAST_MAINTENANCE),
+                    needsMaintenance(base));
+        } catch (InvalidOperationException e) {
+            // IDs were validated when the vehicle was added
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Makes sure the records live in memory owned by this store with room for `needed` rows
+    private void ensureOwned(long needed) {
+        if (!mapped && needed <= capacity) return;
+        long newCapacity = Math.max(needed, mapped ? Math.max(size, INITIAL_CAPACITY) : capacity * 2);
+        Arena newArena = Arena.ofShared();
+        MemorySegment newRecords = newArena.allocate(newCapacity * RECORD_SIZE, 8);
+        MemorySegment.copy(records, 0, newRecords, 0, size * RECORD_SIZE);
+        arena.close();
+        arena = newArena;
+        records = newRecords;
+        capacity = newCapacity;
+        mapped = false;
+        source = null;
+        if (ids.length < newCapacity) {
+            ids = Arrays.copyOf(ids, (int) newCapacity);
+            models = Arrays.copyOf(models, (int) newCapacity);
+        }
+    }
+}
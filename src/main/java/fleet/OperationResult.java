@@ -0,0 +1,22 @@
+package fleet;
+
+import interfaces.Outcome;
+
+/**
+ * Result of a FleetManager operation on a single vehicle. `message` is the
+ * failure reason reported by the vehicle, or null on success.
+ */
+public record OperationResult(Outcome outcome, String vehicleId, String message) {
+
+    static OperationResult ok(String vehicleId) {
+        return new OperationResult(Outcome.OK, vehicleId, null);
+    }
+
+    static OperationResult failed(Outcome outcome, String vehicleId, String message) {
+        return new OperationResult(outcome, vehicleId, message);
+    }
+
+    public boolean isOk() {
+        return outcome == Outcome.OK;
+    }
+}
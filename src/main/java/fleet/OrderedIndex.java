@@ -0,0 +1,154 @@
+package fleet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import vehicles.Vehicle;
+
+/**
+ * Keeps the fleet ordered by a key that does not change while a vehicle is in
+ * the fleet (max speed, model, fuel efficiency). Vehicles with equal keys share
+ * a bucket in insertion order, so iteration matches a stable sort of the fleet.
+ */
+class OrderedIndex<K> implements FleetIndex {
+    private final Function<Vehicle, K> key;
+    private final NavigableMap<K, Set<Vehicle>> buckets;
+    private int size = 0;
+
+    OrderedIndex(Function<Vehicle, K> key, Comparator<? super K> order) {
+        this.key = key;
+        this.buckets = new TreeMap<>(order);
+    }
+
+    @Override
+    public void add(Vehicle v) {
+        if (buckets.computeIfAbsent(key.apply(v), k -> new LinkedHashSet<>()).add(v)) size++;
+    }
+
+    @Override
+    public void remove(Vehicle v) {
+        K k = key.apply(v);
+        Set<Vehicle> bucket = buckets.get(k);
+        if (bucket != null && bucket.remove(v)) {
+            size--;
+            if (bucket.isEmpty()) buckets.remove(k);
+        }
+    }
+
+    @Override
+    public void clear() {
+        buckets.clear();
+        size = 0;
+    }
+
+    public int size() { return size; }
+
+    /**
+     * First vehicle with the smallest key, or null if empty.
+     */
+    public Vehicle first() {
+        Map.Entry<K, Set<Vehicle>> e = buckets.firstEntry();
+        return e == null ? null : e.getValue().iterator().next();
+    }
+
+    /**
+     * First vehicle with the largest key, or null if empty.
+     */
+    public Vehicle last() {
+        Map.Entry<K, Set<Vehicle>> e = buckets.lastEntry();
+        return e == null ? null : e.getValue().iterator().next();
+    }
+
+    /**
+     * All vehicles in key order (or reverse key order); ties stay in insertion order.
+     */
+    public List<Vehicle> toList(boolean descending) {
+        return page(0, size, descending);
+    }
+
+    /**
+     * Up to `limit` vehicles starting at position `offset` of the ordering.
+     */
+    public List<Vehicle> page(int offset, int limit, boolean descending) {
+        if (offset < 0 || limit < 0) throw new IllegalArgumentException("offset and limit must be >= 0");
+        List<Vehicle> out = new ArrayList<>(Math.min(limit, Math.max(0, size - offset)));
+        NavigableMap<K, Set<Vehicle>> view = descending ? buckets.descendingMap() : buckets;
+        int skip = offset;
+        for (Set<Vehicle> bucket : view.values()) {
+            if (out.size() >= limit) break;
+            if (skip >= bucket.size()) {
+                skip -= bucket.size();
+                continue;
+            }
+            for (Vehicle v : bucket) {
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                if (out.size() >= limit) break;
+                out.add(v);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Vehicles whose key lies in [from, to], in ascending key order.
+     */
+    public List<Vehicle> range(K from, K to) {
+        List<Vehicle> out = new ArrayList<>();
+        for (Set<Vehicle> bucket : buckets.subMap(from, true, to, true).values()) out.addAll(bucket);
+        return out;
+    }
+
+    /**
+     * Smallest / largest key present, or null if empty.
+     */
+    public K firstKey() {
+        return buckets.isEmpty() ? null : buckets.firstKey();
+    }
+
+    public K lastKey() {
+        return buckets.isEmpty() ? null : buckets.lastKey();
+    }
+
+    /**
+     * Distinct keys present, in order.
+     */
+    public List<K> keys() {
+        return new ArrayList<>(buckets.keySet());
+    }
+
+    /**
+     * Vehicles whose key equals `key`, in insertion order; read-only view.
+     */
+    public Set<Vehicle> bucket(K key) {
+        Set<Vehicle> bucket = buckets.get(key);
+        return bucket == null ? Collections.emptySet() : Collections.unmodifiableSet(bucket);
+    }
+
+    /**
+     * Visits the vehicles whose key lies in [from, to] in key order (or reverse
+     * key order) until `visit` returns false. Null bounds mean unbounded.
+     */
+    public void scan(K from, K to, boolean descending, Predicate<Vehicle> visit) {
+        NavigableMap<K, Set<Vehicle>> view = buckets;
+        if (from != null) view = view.tailMap(from, true);
+        if (to != null) view = view.headMap(to, true);
+        if (descending) view = view.descendingMap();
+        for (Set<Vehicle> bucket : view.values()) {
+            for (Vehicle v : bucket) {
+                if (!visit.test(v)) return;
+            }
+        }
+    }
+}
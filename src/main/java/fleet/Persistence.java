@@ -1,13 +1,21 @@
 package fleet;
 
-import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
+import logging.Log;
+import metrics.Counter;
+import metrics.Metrics;
+import metrics.Operation;
 import vehicles.Airplane;
 import vehicles.Bus;
 import vehicles.Car;
@@ -17,9 +25,31 @@ import vehicles.Vehicle;
 
 public class Persistence{
     private static final String FILE_NAME = "fleetdata.csv";
+    // loadFleet parses files at least this large in parallel
+    private static final long PARALLEL_LOAD_BYTES = 32L << 20;
+
+    // Save/load calls and latency, plus records and file bytes moved; see metrics.Metrics
+    private static final Operation SAVE = Metrics.operation("persistence.save");
+    private static final Counter SAVED_RECORDS = Metrics.counter("persistence.save.records");
+    private static final Counter SAVED_BYTES = Metrics.counter("persistence.save.bytes");
+    private static final Operation LOAD = Metrics.operation("persistence.load");
+    private static final Counter LOADED_RECORDS = Metrics.counter("persistence.load.records");
+    private static final Counter LOADED_BYTES = Metrics.counter("persistence.load.bytes");
+    private static final Counter BAD_LINES = Metrics.counter("persistence.load.badLines");
+    private static final Operation SNAPSHOT_SAVE = Metrics.operation("persistence.snapshot.save");
+    private static final Operation SNAPSHOT_LOAD = Metrics.operation("persistence.snapshot.load");
 
     public static void saveFleet(List<Vehicle> fleet){ //dont hv to create objects to access this method
-        try (PrintWriter writer = new PrintWriter(new FileWriter(FILE_NAME))) {
+        saveFleet(fleet, Path.of(FILE_NAME));
+    }
+
+    /**
+     * Save to `file` instead of the default fleetdata.csv.
+     */
+    public static void saveFleet(List<Vehicle> fleet, Path file) {
+        long started = SAVE.start();
+        int records = 0;
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file.toFile()))) {
             // Optional header for clarity (ignored by loader)
             writer.println("#type,id,model,maxSpeed,<type-specific-fields>... ");
         for (Vehicle v : fleet) {
@@ -53,97 +83,141 @@ public class Persistence{
                     continue;
                 }
             }
+            records++;
         }
-        System.out.println("Fleet saved to " + FILE_NAME);
+        Log.info("Fleet saved to " + file);
         }
         catch (IOException e){
-            System.out.println("Error saving fleet: " + e.getMessage());
+            Log.info("Error saving fleet: " + e.getMessage());
+            SAVE.end(started, false);
+            return;
         }
+        if (started != 0) {
+            SAVED_RECORDS.add(records);
+            SAVED_BYTES.add(file.toFile().length());
+        }
+        SAVE.end(started);
     }
 
     public static List<Vehicle> loadFleet() {
-    List<Vehicle> fleet = new ArrayList<>();
-    try (BufferedReader br = new BufferedReader(new FileReader(FILE_NAME))) {
-        String line;
-        int lineNo = 0;
-        while ((line = br.readLine()) != null) {
-            lineNo++;
-            line = line.trim();
-            if (line.isEmpty() || line.startsWith("#")) continue; // skip header/comments
-            String[] parts = line.split(",");
-            String type = parts[0]; // vehicle type
+        return loadFleet(Path.of(FILE_NAME));
+    }
+
+    /**
+     * Load from `file` instead of the default fleetdata.csv. Files of
+     * PARALLEL_LOAD_BYTES or more are parsed in parallel on the common pool
+     * (see loadFleetParallel) when it has more than one thread.
+     */
+    public static List<Vehicle> loadFleet(Path file) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        boolean parallel = pool.getParallelism() > 1 && file.toFile().length() >= PARALLEL_LOAD_BYTES;
+        return load(file, parallel ? pool : null);
+    }
+
+    /**
+     * Load from `file` by memory-mapping it and parsing newline-aligned
+     * chunks in parallel on `pool`. Vehicles come back in file order, and bad
+     * lines are logged in order with their line numbers in the whole file,
+     * the same as loadFleet.
+     */
+    public static List<Vehicle> loadFleetParallel(Path file, ForkJoinPool pool) {
+        return load(file, Objects.requireNonNull(pool));
+    }
+
+    // Sequential single-pass load when `pool` is null, chunked parallel load otherwise
+    private static List<Vehicle> load(Path file, ForkJoinPool pool) {
+        long started = LOAD.start();
+        boolean ok = true;
+        List<Vehicle> fleet = new ArrayList<>();
+        int badLines = 0;
+        if (pool == null) {
+            // Single pass over a reusable buffer; see FleetCsvParser
+            FleetCsvParser parser = new FleetCsvParser();
+            try (Reader in = new FileReader(file.toFile())) {
+                parser.readAll(in, fleet);
+            } catch (IOException e) {
+                Log.info("Error loading fleet: " + e.getMessage());
+                ok = false;
+            }
+            badLines = parser.badLines();
+        } else {
             try {
-                switch (type) {
-                    case "Car" -> {
-                        if (parts.length < 8) throw new IllegalArgumentException("Not enough fields for Car");
-                        Car c = new Car(parts[1], parts[2],
-                                Double.parseDouble(parts[3]),   // maxSpeed
-                                Integer.parseInt(parts[4]));    // numWheels
-                        if (Double.parseDouble(parts[5]) > 0.0) c.refuel(Double.parseDouble(parts[5])); // fuelLevel
-                        c.addMileage(Double.parseDouble(parts[6])); // currentMileage
-                        if (Boolean.parseBoolean(parts[7])) c.scheduleMaintenance(); // needsMaintenance
-                        fleet.add(c);
-                    }
-                    case "Truck" -> {
-                        if (parts.length < 9) throw new IllegalArgumentException("Not enough fields for Truck");
-                        Truck t = new Truck(parts[1], parts[2],
-                                Double.parseDouble(parts[3]),   // maxSpeed
-                                Integer.parseInt(parts[4]));    // numWheels
-                        if (Double.parseDouble(parts[5]) > 0.0) t.refuel(Double.parseDouble(parts[5])); // fuelLevel
-                        t.loadCargo(Double.parseDouble(parts[6])); // currentCargo
-                        t.addMileage(Double.parseDouble(parts[7])); // currentMileage
-                        if (Boolean.parseBoolean(parts[8])) t.scheduleMaintenance(); // needsMaintenance
-                        fleet.add(t);
-                    }
-                    case "Bus" -> {
-                        if (parts.length < 10) throw new IllegalArgumentException("Not enough fields for Bus");
-                        Bus b = new Bus(parts[1], parts[2],
-                                Double.parseDouble(parts[3]),   // maxSpeed
-                                Integer.parseInt(parts[4]));    // numWheels
-                        if (Double.parseDouble(parts[5]) > 0.0) b.refuel(Double.parseDouble(parts[5])); // fuelLevel
-                        b.boardPassengers(Integer.parseInt(parts[7])); //currentPassengers
-                        b.addMileage(Double.parseDouble(parts[8])); // currentMileage
-                        if (Boolean.parseBoolean(parts[9])) b.scheduleMaintenance(); // needsMaintenance
-                        fleet.add(b);
-                    }
-                    case "Airplane" -> {
-                        if (parts.length < 11) throw new IllegalArgumentException("Not enough fields for Airplane");
-                        Airplane a = new Airplane(parts[1], parts[2],
-                                Double.parseDouble(parts[3]),   // maxSpeed
-                                Double.parseDouble(parts[4]));  // maxAltitude
-                        if (Double.parseDouble(parts[5]) > 0.0) a.refuel(Double.parseDouble(parts[5])); // fuelLevel 
-                        a.boardPassengers(Integer.parseInt(parts[7])); // currentPassengers
-                        a.loadCargo(Double.parseDouble(parts[8])); // currentCargo
-                        a.addMileage(Double.parseDouble(parts[9])); // currentMileage
-                        if (Boolean.parseBoolean(parts[10])) a.scheduleMaintenance(); // needsMaintenance
-                        fleet.add(a);
-                    }
-                    case "CargoShip" -> {
-                        if (parts.length < 9) throw new IllegalArgumentException("Not enough fields for CargoShip");
-                        CargoShip s = new CargoShip(parts[1], parts[2],
-                                Double.parseDouble(parts[3]),   // maxSpeed
-                                Boolean.parseBoolean(parts[4])); // hasSail
-                        if (!s.hasSail()) {
-                            if (Double.parseDouble(parts[5]) > 0.0) s.refuel(Double.parseDouble(parts[5])); // fuelLevel (only if no sail)
-                        }
-                        s.loadCargo(Double.parseDouble(parts[6])); // currentCargo
-                        s.addMileage(Double.parseDouble(parts[7])); // currentMileage
-                        if (Boolean.parseBoolean(parts[8])) s.scheduleMaintenance(); // needsMaintenance
-                        fleet.add(s);
-                    }
-                    default -> System.out.println("Unknown type: " + type + " at line " + lineNo);
-                }
-            } catch (Exception e) {
-                System.out.println("Error restoring vehicle from line " + lineNo + ": " + e.getMessage());
+                // FileReader decodes with the default charset, so the chunks do too
+                badLines = CsvChunkLoader.load(file, Charset.defaultCharset(), pool, fleet);
+            } catch (IOException e) {
+                Log.info("Error loading fleet: " + e.getMessage());
+                ok = false;
             }
         }
-    } catch (IOException e) {
-        System.out.println("Error loading fleet: " + e.getMessage());
+        BAD_LINES.add(badLines);
+        if (started != 0) {
+            LOADED_RECORDS.add(fleet.size());
+            LOADED_BYTES.add(file.toFile().length());
+        }
+        LOAD.end(started, ok);
+        return fleet;
     }
-    return fleet;
-}
-
 
+    /**
+     * Save to `file` in the binary snapshot format (see FleetSnapshotFile):
+     * smaller and faster than the CSV, and every double is kept exactly.
+     * saveFleet remains the way to export CSV.
+     */
+    public static void saveSnapshot(List<Vehicle> fleet, Path file) {
+        long started = SNAPSHOT_SAVE.start();
+        int records;
+        try {
+            records = FleetSnapshotFile.write(fleet, file);
+            Log.info("Fleet snapshot saved to " + file);
+        } catch (IOException e) {
+            Log.info("Error saving fleet snapshot: " + e.getMessage());
+            SNAPSHOT_SAVE.end(started, false);
+            return;
+        }
+        if (started != 0) {
+            SAVED_RECORDS.add(records);
+            SAVED_BYTES.add(file.toFile().length());
+        }
+        SNAPSHOT_SAVE.end(started);
+    }
 
+    /**
+     * Load every vehicle of a snapshot written by saveSnapshot. Records that
+     * cannot be restored are logged and skipped, like bad CSV lines.
+     */
+    public static List<Vehicle> loadSnapshot(Path file) {
+        long started = SNAPSHOT_LOAD.start();
+        List<Vehicle> fleet = new ArrayList<>();
+        int badRecords = 0;
+        try (FleetSnapshotFile snapshot = FleetSnapshotFile.open(file)) {
+            for (int i = 0; i < snapshot.size(); i++) {
+                try {
+                    fleet.add(snapshot.get(i));
+                } catch (IllegalStateException e) {
+                    badRecords++;
+                    Log.info("Skipping record " + i + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            Log.info("Error loading fleet snapshot: " + e.getMessage());
+            SNAPSHOT_LOAD.end(started, false);
+            return fleet;
+        }
+        BAD_LINES.add(badRecords);
+        if (started != 0) {
+            LOADED_RECORDS.add(fleet.size());
+            LOADED_BYTES.add(file.toFile().length());
+        }
+        SNAPSHOT_LOAD.end(started);
+        return fleet;
+    }
 
+    /**
+     * Map a snapshot for lazy access: opening costs the same for any fleet
+     * size, and fields are read from the file only when asked for. Close it
+     * when done.
+     */
+    public static FleetSnapshotFile openSnapshot(Path file) throws IOException {
+        return FleetSnapshotFile.open(file);
+    }
 }
@@ -0,0 +1,148 @@
+package fleet;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+
+import metrics.Counter;
+import metrics.Metrics;
+import vehicles.Vehicle;
+
+/**
+ * Memoized results of FleetManager's derived views (report, sorted lists,
+ * maintenance due), bounded to the most recently used `capacity` entries.
+ *
+ * Each result records the aspects of the fleet it was computed from, and it
+ * is served until one of those aspects changes. Each aspect has its own
+ * version. So a refuel, which changes none of them, leaves every entry valid,
+ * and a journey only invalidates results that depend on mileage.
+ *
+ * As a FleetIndex the cache sees every membership change. FleetManager
+ * reports mileage and maintenance changes from its vehicle listener, which
+ * may run on any thread. Such a change only raises a dirty flag. The version
+ * is bumped on the next lookup, so the per-vehicle cost is a volatile read.
+ */
+class ResultCache implements FleetIndex {
+    /** What a cached result can depend on. */
+    enum Aspect {
+        MEMBERSHIP,     // vehicles added or removed, fleet reloaded or reordered
+        MILEAGE,
+        MAINTENANCE
+    }
+
+    /** Cache key: a view, plus the page for paged views (offset 0, limit -1 otherwise). */
+    record Key(String view, int offset, int limit) {
+        static Key of(String view) {
+            return new Key(view, 0, -1);
+        }
+    }
+
+    private record Entry(Object value, long stamp) {}
+
+    private static final Counter HITS = Metrics.counter("fleet.cache.hits");
+    private static final Counter MISSES = Metrics.counter("fleet.cache.misses");
+
+    private static final int ASPECTS = Aspect.values().length;
+
+    // 1 when the aspect changed since its version was last read
+    private final AtomicIntegerArray dirty = new AtomicIntegerArray(ASPECTS);
+    // Guarded by this, like the entries
+    private final long[] versions = new long[ASPECTS];
+    private final Map<Key, Entry> entries;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    ResultCache(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be >= 1");
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= capacity) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * The cached result for `key`, or the result of `compute` (cached for
+     * next time) if there is none or an aspect in `dependsOn` changed since
+     * it was computed. The result is shared between callers, so it must not
+     * be modified.
+     */
+    @SuppressWarnings("unchecked")
+    synchronized <T> T get(Key key, Set<Aspect> dependsOn, Supplier<T> compute) {
+        long stamp = stamp(dependsOn);
+        Entry e = entries.get(key);
+        if (e != null && e.stamp() == stamp) {
+            hits++;
+            HITS.increment();
+            return (T) e.value();
+        }
+        misses++;
+        MISSES.increment();
+        T value = compute.get();
+        entries.put(key, new Entry(value, stamp));
+        return value;
+    }
+
+    /** Record a change to `aspect`. Safe to call from any thread. */
+    void changed(Aspect aspect) {
+        int i = aspect.ordinal();
+        if (dirty.get(i) == 0) dirty.set(i, 1);
+    }
+
+    // Versions only ever grow, so their sum changes whenever one of them does
+    private long stamp(Set<Aspect> dependsOn) {
+        long stamp = 0;
+        for (Aspect a : dependsOn) {
+            int i = a.ordinal();
+            if (dirty.get(i) != 0) {
+                // Clear first: a change racing with this lookup sets the flag again
+                dirty.set(i, 0);
+                versions[i]++;
+            }
+            stamp += versions[i];
+        }
+        return stamp;
+    }
+
+    synchronized long hits() {
+        return hits;
+    }
+
+    synchronized long misses() {
+        return misses;
+    }
+
+    synchronized long evictions() {
+        return evictions;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /** Drop every entry. The hit and miss counts are kept. */
+    synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    @Override
+    public void add(Vehicle v) {
+        changed(Aspect.MEMBERSHIP);
+    }
+
+    @Override
+    public void remove(Vehicle v) {
+        changed(Aspect.MEMBERSHIP);
+    }
+
+    @Override
+    public void clear() {
+        changed(Aspect.MEMBERSHIP);
+    }
+}
@@ -6,9 +6,13 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.ReentrantLock;
 
-import exceptions.InsufficientFuelException;
 import exceptions.InvalidOperationException;
 import interfaces.FuelConsumable;
+import interfaces.Outcome;
+import metrics.Counter;
+import metrics.Histogram;
+import metrics.Metrics;
+import metrics.Operation;
 import vehicles.Bus;
 import vehicles.Car;
 import vehicles.Truck;
@@ -24,6 +28,14 @@ public class Simulation implements Runnable {
     private static final Object highwayLock = new Object();
     private static final ReentrantLock highwayReLock = new ReentrantLock();
 
+    // Per-vehicle tick latency (work only, not the 1 s sleep; out-of-fuel ticks
+    // count as failures), time spent waiting while paused, and highway counter
+    // updates with the time taken to get its lock; see metrics.Metrics
+    private static final Operation TICK = Metrics.operation("sim.tick");
+    private static final Histogram PAUSE_WAIT = Metrics.histogram("sim.pauseWait");
+    private static final Counter HIGHWAY_UPDATES = Metrics.counter("sim.highway.updates");
+    private static final Histogram HIGHWAY_LOCK_WAIT = Metrics.histogram("sim.highway.lockWait");
+
     // Use thread-safe collections to make iteration from the GUI safe
     // while lifecycle operations (start/stop/reset) modify the lists.
     private final List<Thread> threads = new CopyOnWriteArrayList<>();
@@ -207,6 +219,25 @@ public class Simulation implements Runnable {
         }
     }
 
+    /**
+     * Advance every vehicle that is not paused by one tick on the calling
+     * thread, without the per-vehicle threads or their 1 s sleep, and return
+     * how many moved. Meant for benchmarks and tests of a prepared simulation;
+     * don't mix it with a running one.
+     */
+    public int step() {
+        int moved = 0;
+        for (VehicleTask t : tasks) {
+            if (!t.isPaused() && t.tick()) moved++;
+        }
+        return moved;
+    }
+
+    // choose between the unsynchronised and synchronised highway counter without starting threads
+    public void setSynchronizedIncrement(boolean useSync) {
+        useSynchronizedIncrement = useSync;
+    }
+
     public int getHighwayDistance() {
         return highwayDistance;
     }
@@ -253,13 +284,16 @@ public class Simulation implements Runnable {
     // synchronized increment using synchronized block
     private void incrementHighwayDistanceSyncBlock(int delta) {
         // synchronized increment using a monitor lock to make update atomic
+        long waitStart = Metrics.isEnabled() ? System.nanoTime() : 0L;
         synchronized (highwayLock) { // lock on shared object
+            if (waitStart != 0) HIGHWAY_LOCK_WAIT.record(System.nanoTime() - waitStart);
             highwayDistance += delta;
         }
     }
 
     // choose increment method based on configuration
     private void incrementHighwayDistance(int delta) {
+        HIGHWAY_UPDATES.increment();
         if (!useSynchronizedIncrement) {
             incrementHighwayDistanceUnsync(delta);
         } else {
@@ -310,24 +344,58 @@ public class Simulation implements Runnable {
 
         public void refuel(double amount) {
             if (vehicle instanceof FuelConsumable) {
-                try {
-                    ((FuelConsumable) vehicle).refuel(amount);
-                    // Do NOT change pause/resume state here -- refuelling must not alter
-                    // whether the simulation or this vehicle is paused or running.
-                    // Do not modify the `status` string here to avoid overwriting
-                    // an explicit paused/out-of-fuel state; GUI will pick up the
-                    // updated fuel level from the vehicle object when refreshed.
-                } catch (InvalidOperationException e) {
-                    System.err.println("Refuel failed: " + e.getMessage());
+                // Do NOT change pause/resume state here -- refuelling must not alter
+                // whether the simulation or this vehicle is paused or running.
+                // Do not modify the `status` string here to avoid overwriting
+                // an explicit paused/out-of-fuel state; GUI will pick up the
+                // updated fuel level from the vehicle object when refreshed.
+                if (((FuelConsumable) vehicle).tryRefuel(amount) != Outcome.OK) {
+                    System.err.println("Refuel failed for " + vehicle.getID() + ": invalid amount " + amount);
                 }
             }
         }
 
+        public boolean isPaused() {
+            return paused;
+        }
+
+        // One simulated second: burn fuel for 1 km if the vehicle uses fuel, add
+        // the km and bump the highway counter. A vehicle that has run dry pauses
+        // itself until refuelled; returns false in that case.
+        boolean tick() {
+            long tick = TICK.start();
+            boolean moved = true;
+            // If vehicle consumes fuel
+            if (vehicle instanceof FuelConsumable) {
+                // non-throwing variant: running dry is an expected state here
+                if (((FuelConsumable) vehicle).tryConsumeFuel(1.0) == Outcome.OK) {
+                    vehicle.addMileage(1.0);
+                    incrementHighwayDistance(1);
+                    status = String.format("Running (mileage=%.1f, fuel=%.1f)", vehicle.getCurrentMileage(), ((FuelConsumable) vehicle).getFuelLevel());
+                } else {
+                    moved = false;
+                    status = "OutOfFuel";
+                    // wait until refuel called
+                    synchronized (pauseLock) {
+                        paused = true;
+                    }
+                }
+            } else {
+                // non fuel consumable: just add mileage
+                vehicle.addMileage(1.0);
+                incrementHighwayDistance(1);
+                status = String.format("Running (mileage=%.1f)", vehicle.getCurrentMileage());
+            }
+            TICK.end(tick, moved);
+            return moved;
+        }
+
         @Override
         public void run() {
             while (taskRunning) {
                 // pause handling
                 synchronized (pauseLock) {
+                    long waitStart = paused && Metrics.isEnabled() ? System.nanoTime() : 0L;
                     while (paused) {
                         try {
                             pauseLock.wait();
@@ -336,31 +404,12 @@ public class Simulation implements Runnable {
                             return;
                         }
                     }
+                    if (waitStart != 0) PAUSE_WAIT.record(System.nanoTime() - waitStart);
                 }
 
                 // simulate 1 km per second
+                tick();
                 try {
-                    // If vehicle consumes fuel
-                    if (vehicle instanceof FuelConsumable) {
-                        try {
-                            ((FuelConsumable) vehicle).consumeFuel(1.0);
-                            vehicle.addMileage(1.0);
-                            incrementHighwayDistance(1);
-                            status = String.format("Running (mileage=%.1f, fuel=%.1f)", vehicle.getCurrentMileage(), ((FuelConsumable) vehicle).getFuelLevel());
-                        } catch (InsufficientFuelException | InvalidOperationException e) {
-                            status = "OutOfFuel";
-                            // wait until refuel called
-                            synchronized (pauseLock) {
-                                paused = true;
-                            }
-                        }
-                    } else {
-                        // non fuel consumable: just add mileage
-                        vehicle.addMileage(1.0);
-                        incrementHighwayDistance(1);
-                        status = String.format("Running (mileage=%.1f)", vehicle.getCurrentMileage());
-                    }
-
                     Thread.sleep(1000);
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
@@ -0,0 +1,146 @@
+package fleet;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToDoubleFunction;
+
+import vehicles.Vehicle;
+
+/**
+ * Bounded top-k selection over vehicles by a numeric metric: O(n log k) time
+ * and O(k) memory instead of sorting the whole fleet. select() reads the
+ * vehicles straight from the collection it is given and only allocates for
+ * vehicles that make it into the heap. selectParallel() needs an array to
+ * split, plus a heap per slice. Ties go to the vehicle that comes first and
+ * NaN values are skipped, so both versions return the same list.
+ */
+final class TopK {
+    private TopK() { }
+
+    private record Entry(Vehicle vehicle, double key, int position) { }
+
+    /** The k best entries seen so far, worst of them at the head of the queue. */
+    private static final class Heap {
+        private final int k;
+        private final boolean highest;
+        private final Comparator<Entry> better;
+        private final PriorityQueue<Entry> queue;
+
+        Heap(int k, boolean highest) {
+            Comparator<Entry> byKey = Comparator.comparingDouble(Entry::key);
+            this.k = k;
+            this.highest = highest;
+            this.better = (highest ? byKey.reversed() : byKey).thenComparingInt(Entry::position);
+            this.queue = new PriorityQueue<>(Math.max(1, Math.min(k, 1024)), better.reversed());
+        }
+
+        void offer(Vehicle v, double key, int position) {
+            if (queue.size() < k) {
+                queue.add(new Entry(v, key, position));
+            } else if (beatsWorst(key, position)) {
+                queue.poll();
+                queue.add(new Entry(v, key, position));
+            }
+        }
+
+        Heap merge(Heap other) {
+            for (Entry e : other.queue) {
+                if (queue.size() < k) {
+                    queue.add(e);
+                } else if (beatsWorst(e.key(), e.position())) {
+                    queue.poll();
+                    queue.add(e);
+                }
+            }
+            return this;
+        }
+
+        // Whether a candidate ranks above the worst entry kept; same order as `better`
+        private boolean beatsWorst(double key, int position) {
+            Entry worst = queue.peek();
+            int c = highest ? Double.compare(worst.key(), key) : Double.compare(key, worst.key());
+            return c < 0 || (c == 0 && position < worst.position());
+        }
+
+        List<Vehicle> toList() {
+            List<Entry> entries = new ArrayList<>(queue);
+            entries.sort(better);
+            List<Vehicle> out = new ArrayList<>(entries.size());
+            for (Entry e : entries) out.add(e.vehicle());
+            return out;
+        }
+    }
+
+    static List<Vehicle> select(Iterable<Vehicle> vehicles, int k, ToDoubleFunction<? super Vehicle> metric, boolean highest) {
+        checkK(k);
+        if (k == 0) return new ArrayList<>();
+        Heap heap = new Heap(k, highest);
+        int position = 0;
+        for (Vehicle v : vehicles) {
+            double key = metric.applyAsDouble(v);
+            if (!Double.isNaN(key)) heap.offer(v, key, position);
+            position++;
+        }
+        return heap.toList();
+    }
+
+    /**
+     * Same result as select(); slices of `leafSize` vehicles each fill their
+     * own heap on the common ForkJoinPool and the heaps are merged pairwise.
+     */
+    static List<Vehicle> selectParallel(Vehicle[] vehicles, int k, ToDoubleFunction<? super Vehicle> metric,
+                                        boolean highest, int leafSize) {
+        checkK(k);
+        if (k == 0) return new ArrayList<>();
+        return ForkJoinPool.commonPool()
+                           .invoke(new Task(vehicles, 0, vehicles.length, k, metric, highest, leafSize))
+                           .toList();
+    }
+
+    private static Heap scan(Vehicle[] vehicles, int from, int to, int k,
+                             ToDoubleFunction<? super Vehicle> metric, boolean highest) {
+        Heap heap = new Heap(k, highest);
+        for (int i = from; i < to; i++) {
+            double key = metric.applyAsDouble(vehicles[i]);
+            if (!Double.isNaN(key)) heap.offer(vehicles[i], key, i);
+        }
+        return heap;
+    }
+
+    private static void checkK(int k) {
+        if (k < 0) throw new IllegalArgumentException("k must be >= 0");
+    }
+
+    private static final class Task extends RecursiveTask<Heap> {
+        private final Vehicle[] vehicles;
+        private final int from, to, k, leafSize;
+        private final ToDoubleFunction<? super Vehicle> metric;
+        private final boolean highest;
+
+        Task(Vehicle[] vehicles, int from, int to, int k, ToDoubleFunction<? super Vehicle> metric,
+             boolean highest, int leafSize) {
+            this.vehicles = vehicles;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+            this.metric = metric;
+            this.highest = highest;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected Heap compute() {
+            if (to - from <= leafSize) return scan(vehicles, from, to, k, metric, highest);
+            int mid = (from + to) >>> 1;
+            Task left = new Task(vehicles, from, mid, k, metric, highest, leafSize);
+            Task right = new Task(vehicles, mid, to, k, metric, highest, leafSize);
+            left.fork();
+            Heap r = right.compute();
+            return left.join().merge(r);
+        }
+    }
+}
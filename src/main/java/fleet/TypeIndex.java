@@ -0,0 +1,71 @@
+package fleet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import vehicles.Vehicle;
+
+/**
+ * Partitions the fleet by every class and interface a vehicle is an instance of,
+ * so capability checks (FuelConsumable, CargoCarrier, ...) and type searches
+ * become a map lookup instead of an instanceof pass over the whole fleet.
+ * Each partition keeps insertion order, which matches fleet order.
+ */
+class TypeIndex implements FleetIndex {
+    private final Map<Class<?>, Set<Vehicle>> partitions = new HashMap<>();
+    // Type hierarchy per concrete class, computed once per class
+    private final Map<Class<?>, List<Class<?>>> hierarchy = new HashMap<>();
+
+    @Override
+    public void add(Vehicle v) {
+        for (Class<?> t : typesOf(v.getClass())) {
+            partitions.computeIfAbsent(t, k -> new LinkedHashSet<>()).add(v);
+        }
+    }
+
+    @Override
+    public void remove(Vehicle v) {
+        for (Class<?> t : typesOf(v.getClass())) {
+            Set<Vehicle> members = partitions.get(t);
+            if (members != null) members.remove(v);
+        }
+    }
+
+    @Override
+    public void clear() {
+        partitions.clear();
+    }
+
+    /**
+     * Read-only view of the vehicles that are instances of the given type.
+     */
+    public Set<Vehicle> members(Class<?> type) {
+        Set<Vehicle> members = partitions.get(type);
+        return members == null ? Collections.emptySet() : Collections.unmodifiableSet(members);
+    }
+
+    private List<Class<?>> typesOf(Class<?> cls) {
+        List<Class<?>> types = hierarchy.get(cls);
+        if (types == null) {
+            Set<Class<?>> seen = new LinkedHashSet<>();
+            for (Class<?> c = cls; c != null; c = c.getSuperclass()) {
+                seen.add(c);
+                addInterfaces(c, seen);
+            }
+            types = new ArrayList<>(seen);
+            hierarchy.put(cls, types);
+        }
+        return types;
+    }
+
+    private static void addInterfaces(Class<?> c, Set<Class<?>> seen) {
+        for (Class<?> i : c.getInterfaces()) {
+            if (seen.add(i)) addInterfaces(i, seen);
+        }
+    }
+}
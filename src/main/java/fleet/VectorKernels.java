@@ -0,0 +1,53 @@
+package fleet;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Vector API loops behind FleetEstimator. Only loaded once FleetEstimator has
+// checked that jdk.incubator.vector is present; each loop finishes the tail
+// that doesn't fill a whole vector with the matching scalar code.
+final class VectorKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorKernels() { }
+
+    static void fuel(double distance, double[] eff, double[] out) {
+        DoubleVector d = DoubleVector.broadcast(SPECIES, distance);
+        DoubleVector zero = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(eff.length); i < bound; i += SPECIES.length()) {
+            DoubleVector e = DoubleVector.fromArray(SPECIES, eff, i);
+            VectorMask<Double> burns = e.compare(VectorOperators.GT, 0.0);
+            zero.blend(d.div(e), burns).intoArray(out, i);
+        }
+        for (; i < eff.length; i++) out[i] = eff[i] > 0 ? distance / eff[i] : 0.0;
+    }
+
+    static void time(double distance, double[] speed, double[] factor, double[] out) {
+        DoubleVector d = DoubleVector.broadcast(SPECIES, distance);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(speed.length); i < bound; i += SPECIES.length()) {
+            DoubleVector s = DoubleVector.fromArray(SPECIES, speed, i);
+            DoubleVector f = DoubleVector.fromArray(SPECIES, factor, i);
+            d.div(s).mul(f).intoArray(out, i);
+        }
+        for (; i < speed.length; i++) out[i] = distance / speed[i] * factor[i];
+    }
+
+    static double totalFuel(double distance, double[] eff) {
+        DoubleVector d = DoubleVector.broadcast(SPECIES, distance);
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(eff.length); i < bound; i += SPECIES.length()) {
+            DoubleVector e = DoubleVector.fromArray(SPECIES, eff, i);
+            acc = acc.add(d.div(e), e.compare(VectorOperators.GT, 0.0));
+        }
+        double total = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < eff.length; i++) {
+            if (eff[i] > 0) total += distance / eff[i];
+        }
+        return total;
+    }
+}
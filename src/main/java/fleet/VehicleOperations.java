@@ -0,0 +1,129 @@
+package fleet;
+
+import exceptions.InvalidOperationException;
+import exceptions.OverloadException;
+import interfaces.CargoCarrier;
+import interfaces.FuelConsumable;
+import interfaces.Outcome;
+import interfaces.PassengerCarrier;
+import logging.Log;
+import vehicles.Vehicle;
+
+/**
+ * The single-vehicle operations behind FleetManager and ConcurrentFleetManager,
+ * so both return the same results and log the same lines. Each takes the
+ * vehicle looked up for `id`, or null if there is none; locking and timing are
+ * left to the caller.
+ */
+final class VehicleOperations {
+    private VehicleOperations() {}
+
+    static OperationResult move(Vehicle v, String id, double distance) {
+        if (v == null) return notFound(id, "Vehicle with ID " + id + " not found.");
+        Outcome o;
+        try {
+            // Same non-throwing path and outcome codes as the bulk journeys
+            o = v.tryMove(distance);
+        } catch (RuntimeException e) {
+            return failed(Outcome.ERROR, id, "Error occured while moving ", e);
+        }
+        return switch (o) {
+            case OK -> {
+                if (Log.isEnabled()) Log.printf("Vehicle %s moved %.2f km.", id, distance);
+                yield OperationResult.ok(id);
+            }
+            case INSUFFICIENT_FUEL -> failed(o, id, "Insufficient fuel in ", "not enough fuel for the journey");
+            case MAINTENANCE_REQUIRED -> failed(o, id, "Invalid operation in ", "requires maintenance and cannot move");
+            case INVALID_OPERATION -> failed(o, id, "Invalid operation in ", "distance cannot be negative");
+            default -> failed(o, id, "Error occured while moving ", o.name());
+        };
+    }
+
+    static OperationResult refuel(Vehicle v, String id, double amount) {
+        if (!(v instanceof FuelConsumable f)) {
+            return missing(v, id, "Vehicle with ID " + id + " not found or is not fuel consumable.");
+        }
+        try {
+            f.refuel(amount);
+            if (Log.isEnabled()) Log.info("Refueled " + id + " with " + amount + " liters.");
+            return OperationResult.ok(id);
+        } catch (InvalidOperationException e) {
+            return failed(Outcome.INVALID_OPERATION, id, "Refuel failed for ", e);
+        }
+    }
+
+    static OperationResult loadCargo(Vehicle v, String id, double weight) {
+        if (!(v instanceof CargoCarrier c)) {
+            return missing(v, id, "Vehicle with ID " + id + " not found or not of cargocarrier type.");
+        }
+        try {
+            c.loadCargo(weight);
+            if (Log.isEnabled()) Log.info("Loaded " + weight + " kg into " + id);
+            return OperationResult.ok(id);
+        } catch (InvalidOperationException e) {
+            return failed(Outcome.INVALID_OPERATION, id, "Load cargo failed for ", e);
+        } catch (OverloadException e) {
+            return failed(Outcome.OVERLOAD, id, "Overload error for ", e);
+        }
+    }
+
+    static OperationResult unloadCargo(Vehicle v, String id, double weight) {
+        if (!(v instanceof CargoCarrier c)) {
+            return missing(v, id, "Vehicle with ID " + id + " not found or not of cargocarrier type.");
+        }
+        try {
+            c.unloadCargo(weight);
+            if (Log.isEnabled()) Log.info("Unloaded " + weight + " kg from " + id);
+            return OperationResult.ok(id);
+        } catch (InvalidOperationException e) {
+            return failed(Outcome.INVALID_OPERATION, id, "Unload cargo failed for ", e);
+        }
+    }
+
+    static OperationResult addPassengers(Vehicle v, String id, int count) {
+        if (!(v instanceof PassengerCarrier p)) {
+            return missing(v, id, "Vehicle with ID " + id + " not found or not of PassengerCarrier type.");
+        }
+        try {
+            p.boardPassengers(count);
+            if (Log.isEnabled()) Log.info("Boarded " + count + " passengers into " + id);
+            return OperationResult.ok(id);
+        } catch (OverloadException e) {
+            return failed(Outcome.OVERLOAD, id, "Overload error for ", e);
+        }
+    }
+
+    static OperationResult removePassengers(Vehicle v, String id, int count) {
+        if (!(v instanceof PassengerCarrier p)) {
+            return missing(v, id, "Vehicle with ID " + id + " not found or not of PassengerCarrier type.");
+        }
+        try {
+            p.disembarkPassengers(count);
+            if (Log.isEnabled()) Log.info("Disembarked " + count + " passengers from " + id);
+            return OperationResult.ok(id);
+        } catch (InvalidOperationException e) {
+            return failed(Outcome.INVALID_OPERATION, id, "Disembark failed for ", e);
+        }
+    }
+
+    // Failure results; the log line keeps the wording of the old console output
+    private static OperationResult notFound(String id, String logMessage) {
+        Log.info(logMessage);
+        return OperationResult.failed(Outcome.NOT_FOUND, id, "Vehicle not found");
+    }
+
+    private static OperationResult missing(Vehicle v, String id, String logMessage) {
+        if (v == null) return notFound(id, logMessage);
+        Log.info(logMessage);
+        return OperationResult.failed(Outcome.UNSUPPORTED, id, "Operation not supported by " + v.getClass().getSimpleName());
+    }
+
+    private static OperationResult failed(Outcome outcome, String id, String logPrefix, Exception e) {
+        return failed(outcome, id, logPrefix, e.getMessage());
+    }
+
+    private static OperationResult failed(Outcome outcome, String id, String logPrefix, String message) {
+        if (Log.isEnabled()) Log.info(logPrefix + id + ": " + message);
+        return OperationResult.failed(outcome, id, message);
+    }
+}
@@ -0,0 +1,157 @@
+package fleet;
+
+import exceptions.InvalidOperationException;
+import interfaces.CargoCarrier;
+import interfaces.FuelConsumable;
+import interfaces.Maintainable;
+import interfaces.PassengerCarrier;
+import vehicles.Airplane;
+import vehicles.Bus;
+import vehicles.Car;
+import vehicles.CargoShip;
+import vehicles.Truck;
+import vehicles.Vehicle;
+
+/**
+ * The five concrete vehicle classes as data: the per-type constants that the
+ * vehicle classes hard-code, for stores and estimators that keep vehicle state
+ * in arrays instead of objects. `param` is the type-specific constructor
+ * argument: number of wheels, max altitude, or 1/0 for a ship's sail.
+ */
+public enum VehicleType {
+    CAR("Car", 15.0, 0.0, 5, 1.1),
+    TRUCK("Truck", 8.0, 5000.0, 0, 1.1),
+    BUS("Bus", 10.0, 500.0, 50, 1.1),
+    AIRPLANE("Airplane", 5.0, 10000.0, 200, 0.95),
+    CARGO_SHIP("CargoShip", 4.0, 50000.0, 0, 1.15);
+
+    // Maintenance is due once this many km were driven since the last service
+    public static final double MAINTENANCE_INTERVAL = 10000;
+
+    private static final VehicleType[] VALUES = values();
+
+    private final String label;
+    private final double efficiency;
+    private final double cargoCapacity;
+    private final int passengerCapacity;
+    private final double journeyFactor;
+
+    VehicleType(String label, double efficiency, double cargoCapacity, int passengerCapacity, double journeyFactor) {
+        this.label = label;
+        this.efficiency = efficiency;
+        this.cargoCapacity = cargoCapacity;
+        this.passengerCapacity = passengerCapacity;
+        this.journeyFactor = journeyFactor;
+    }
+
+    /** Simple class name, as used in reports and the CSV file. */
+    public String label() { return label; }
+
+    /** km per litre; a sail-powered ship overrides this with 0. */
+    public double efficiency() { return efficiency; }
+
+    public double cargoCapacity() { return cargoCapacity; }
+
+    public int passengerCapacity() { return passengerCapacity; }
+
+    /** Multiplier applied to distance / maxSpeed by estimateJourneyTime. */
+    public double journeyFactor() { return journeyFactor; }
+
+    /**
+     * km per litre for a vehicle of this type with the given base efficiency
+     * and cargo load: a truck loaded beyond half its capacity does 10% worse.
+     */
+    public double efficiencyWithLoad(double efficiency, double cargo) {
+        return this == TRUCK && cargo > cargoCapacity * 0.5 ? efficiency * 0.9 : efficiency;
+    }
+
+    public int code() { return ordinal(); }
+
+    public static VehicleType fromCode(int code) { return VALUES[code]; }
+
+    public static VehicleType of(Vehicle v) {
+        return switch (v) {
+            case Car c -> CAR;
+            case Truck t -> TRUCK;
+            case Bus b -> BUS;
+            case Airplane a -> AIRPLANE;
+            case CargoShip s -> CARGO_SHIP;
+            default -> throw new IllegalArgumentException("Unsupported vehicle type: " + v.getClass().getName());
+        };
+    }
+
+    /** The type-specific constructor argument of `v` (see class comment). */
+    public static double paramOf(Vehicle v) {
+        return switch (v) {
+            case Car c -> c.getNumWheels();
+            case Truck t -> t.getNumWheels();
+            case Bus b -> b.getNumWheels();
+            case Airplane a -> a.getMaxAltitude();
+            case CargoShip s -> s.hasSail() ? 1 : 0;
+            default -> throw new IllegalArgumentException("Unsupported vehicle type: " + v.getClass().getName());
+        };
+    }
+
+    /**
+     * A detached copy of `v`: same type and state, no listener, not part of
+     * any fleet.
+     */
+    static Vehicle copyOf(Vehicle v) {
+        try {
+            return of(v).restore(v.getID(), v.getModel(), v.getMaxSpeed(), paramOf(v),
+                    v instanceof FuelConsumable f ? f.getFuelLevel() : 0.0,
+                    v instanceof CargoCarrier c ? c.getCurrentCargo() : 0.0,
+                    v instanceof PassengerCarrier p ? p.getCurrentPassengers() : 0,
+                    v.getCurrentMileage(),
+                    v instanceof Maintainable m ? m.getLastMaintenanceMileage() : 0.0,
+                    v instanceof Maintainable m && m.needsMaintenance());
+        } catch (InvalidOperationException e) {
+            // the original was built with the same ID
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A vehicle of this type carrying the given state, restored the same way
+     * Persistence.loadFleet restores a CSV row.
+     */
+    public Vehicle restore(String id, String model, double maxSpeed, double param,
+                           double fuel, double cargo, int passengers, double mileage,
+                           boolean maintenanceDue) throws InvalidOperationException {
+        return restore(id, model, maxSpeed, param, fuel, cargo, passengers, mileage, 0.0, maintenanceDue);
+    }
+
+    /**
+     * As above, for a vehicle last serviced at `lastMaintenance` km. As in
+     * FleetSnapshotFile, the vehicle is driven to that mileage, serviced, then
+     * driven the rest of the way.
+     */
+    public Vehicle restore(String id, String model, double maxSpeed, double param,
+                           double fuel, double cargo, int passengers, double mileage,
+                           double lastMaintenance, boolean maintenanceDue) throws InvalidOperationException {
+        Vehicle v = create(id, model, maxSpeed, param);
+        if (fuel > 0.0 && v instanceof FuelConsumable f) f.tryRefuel(fuel);
+        if (cargo > 0.0 && v instanceof CargoCarrier c) c.tryLoadCargo(cargo);
+        if (passengers > 0 && v instanceof PassengerCarrier p) p.tryBoardPassengers(passengers);
+        if (lastMaintenance > 0.0 && v instanceof Maintainable m) {
+            v.addMileage(lastMaintenance);
+            Vehicle.runQuietly(m::performMaintenance);
+            v.addMileage(mileage - lastMaintenance);
+        } else {
+            v.addMileage(mileage);
+        }
+        if (maintenanceDue && v instanceof Maintainable m && !m.needsMaintenance()) m.scheduleMaintenance();
+        return v;
+    }
+
+    /** A new, empty vehicle of this type. */
+    public Vehicle create(String id, String model, double maxSpeed, double param) throws InvalidOperationException {
+        return switch (this) {
+            case CAR -> new Car(id, model, maxSpeed, (int) param);
+            case TRUCK -> new Truck(id, model, maxSpeed, (int) param);
+            case BUS -> new Bus(id, model, maxSpeed, (int) param);
+            case AIRPLANE -> new Airplane(id, model, maxSpeed, param);
+            case CARGO_SHIP -> new CargoShip(id, model, maxSpeed, param != 0);
+        };
+    }
+}
@@ -8,4 +8,26 @@ public interface CargoCarrier {
     void unloadCargo(double weight) throws InvalidOperationException;
     double getCargoCapacity();
     double getCurrentCargo();
+
+    // Non-throwing variants returning an Outcome code. The defaults wrap the
+    // throwing methods; the vehicles override them with exception-free versions.
+    default Outcome tryLoadCargo(double weight) {
+        try {
+            loadCargo(weight);
+            return Outcome.OK;
+        } catch (OverloadException e) {
+            return Outcome.OVERLOAD;
+        } catch (InvalidOperationException e) {
+            return Outcome.INVALID_OPERATION;
+        }
+    }
+
+    default Outcome tryUnloadCargo(double weight) {
+        try {
+            unloadCargo(weight);
+            return Outcome.OK;
+        } catch (InvalidOperationException e) {
+            return Outcome.INVALID_OPERATION;
+        }
+    }
 }
@@ -7,4 +7,26 @@ public interface  FuelConsumable {
     void refuel(double amount) throws InvalidOperationException;
     double getFuelLevel();
     double consumeFuel(double distance) throws InsufficientFuelException,InvalidOperationException;
-}
\ No newline at end of file
+
+    // Non-throwing variants returning an Outcome code. The defaults wrap the
+    // throwing methods; the vehicles override them with exception-free versions.
+    default Outcome tryRefuel(double amount) {
+        try {
+            refuel(amount);
+            return Outcome.OK;
+        } catch (InvalidOperationException e) {
+            return Outcome.INVALID_OPERATION;
+        }
+    }
+
+    default Outcome tryConsumeFuel(double distance) {
+        try {
+            consumeFuel(distance);
+            return Outcome.OK;
+        } catch (InsufficientFuelException e) {
+            return Outcome.INSUFFICIENT_FUEL;
+        } catch (InvalidOperationException e) {
+            return Outcome.INVALID_OPERATION;
+        }
+    }
+}
@@ -4,4 +4,5 @@ public interface Maintainable {
     void scheduleMaintenance();
     boolean needsMaintenance();
     void performMaintenance();
+    double getLastMaintenanceMileage();
 }
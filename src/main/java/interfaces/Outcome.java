@@ -0,0 +1,23 @@
+package interfaces;
+
+/**
+ * Result code of a single vehicle operation, used where failures are reported
+ * as values (tryMove/tryRefuel/..., OperationResult, BulkResult) rather than thrown.
+ *
+ * The vehicles' throwing methods (move, refuel, loadCargo, ...) are built on the
+ * try* variants and turn a non-OK outcome into an ordinary exception with a
+ * stack trace. Hot paths call the try* variants instead and never throw; a
+ * caller that must throw on such a path can use the exceptions' stackless()
+ * factories, which skip capturing the stack trace.
+ */
+public enum Outcome {
+    OK,
+    NOT_FOUND,              // no vehicle with the given ID
+    UNSUPPORTED,            // vehicle lacks the capability (e.g. not a CargoCarrier)
+    SKIPPED,                // nothing to do for this vehicle (e.g. no maintenance due)
+    INSUFFICIENT_FUEL,
+    MAINTENANCE_REQUIRED,   // vehicle must be maintained before it can move
+    OVERLOAD,
+    INVALID_OPERATION,
+    ERROR                   // unexpected runtime failure
+}
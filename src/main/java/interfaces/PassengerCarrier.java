@@ -7,4 +7,24 @@ public interface PassengerCarrier {
     void disembarkPassengers(int count) throws InvalidOperationException;
     int getPassengerCapacity();
     int getCurrentPassengers();
+
+    // Non-throwing variants returning an Outcome code. The defaults wrap the
+    // throwing methods; the vehicles override them with exception-free versions.
+    default Outcome tryBoardPassengers(int count) {
+        try {
+            boardPassengers(count);
+            return Outcome.OK;
+        } catch (OverloadException e) {
+            return Outcome.OVERLOAD;
+        }
+    }
+
+    default Outcome tryDisembarkPassengers(int count) {
+        try {
+            disembarkPassengers(count);
+            return Outcome.OK;
+        } catch (InvalidOperationException e) {
+            return Outcome.INVALID_OPERATION;
+        }
+    }
 }
@@ -0,0 +1,12 @@
+package interfaces;
+
+/**
+ * What changed on a vehicle, as reported to its VehicleListener.
+ */
+public enum VehicleChange {
+    MILEAGE,        // addMileage added a positive distance
+    MAINTENANCE,    // maintenance was scheduled, flagged by a journey, or performed
+    FUEL,           // fuel was added, or burned by a journey or consumeFuel
+    CARGO,          // cargo was loaded or unloaded
+    PASSENGERS      // passengers boarded or disembarked
+}
@@ -0,0 +1,13 @@
+package interfaces;
+
+import vehicles.Vehicle;
+
+/**
+ * Told about a vehicle's state changes right after they happen, on the thread
+ * that made them. A vehicle has at most one listener, normally the fleet that
+ * holds it (see Vehicle.setListener).
+ */
+@FunctionalInterface
+public interface VehicleListener {
+    void vehicleChanged(Vehicle vehicle, VehicleChange change);
+}
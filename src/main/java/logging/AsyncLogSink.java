@@ -0,0 +1,67 @@
+package logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands messages to a background thread that writes them to another sink,
+ * so callers never wait on console I/O. The queue is bounded; when it is full
+ * the message is dropped and counted rather than blocking the caller.
+ */
+public class AsyncLogSink implements LogSink, AutoCloseable {
+    private final BlockingQueue<String> queue;
+    private final LogSink target;
+    private final Thread writer;
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean closed = false;
+
+    public AsyncLogSink(LogSink target, int capacity) {
+        this.target = target;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::drain, "fleet-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void log(String message) {
+        if (closed || !queue.offer(message)) dropped.increment();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void drain() {
+        List<String> batch = new ArrayList<>();
+        try {
+            while (!closed || !queue.isEmpty()) {
+                String first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch);
+                for (String m : batch) target.log(m);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stop accepting messages and wait for the queued ones to be written.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package logging;
+
+/**
+ * Process-wide holder for the active LogSink.
+ *
+ * Call sites that build a message guard it with isEnabled() so silent mode
+ * costs a field read and a branch, with no formatting or allocation.
+ */
+public final class Log {
+    private static volatile LogSink sink = LogSink.CONSOLE;
+
+    private Log() {}
+
+    public static void setSink(LogSink newSink) {
+        sink = newSink == null ? LogSink.SILENT : newSink;
+    }
+
+    public static LogSink getSink() {
+        return sink;
+    }
+
+    public static boolean isEnabled() {
+        return sink != LogSink.SILENT;
+    }
+
+    public static void info(String message) {
+        LogSink s = sink;
+        if (s != LogSink.SILENT) s.log(message);
+    }
+
+    public static void printf(String format, Object... args) {
+        LogSink s = sink;
+        if (s != LogSink.SILENT) s.log(String.format(format, args));
+    }
+}
@@ -0,0 +1,17 @@
+package logging;
+
+/**
+ * Destination for the one-line status messages printed by FleetManager,
+ * Persistence and the vehicles. Messages carry no trailing newline.
+ */
+@FunctionalInterface
+public interface LogSink {
+    void log(String message);
+
+    // Writes each message as a line on System.out (the original behaviour)
+    LogSink CONSOLE = System.out::println;
+
+    // Discards everything. Log.isEnabled() is false while this sink is installed,
+    // so callers skip building the message altogether.
+    LogSink SILENT = message -> { };
+}
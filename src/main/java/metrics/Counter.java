@@ -0,0 +1,42 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A running total, cheap to update from many threads at once.
+ */
+public final class Counter implements Metric {
+    private final String name;
+    private final LongAdder total = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public void increment() {
+        if (Metrics.isEnabled()) total.increment();
+    }
+
+    public void add(long n) {
+        if (Metrics.isEnabled()) total.add(n);
+    }
+
+    public long sum() {
+        return total.sum();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String render() {
+        return Long.toString(total.sum());
+    }
+
+    @Override
+    public void reset() {
+        total.reset();
+    }
+}
@@ -0,0 +1,48 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * A level sampled now and then, such as a queue length: the last value set
+ * and the highest since the last reset.
+ */
+public final class Gauge implements Metric {
+    private final String name;
+    private final AtomicLong value = new AtomicLong();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    Gauge(String name) {
+        this.name = name;
+    }
+
+    public void set(long v) {
+        if (!Metrics.isEnabled()) return;
+        value.set(v);
+        max.accumulate(v);
+    }
+
+    public long value() {
+        return value.get();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String render() {
+        return value.get() + " (max " + max.get() + ")";
+    }
+
+    @Override
+    public void reset() {
+        value.set(0);
+        max.reset();
+    }
+}
@@ -0,0 +1,113 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of durations in nanoseconds, HdrHistogram style: values below
+ * 128 get a bucket each and every power of two above that is split into 64
+ * linear sub-buckets, so any recorded value is known to within 1/64 (about
+ * 1.6%) while memory stays fixed at a few thousand counts. Values from
+ * 2^47 ns (about 39 hours) up share the last bucket; negative ones count as 0.
+ *
+ * record() is lock-free and safe from any thread. Percentiles report the
+ * highest value of the bucket they fall in, capped at the maximum recorded.
+ */
+public final class Histogram implements Metric {
+    private static final int SUB_BITS = 6;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_SHIFT = 40;
+    private static final int BUCKETS = SUB_COUNT * (MAX_SHIFT + 2);
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    Histogram(String name) {
+        this.name = name;
+    }
+
+    public void record(long nanos) {
+        if (!Metrics.isEnabled()) return;
+        long v = Math.max(0, nanos);
+        counts.incrementAndGet(index(v));
+        total.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        long n = total.sum();
+        return n == 0 ? 0.0 : (double) sum.sum() / n;
+    }
+
+    /** The value at or below which `percentile` percent of recorded values fall; 0 if empty. */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("percentile must be in [0, 100]");
+        long[] snapshot = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) n += snapshot[i] = counts.get(i);
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return Math.min(highestInBucket(i), max.get());
+        }
+        return max.get();
+    }
+
+    static int index(long v) {
+        if (v < 2 * SUB_COUNT) return (int) v;
+        int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS;
+        if (shift > MAX_SHIFT) return BUCKETS - 1;
+        return (shift << SUB_BITS) + (int) (v >>> shift);
+    }
+
+    static long highestInBucket(int index) {
+        if (index < 2 * SUB_COUNT) return index;
+        int shift = (index >>> SUB_BITS) - 1;
+        long lowest = (long) ((index & (SUB_COUNT - 1)) + SUB_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String render() {
+        long n = count();
+        return n == 0 ? "count=0" : "count=" + n + " " + distribution();
+    }
+
+    String distribution() {
+        return String.format("mean=%s p50=%s p90=%s p99=%s p99.9=%s max=%s",
+                micros(mean()), micros(percentile(50)), micros(percentile(90)),
+                micros(percentile(99)), micros(percentile(99.9)), micros(max()));
+    }
+
+    static String micros(double nanos) {
+        return String.format("%.1fus", nanos / 1000.0);
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        total.reset();
+        sum.reset();
+        max.reset();
+    }
+}
@@ -0,0 +1,13 @@
+package metrics;
+
+/**
+ * A named value kept by Metrics.
+ */
+public interface Metric {
+    String name();
+
+    /** The current value as one line of text, as printed by Metrics.dump(). */
+    String render();
+
+    void reset();
+}
@@ -0,0 +1,81 @@
+package metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Process-wide registry of named counters, gauges, histograms and operation timers.
+ *
+ * Metrics are off unless the JVM is started with -Dfleet.metrics=true or
+ * setEnabled(true) is called. While off, every record call returns after one
+ * volatile read: operation timers don't read the clock and nothing is
+ * allocated. Metrics are created on first lookup and live for the life of
+ * the process; look them up once and keep the reference on hot paths.
+ */
+public final class Metrics {
+    private static volatile boolean enabled = Boolean.getBoolean("fleet.metrics");
+    private static final Map<String, Metric> registry = new ConcurrentHashMap<>();
+
+    private Metrics() {}
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    public static Counter counter(String name) {
+        return lookup(name, Counter.class, Counter::new);
+    }
+
+    public static Histogram histogram(String name) {
+        return lookup(name, Histogram.class, Histogram::new);
+    }
+
+    public static Gauge gauge(String name) {
+        return lookup(name, Gauge.class, Gauge::new);
+    }
+
+    public static Operation operation(String name) {
+        return lookup(name, Operation.class, Operation::new);
+    }
+
+    /** The metric registered under `name`, or null. */
+    public static Metric get(String name) {
+        return registry.get(name);
+    }
+
+    /** All metrics, sorted by name. */
+    public static Map<String, Metric> all() {
+        return new TreeMap<>(registry);
+    }
+
+    /** Zero every metric; the metrics themselves stay registered. */
+    public static void reset() {
+        for (Metric m : registry.values()) m.reset();
+    }
+
+    /** One line per metric, sorted by name. Durations are printed in microseconds. */
+    public static String dump() {
+        Map<String, Metric> sorted = all();
+        int width = 0;
+        for (String name : sorted.keySet()) width = Math.max(width, name.length());
+        StringBuilder sb = new StringBuilder("Metrics (" + (enabled ? "enabled" : "disabled") + ")\n");
+        for (Metric m : sorted.values()) {
+            sb.append(String.format("%-" + width + "s  %s%n", m.name(), m.render()));
+        }
+        return sb.toString();
+    }
+
+    private static <M extends Metric> M lookup(String name, Class<M> type, Function<String, M> create) {
+        Metric m = registry.computeIfAbsent(name, create);
+        if (!type.isInstance(m)) {
+            throw new IllegalArgumentException("Metric " + name + " is a " + m.getClass().getSimpleName());
+        }
+        return type.cast(m);
+    }
+}
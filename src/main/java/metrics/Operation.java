@@ -0,0 +1,70 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Calls, failed calls and latency of one operation. Callers bracket the work:
+ *
+ *     long t = op.start();
+ *     ... do the work ...
+ *     op.end(t, ok);
+ *
+ * start() returns 0 while metrics are off, and end() ignores a 0 start, so a
+ * disabled operation costs one volatile read and never reads the clock.
+ */
+public final class Operation implements Metric {
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final Histogram latency;
+
+    Operation(String name) {
+        this.name = name;
+        this.latency = new Histogram(name);
+    }
+
+    public long start() {
+        return Metrics.isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    public void end(long start) {
+        end(start, true);
+    }
+
+    public void end(long start, boolean ok) {
+        if (start == 0L) return;
+        calls.increment();
+        if (!ok) failures.increment();
+        latency.record(System.nanoTime() - start);
+    }
+
+    public long calls() {
+        return calls.sum();
+    }
+
+    public long failures() {
+        return failures.sum();
+    }
+
+    public Histogram latency() {
+        return latency;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String render() {
+        long n = calls.sum();
+        return n == 0 ? "calls=0" : "calls=" + n + " failures=" + failures.sum() + " " + latency.distribution();
+    }
+
+    @Override
+    public void reset() {
+        calls.reset();
+        failures.reset();
+        latency.reset();
+    }
+}
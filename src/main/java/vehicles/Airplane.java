@@ -6,7 +6,10 @@ import exceptions.OverloadException;
 import interfaces.CargoCarrier;
 import interfaces.FuelConsumable;
 import interfaces.Maintainable;
+import interfaces.Outcome;
 import interfaces.PassengerCarrier;
+import interfaces.VehicleChange;
+import logging.Log;
 
 public class Airplane extends AirVehicle implements FuelConsumable, PassengerCarrier, CargoCarrier, Maintainable {
     private double fuelLevel;
@@ -29,20 +32,32 @@ public class Airplane extends AirVehicle implements FuelConsumable, PassengerCar
 
     @Override
     public void move(double distance) throws InvalidOperationException, InsufficientFuelException {
+        switch (tryMove(distance)) {
+            case MAINTENANCE_REQUIRED -> throw new InvalidOperationException("Vehicle " + getID() + " requires maintenance and cannot move.");
+            case INVALID_OPERATION -> throw new InvalidOperationException("Distance cannot be negative.");
+            case INSUFFICIENT_FUEL -> throw new InsufficientFuelException("Not enough fuel to fly.");
+            default -> { }
+        }
+    }
+
+    @Override
+    public Outcome tryMove(double distance) {
         // Prevent movement if maintenance is required
-        if (needsMaintenance()) throw new InvalidOperationException("Vehicle " + getID() + " requires maintenance and cannot move.");
+        if (needsMaintenance()) return Outcome.MAINTENANCE_REQUIRED;
         if (distance < 0) {
-            throw new InvalidOperationException("Distance cannot be negative.");
+            return Outcome.INVALID_OPERATION;
         }
         double efficiency = calculateFuelEfficiency();
         double fuelNeeded = distance / efficiency;
         if (fuelNeeded > fuelLevel) {
-            throw new InsufficientFuelException("Not enough fuel to fly.");
+            return Outcome.INSUFFICIENT_FUEL;
         }
         fuelLevel -= fuelNeeded;
+        changed(VehicleChange.FUEL);
         addMileage(distance);
-        if (getCurrentMileage() > 10000) maintenanceNeeded = true;
-        System.out.printf("Airplane %s flying at altitude %.2f meters for %.2f km. Fuel used: %.2f L%n", getID(),distance, getMaxAltitude(),fuelNeeded);
+        if (!maintenanceNeeded && getCurrentMileage() > 10000) scheduleMaintenance();
+        if (isVerbose()) Log.printf("Airplane %s flying at altitude %.2f meters for %.2f km. Fuel used: %.2f L", getID(),distance, getMaxAltitude(),fuelNeeded);
+        return Outcome.OK;
     }
 
     @Override
@@ -53,8 +68,15 @@ public class Airplane extends AirVehicle implements FuelConsumable, PassengerCar
     // FuelConsumable
     @Override
     public void refuel(double amount) throws InvalidOperationException {
-        if (amount <= 0) throw new InvalidOperationException("Fuel amount must be positive.");
+        if (tryRefuel(amount) != Outcome.OK) throw new InvalidOperationException("Fuel amount must be positive.");
+    }
+
+    @Override
+    public Outcome tryRefuel(double amount) {
+        if (amount <= 0) return Outcome.INVALID_OPERATION;
         fuelLevel += amount;
+        changed(VehicleChange.FUEL);
+        return Outcome.OK;
     }
 
     @Override
@@ -64,30 +86,58 @@ public class Airplane extends AirVehicle implements FuelConsumable, PassengerCar
 
     @Override
     public double consumeFuel(double distance) throws InsufficientFuelException {
+        double fuelNeeded = distance / calculateFuelEfficiency();
+        if (tryConsumeFuel(distance) != Outcome.OK) {
+            throw new InsufficientFuelException("Not enough fuel.");
+        }
+        return fuelNeeded;
+    }
+
+    @Override
+    public Outcome tryConsumeFuel(double distance) {
         double efficiency = calculateFuelEfficiency();
         double fuelNeeded = distance / efficiency;
         if (fuelNeeded > fuelLevel) {
-            throw new InsufficientFuelException("Not enough fuel.");
+            return Outcome.INSUFFICIENT_FUEL;
         }
         fuelLevel -= fuelNeeded;
-        return fuelNeeded;
+        changed(VehicleChange.FUEL);
+        return Outcome.OK;
     }
 
     // PassengerCarrier
     @Override
     public void boardPassengers(int count) throws OverloadException {
-        if (currentPassengers + count > passengerCapacity) {
+        if (tryBoardPassengers(count) != Outcome.OK) {
             throw new OverloadException("Passenger overload. Capacity exceeded.");
         }
+    }
+
+    @Override
+    public Outcome tryBoardPassengers(int count) {
+        if (currentPassengers + count > passengerCapacity) {
+            return Outcome.OVERLOAD;
+        }
         currentPassengers += count;
+        changed(VehicleChange.PASSENGERS);
+        return Outcome.OK;
     }
 
     @Override
     public void disembarkPassengers(int count) throws InvalidOperationException {
-        if (count > currentPassengers) {
+        if (tryDisembarkPassengers(count) != Outcome.OK) {
             throw new InvalidOperationException("Cannot disembark more passengers than on board.");
         }
+    }
+
+    @Override
+    public Outcome tryDisembarkPassengers(int count) {
+        if (count > currentPassengers) {
+            return Outcome.INVALID_OPERATION;
+        }
         currentPassengers -= count;
+        changed(VehicleChange.PASSENGERS);
+        return Outcome.OK;
     }
 
     @Override
@@ -103,18 +153,36 @@ public class Airplane extends AirVehicle implements FuelConsumable, PassengerCar
     // CargoCarrier
     @Override
     public void loadCargo(double weight) throws OverloadException {
-        if (currentCargo + weight > cargoCapacity) {
+        if (tryLoadCargo(weight) != Outcome.OK) {
             throw new OverloadException("Cargo overload. Capacity exceeded.");
         }
+    }
+
+    @Override
+    public Outcome tryLoadCargo(double weight) {
+        if (currentCargo + weight > cargoCapacity) {
+            return Outcome.OVERLOAD;
+        }
         currentCargo += weight;
+        changed(VehicleChange.CARGO);
+        return Outcome.OK;
     }
 
     @Override
     public void unloadCargo(double weight) throws InvalidOperationException {
-        if (weight > currentCargo) {
+        if (tryUnloadCargo(weight) != Outcome.OK) {
             throw new InvalidOperationException("Cannot unload more than current cargo.");
         }
+    }
+
+    @Override
+    public Outcome tryUnloadCargo(double weight) {
+        if (weight > currentCargo) {
+            return Outcome.INVALID_OPERATION;
+        }
         currentCargo -= weight;
+        changed(VehicleChange.CARGO);
+        return Outcome.OK;
     }
 
     @Override
@@ -131,6 +199,12 @@ public class Airplane extends AirVehicle implements FuelConsumable, PassengerCar
     @Override
     public void scheduleMaintenance() {
         maintenanceNeeded = true;
+        changed(VehicleChange.MAINTENANCE);
+    }
+
+    @Override
+    public double getLastMaintenanceMileage() {
+        return lastMaintenanceMileage;
     }
 
     @Override
@@ -142,6 +216,7 @@ public class Airplane extends AirVehicle implements FuelConsumable, PassengerCar
     public void performMaintenance() {
         lastMaintenanceMileage = getCurrentMileage();
         maintenanceNeeded = false;
-        System.out.println("Airplane " + getID() + " maintenance performed.");
+        changed(VehicleChange.MAINTENANCE);
+        if (isVerbose()) Log.info("Airplane " + getID() + " maintenance performed.");
     }
 }
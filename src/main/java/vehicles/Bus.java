@@ -6,7 +6,10 @@ import exceptions.OverloadException;
 import interfaces.CargoCarrier;
 import interfaces.FuelConsumable;
 import interfaces.Maintainable;
+import interfaces.Outcome;
 import interfaces.PassengerCarrier;
+import interfaces.VehicleChange;
+import logging.Log;
 
 public class Bus extends LandVehicle implements FuelConsumable, PassengerCarrier, CargoCarrier, Maintainable {
     private double fuelLevel = 0.0;
@@ -23,15 +26,27 @@ public class Bus extends LandVehicle implements FuelConsumable, PassengerCarrier
 
     @Override
     public void move(double distance) throws InvalidOperationException, InsufficientFuelException {
+        switch (tryMove(distance)) {
+            case MAINTENANCE_REQUIRED -> throw new InvalidOperationException("Vehicle " + getID() + " requires maintenance and cannot move.");
+            case INVALID_OPERATION -> throw new InvalidOperationException("Negative distance");
+            case INSUFFICIENT_FUEL -> throw new InsufficientFuelException("Not enough fuel for bus " + getID());
+            default -> { }
+        }
+    }
+
+    @Override
+    public Outcome tryMove(double distance) {
         // Prevent movement if maintenance is required
-        if (needsMaintenance()) throw new InvalidOperationException("Vehicle " + getID() + " requires maintenance and cannot move.");
-        if (distance < 0) throw new InvalidOperationException("Negative distance");
+        if (needsMaintenance()) return Outcome.MAINTENANCE_REQUIRED;
+        if (distance < 0) return Outcome.INVALID_OPERATION;
         double needed = distance / calculateFuelEfficiency();
-        if (needed > fuelLevel) throw new InsufficientFuelException("Not enough fuel for bus " + getID());
+        if (needed > fuelLevel) return Outcome.INSUFFICIENT_FUEL;
         fuelLevel -= needed;
+        changed(VehicleChange.FUEL);
         addMileage(distance);
-        if (getCurrentMileage() > 10000) maintenanceNeeded = true;
-        System.out.printf("Bus %s: Transporting passengers and cargo for %.2f km. Fuel used: %.2f L%n", getID(), distance, needed);
+        if (!maintenanceNeeded && getCurrentMileage() > 10000) scheduleMaintenance();
+        if (isVerbose()) Log.printf("Bus %s: Transporting passengers and cargo for %.2f km. Fuel used: %.2f L", getID(), distance, needed);
+        return Outcome.OK;
     }
 
     @Override public double calculateFuelEfficiency() { 
@@ -40,41 +55,76 @@ public class Bus extends LandVehicle implements FuelConsumable, PassengerCarrier
 
     // FuelConsumable
     @Override public void refuel(double amount) throws InvalidOperationException {
-        if (amount <= 0) throw new InvalidOperationException("Refuel amount must be > 0");
+        if (tryRefuel(amount) != Outcome.OK) throw new InvalidOperationException("Refuel amount must be > 0");
+    }
+    @Override public Outcome tryRefuel(double amount) {
+        if (amount <= 0) return Outcome.INVALID_OPERATION;
         fuelLevel += amount;
+        changed(VehicleChange.FUEL);
+        return Outcome.OK;
     }
     @Override public double getFuelLevel() { 
         return fuelLevel; 
     }
     @Override public double consumeFuel(double distance) throws InsufficientFuelException {
         double need = distance / calculateFuelEfficiency();
-        if (need > fuelLevel) throw new InsufficientFuelException("Insufficient fuel");
-        fuelLevel -= need;
+        if (tryConsumeFuel(distance) != Outcome.OK) throw new InsufficientFuelException("Insufficient fuel");
         return need;
     }
+    @Override public Outcome tryConsumeFuel(double distance) {
+        double need = distance / calculateFuelEfficiency();
+        if (need > fuelLevel) return Outcome.INSUFFICIENT_FUEL;
+        fuelLevel -= need;
+        changed(VehicleChange.FUEL);
+        return Outcome.OK;
+    }
 
     // PassengerCarrier
     @Override public void boardPassengers(int count) throws OverloadException {
-        if (count < 0) return;
-        if (currentPassengers + count > passengerCapacity) throw new OverloadException("Bus overload");
+        if (tryBoardPassengers(count) != Outcome.OK) throw new OverloadException("Bus overload");
+    }
+    @Override public Outcome tryBoardPassengers(int count) {
+        if (count < 0) return Outcome.OK;
+        if (currentPassengers + count > passengerCapacity) return Outcome.OVERLOAD;
         currentPassengers += count;
+        changed(VehicleChange.PASSENGERS);
+        return Outcome.OK;
     }
     @Override public void disembarkPassengers(int count) throws InvalidOperationException {
-        if (count > currentPassengers) throw new InvalidOperationException("Too many disembarking");
+        if (tryDisembarkPassengers(count) != Outcome.OK) throw new InvalidOperationException("Too many disembarking");
+    }
+    @Override public Outcome tryDisembarkPassengers(int count) {
+        if (count > currentPassengers) return Outcome.INVALID_OPERATION;
         currentPassengers -= count;
+        changed(VehicleChange.PASSENGERS);
+        return Outcome.OK;
     }
     @Override public int getPassengerCapacity() { return passengerCapacity; }
     @Override public int getCurrentPassengers() { return currentPassengers; }
 
     // CargoCarrier
     @Override public void loadCargo(double weight) throws OverloadException, InvalidOperationException {
-        if (weight <= 0) throw new InvalidOperationException("Weight must be > 0");
-        if (currentCargo + weight > cargoCapacity) throw new OverloadException("Bus Overloaded!");
+        switch (tryLoadCargo(weight)) {
+            case INVALID_OPERATION -> throw new InvalidOperationException("Weight must be > 0");
+            case OVERLOAD -> throw new OverloadException("Bus Overloaded!");
+            default -> { }
+        }
+    }
+    @Override public Outcome tryLoadCargo(double weight) {
+        if (weight <= 0) return Outcome.INVALID_OPERATION;
+        if (currentCargo + weight > cargoCapacity) return Outcome.OVERLOAD;
         currentCargo += weight;
+        changed(VehicleChange.CARGO);
+        return Outcome.OK;
     }
     @Override public void unloadCargo(double weight) throws InvalidOperationException {
-        if (weight < 0 || weight > currentCargo) throw new InvalidOperationException("Unload weight more than actual!");
+        if (tryUnloadCargo(weight) != Outcome.OK) throw new InvalidOperationException("Unload weight more than actual!");
+    }
+    @Override public Outcome tryUnloadCargo(double weight) {
+        if (weight < 0 || weight > currentCargo) return Outcome.INVALID_OPERATION;
         currentCargo -= weight;
+        changed(VehicleChange.CARGO);
+        return Outcome.OK;
     }
     @Override public double getCargoCapacity() { 
         return cargoCapacity; 
@@ -85,7 +135,11 @@ public class Bus extends LandVehicle implements FuelConsumable, PassengerCarrier
 
     // Maintainable
     @Override public void scheduleMaintenance() { 
-        maintenanceNeeded = true; 
+        maintenanceNeeded = true;
+        changed(VehicleChange.MAINTENANCE);
+    }
+    @Override public double getLastMaintenanceMileage() { 
+        return lastMaintenanceMileage; 
     }
     @Override public boolean needsMaintenance() { 
         return maintenanceNeeded || (getCurrentMileage() - lastMaintenanceMileage >= 10000);
@@ -93,6 +147,7 @@ public class Bus extends LandVehicle implements FuelConsumable, PassengerCarrier
     @Override public void performMaintenance() {
         lastMaintenanceMileage = getCurrentMileage();
         maintenanceNeeded = false;
-        System.out.println("Bus " + getID() + " maintenance performed.");
+        changed(VehicleChange.MAINTENANCE);
+        if (isVerbose()) Log.info("Bus " + getID() + " maintenance performed.");
     }
 }
@@ -5,7 +5,10 @@ import exceptions.InvalidOperationException;
 import exceptions.OverloadException;
 import interfaces.FuelConsumable;
 import interfaces.Maintainable;
+import interfaces.Outcome;
 import interfaces.PassengerCarrier;
+import interfaces.VehicleChange;
+import logging.Log;
 
 public class Car extends LandVehicle implements FuelConsumable,PassengerCarrier,Maintainable {
     private double fuelLevel = 0.0;
@@ -20,15 +23,27 @@ public class Car extends LandVehicle implements FuelConsumable,PassengerCarrier,
 
     @Override
     public void move(double distance) throws InvalidOperationException, InsufficientFuelException {
+        switch (tryMove(distance)) {
+            case MAINTENANCE_REQUIRED -> throw new InvalidOperationException("Vehicle " + getID() + " requires maintenance and cannot move.");
+            case INVALID_OPERATION -> throw new InvalidOperationException("Distance must be > 0");
+            case INSUFFICIENT_FUEL -> throw new InsufficientFuelException("Not enough fuel for car " + getID());
+            default -> { }
+        }
+    }
+
+    @Override
+    public Outcome tryMove(double distance) {
         // Prevent movement if maintenance is required
-        if (needsMaintenance()) throw new InvalidOperationException("Vehicle " + getID() + " requires maintenance and cannot move.");
-        if (distance < 0) throw new InvalidOperationException("Distance must be > 0");
+        if (needsMaintenance()) return Outcome.MAINTENANCE_REQUIRED;
+        if (distance < 0) return Outcome.INVALID_OPERATION;
         double requiredFuel = distance / calculateFuelEfficiency();
-        if (requiredFuel > fuelLevel) throw new InsufficientFuelException("Not enough fuel for car " + getID());
+        if (requiredFuel > fuelLevel) return Outcome.INSUFFICIENT_FUEL;
         fuelLevel -= requiredFuel;
+        changed(VehicleChange.FUEL);
         addMileage(distance);
-        if (getCurrentMileage() > 10000) maintenanceNeeded = true;
-        System.out.printf("Car %s: Driving on road for %.2f km. Fuel used: %.2f L\n", getID(), distance, requiredFuel);
+        if (!maintenanceNeeded && getCurrentMileage() > 10000) scheduleMaintenance();
+        if (isVerbose()) Log.printf("Car %s: Driving on road for %.2f km. Fuel used: %.2f L", getID(), distance, requiredFuel);
+        return Outcome.OK;
     }
 
     @Override 
@@ -40,8 +55,15 @@ public class Car extends LandVehicle implements FuelConsumable,PassengerCarrier,
     //Methods of FuelConsumable
     @Override 
     public void refuel(double amount) throws InvalidOperationException {
-        if (amount <= 0) throw new InvalidOperationException("Refuel amount must be > 0");
+        if (tryRefuel(amount) != Outcome.OK) throw new InvalidOperationException("Refuel amount must be > 0");
+    }
+
+    @Override
+    public Outcome tryRefuel(double amount) {
+        if (amount <= 0) return Outcome.INVALID_OPERATION;
         this.fuelLevel += amount;
+        changed(VehicleChange.FUEL);
+        return Outcome.OK;
     }
 
     @Override
@@ -52,22 +74,42 @@ public class Car extends LandVehicle implements FuelConsumable,PassengerCarrier,
     @Override
     public double consumeFuel(double distance) throws InsufficientFuelException{
         double requiredFuel = distance / calculateFuelEfficiency();
-        if (requiredFuel > fuelLevel) throw new InsufficientFuelException("Insufficient fuel");
-        fuelLevel -= requiredFuel;
+        if (tryConsumeFuel(distance) != Outcome.OK) throw new InsufficientFuelException("Insufficient fuel");
         return requiredFuel;
     }
 
+    @Override
+    public Outcome tryConsumeFuel(double distance) {
+        double requiredFuel = distance / calculateFuelEfficiency();
+        if (requiredFuel > fuelLevel) return Outcome.INSUFFICIENT_FUEL;
+        fuelLevel -= requiredFuel;
+        changed(VehicleChange.FUEL);
+        return Outcome.OK;
+    }
+
     //Methods of PassengerCarrier
     @Override
     public void boardPassengers(int count) throws OverloadException{
-        if (count < 0) return;
-        if (currentPassengers + count > passengerCapacity) throw new OverloadException("Car overload");
+        if (tryBoardPassengers(count) != Outcome.OK) throw new OverloadException("Car overload");
+    }
+    @Override
+    public Outcome tryBoardPassengers(int count) {
+        if (count < 0) return Outcome.OK;
+        if (currentPassengers + count > passengerCapacity) return Outcome.OVERLOAD;
         currentPassengers += count;
+        changed(VehicleChange.PASSENGERS);
+        return Outcome.OK;
     }
     @Override 
     public void disembarkPassengers(int count) throws InvalidOperationException {
-        if (count > currentPassengers) throw new InvalidOperationException("Cannot disembark more than the current number of Passengers.");
+        if (tryDisembarkPassengers(count) != Outcome.OK) throw new InvalidOperationException("Cannot disembark more than the current number of Passengers.");
+    }
+    @Override
+    public Outcome tryDisembarkPassengers(int count) {
+        if (count > currentPassengers) return Outcome.INVALID_OPERATION;
         currentPassengers -= count;
+        changed(VehicleChange.PASSENGERS);
+        return Outcome.OK;
     }
     @Override 
     public int getPassengerCapacity() { 
@@ -80,7 +122,11 @@ public class Car extends LandVehicle implements FuelConsumable,PassengerCarrier,
 
     //Methods of Maintainable
     @Override public void scheduleMaintenance() { 
-        maintenanceNeeded = true; 
+        maintenanceNeeded = true;
+        changed(VehicleChange.MAINTENANCE);
+    }
+    @Override public double getLastMaintenanceMileage() { 
+        return lastMaintenanceMileage; 
     }
     @Override public boolean needsMaintenance() { 
         return maintenanceNeeded || (getCurrentMileage() - lastMaintenanceMileage >= 10000);
@@ -88,7 +134,8 @@ public class Car extends LandVehicle implements FuelConsumable,PassengerCarrier,
     @Override public void performMaintenance() {
         lastMaintenanceMileage = getCurrentMileage();
         maintenanceNeeded = false;
-        System.out.println("Car " + getID() + " maintenance done.");
+        changed(VehicleChange.MAINTENANCE);
+        if (isVerbose()) Log.info("Car " + getID() + " maintenance done.");
     }
 }
 
@@ -6,6 +6,9 @@ import exceptions.OverloadException;
 import interfaces.CargoCarrier;
 import interfaces.FuelConsumable;
 import interfaces.Maintainable;
+import interfaces.Outcome;
+import interfaces.VehicleChange;
+import logging.Log;
 
 public class CargoShip extends WaterVehicle implements CargoCarrier, Maintainable,FuelConsumable {
     private final double cargoCapacity = 50000.0;
@@ -23,23 +26,35 @@ public class CargoShip extends WaterVehicle implements CargoCarrier, Maintainabl
 
     @Override
     public void move(double distance) throws InvalidOperationException, InsufficientFuelException {
+        switch (tryMove(distance)) {
+            case MAINTENANCE_REQUIRED -> throw new InvalidOperationException("Vehicle " + getID() + " requires maintenance and cannot move.");
+            case INVALID_OPERATION -> throw new InvalidOperationException("Negative distance");
+            case INSUFFICIENT_FUEL -> throw new InsufficientFuelException("Not enough fuel for cargo ship " + getID());
+            default -> { }
+        }
+    }
+
+    @Override
+    public Outcome tryMove(double distance) {
         // Prevent movement if maintenance is required
-        if (needsMaintenance()) throw new InvalidOperationException("Vehicle " + getID() + " requires maintenance and cannot move.");
-        if (distance < 0) throw new InvalidOperationException("Negative distance");
+        if (needsMaintenance()) return Outcome.MAINTENANCE_REQUIRED;
+        if (distance < 0) return Outcome.INVALID_OPERATION;
         double eff = calculateFuelEfficiency();
         if (eff == 0) {
             // sail-powered — no fuel consumption
             addMileage(distance);
-            if (getCurrentMileage() > 10000) maintenanceNeeded = true;
-            System.out.printf("CargoShip %s: Sailing with cargo for %.2f km (no fuel).%n", getID(), distance);
-            return;
+            if (!maintenanceNeeded && getCurrentMileage() > 10000) scheduleMaintenance();
+            if (isVerbose()) Log.printf("CargoShip %s: Sailing with cargo for %.2f km (no fuel).", getID(), distance);
+            return Outcome.OK;
         }
         double needed = distance / eff;
-        if (fuelLevel == null || needed > fuelLevel) throw new InsufficientFuelException("Not enough fuel for cargo ship " + getID());
+        if (fuelLevel == null || needed > fuelLevel) return Outcome.INSUFFICIENT_FUEL;
         fuelLevel -= needed;
+        changed(VehicleChange.FUEL);
         addMileage(distance);
-        if (getCurrentMileage() > 10000) maintenanceNeeded = true;
-        System.out.printf("CargoShip %s: Sailing with cargo for %.2f km. Fuel used: %.2f L%n", getID(), distance, needed);
+        if (!maintenanceNeeded && getCurrentMileage() > 10000) scheduleMaintenance();
+        if (isVerbose()) Log.printf("CargoShip %s: Sailing with cargo for %.2f km. Fuel used: %.2f L", getID(), distance, needed);
+        return Outcome.OK;
     }
 
     @Override public double calculateFuelEfficiency() {
@@ -49,13 +64,27 @@ public class CargoShip extends WaterVehicle implements CargoCarrier, Maintainabl
 
     // CargoCarrier
     @Override public void loadCargo(double weight) throws OverloadException, InvalidOperationException {
-        if (weight < 0) throw new InvalidOperationException("Invalid weight");
-        if (currentCargo + weight > cargoCapacity) throw new OverloadException("Ship overload");
+        switch (tryLoadCargo(weight)) {
+            case INVALID_OPERATION -> throw new InvalidOperationException("Invalid weight");
+            case OVERLOAD -> throw new OverloadException("Ship overload");
+            default -> { }
+        }
+    }
+    @Override public Outcome tryLoadCargo(double weight) {
+        if (weight < 0) return Outcome.INVALID_OPERATION;
+        if (currentCargo + weight > cargoCapacity) return Outcome.OVERLOAD;
         currentCargo += weight;
+        changed(VehicleChange.CARGO);
+        return Outcome.OK;
     }
     @Override public void unloadCargo(double weight) throws InvalidOperationException {
-        if (weight < 0 || weight > currentCargo) throw new InvalidOperationException("Invalid unload weight");
+        if (tryUnloadCargo(weight) != Outcome.OK) throw new InvalidOperationException("Invalid unload weight");
+    }
+    @Override public Outcome tryUnloadCargo(double weight) {
+        if (weight < 0 || weight > currentCargo) return Outcome.INVALID_OPERATION;
         currentCargo -= weight;
+        changed(VehicleChange.CARGO);
+        return Outcome.OK;
     }
     @Override public double getCargoCapacity() { 
         return cargoCapacity; 
@@ -66,7 +95,11 @@ public class CargoShip extends WaterVehicle implements CargoCarrier, Maintainabl
 
     // Maintainable
     @Override public void scheduleMaintenance() { 
-        maintenanceNeeded = true; 
+        maintenanceNeeded = true;
+        changed(VehicleChange.MAINTENANCE);
+    }
+    @Override public double getLastMaintenanceMileage() { 
+        return lastMaintenanceMileage; 
     }
     @Override public boolean needsMaintenance() { 
         return maintenanceNeeded || (getCurrentMileage() - lastMaintenanceMileage >= 10000);
@@ -75,14 +108,24 @@ public class CargoShip extends WaterVehicle implements CargoCarrier, Maintainabl
     @Override public void performMaintenance() {
         lastMaintenanceMileage = getCurrentMileage(); 
         maintenanceNeeded = false;
-        System.out.println("CargoShip " + getID() + " maintenance performed.");
+        changed(VehicleChange.MAINTENANCE);
+        if (isVerbose()) Log.info("CargoShip " + getID() + " maintenance performed.");
     }
 
   @Override
     public void refuel(double amount) throws InvalidOperationException {
-        if (hasSail()) throw new InvalidOperationException("This ship is sail-powered, cannot refuel.");
-        if (amount <= 0) throw new InvalidOperationException("Refuel amount must be > 0");
+        if (tryRefuel(amount) != Outcome.OK) {
+            if (hasSail()) throw new InvalidOperationException("This ship is sail-powered, cannot refuel.");
+            throw new InvalidOperationException("Refuel amount must be > 0");
+        }
+    }
+
+    @Override
+    public Outcome tryRefuel(double amount) {
+        if (hasSail() || amount <= 0) return Outcome.INVALID_OPERATION;
         fuelLevel += amount;
+        changed(VehicleChange.FUEL);
+        return Outcome.OK;
     }
 
     @Override
@@ -92,12 +135,23 @@ public class CargoShip extends WaterVehicle implements CargoCarrier, Maintainabl
 
     @Override
     public double consumeFuel(double distance) throws InsufficientFuelException, InvalidOperationException {
-        if (hasSail()) throw new InvalidOperationException("This ship is sail-powered.");
+        switch (tryConsumeFuel(distance)) {
+            case INVALID_OPERATION -> throw new InvalidOperationException("This ship is sail-powered.");
+            case INSUFFICIENT_FUEL -> throw new InsufficientFuelException("Not enough fuel for cargo ship " + getID());
+            default -> { }
+        }
+        return distance / calculateFuelEfficiency();
+    }
+
+    @Override
+    public Outcome tryConsumeFuel(double distance) {
+        if (hasSail()) return Outcome.INVALID_OPERATION;
         double eff = calculateFuelEfficiency();
         double needed = distance / eff;
-        if (needed > fuelLevel) throw new InsufficientFuelException("Not enough fuel for cargo ship " + getID());
+        if (needed > fuelLevel) return Outcome.INSUFFICIENT_FUEL;
         fuelLevel -= needed;
-        return needed;
+        changed(VehicleChange.FUEL);
+        return Outcome.OK;
     }
 }
 
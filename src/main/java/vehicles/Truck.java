@@ -6,6 +6,9 @@ import exceptions.OverloadException;
 import interfaces.CargoCarrier;
 import interfaces.FuelConsumable;
 import interfaces.Maintainable;
+import interfaces.Outcome;
+import interfaces.VehicleChange;
+import logging.Log;
 
 public class Truck extends LandVehicle implements FuelConsumable, CargoCarrier, Maintainable {
     private double fuelLevel;
@@ -24,24 +27,40 @@ public class Truck extends LandVehicle implements FuelConsumable, CargoCarrier,
 
     @Override
     public void move(double distance) throws InvalidOperationException, InsufficientFuelException {
+        switch (tryMove(distance)) {
+            case MAINTENANCE_REQUIRED -> throw new InvalidOperationException("Vehicle " + getID() + " requires maintenance and cannot move.");
+            case INVALID_OPERATION -> throw new InvalidOperationException("Distance cannot be negative.");
+            case INSUFFICIENT_FUEL -> throw new InsufficientFuelException("Not enough fuel to move.");
+            default -> { }
+        }
+    }
+
+    @Override
+    public Outcome tryMove(double distance) {
         // Prevent movement if maintenance is required
-        if (needsMaintenance()) throw new InvalidOperationException("Vehicle " + getID() + " requires maintenance and cannot move.");
+        if (needsMaintenance()) return Outcome.MAINTENANCE_REQUIRED;
         if (distance < 0) {
-            throw new InvalidOperationException("Distance cannot be negative.");
+            return Outcome.INVALID_OPERATION;
         }
-        double efficiency = calculateFuelEfficiency();
-        if (currentCargo > cargoCapacity * 0.5) {
-            efficiency *= 0.9;
-        }
-        double fuelNeeded = distance / efficiency;
+        double fuelNeeded = fuelNeeded(distance);
         if (fuelNeeded > fuelLevel) {
-            throw new InsufficientFuelException("Not enough fuel to move.");
+            return Outcome.INSUFFICIENT_FUEL;
         }
         fuelLevel -= fuelNeeded;
+        changed(VehicleChange.FUEL);
         addMileage(distance);
-        if (getCurrentMileage() > 10000) maintenanceNeeded = true;
-        System.out.printf("Truck %s moving for %.2f km. Fuel used: %.2f L%n",getID(),distance,fuelNeeded);
+        if (!maintenanceNeeded && getCurrentMileage() > 10000) scheduleMaintenance();
+        if (isVerbose()) Log.printf("Truck %s moving for %.2f km. Fuel used: %.2f L",getID(),distance,fuelNeeded);
+        return Outcome.OK;
+    }
 
+    // Fuel for a distance; efficiency drops 10% when loaded above half capacity
+    private double fuelNeeded(double distance) {
+        double efficiency = calculateFuelEfficiency();
+        if (currentCargo > cargoCapacity * 0.5) {
+            efficiency *= 0.9;
+        }
+        return distance / efficiency;
     }
 
     @Override
@@ -52,8 +71,15 @@ public class Truck extends LandVehicle implements FuelConsumable, CargoCarrier,
     // FuelConsumable
     @Override
     public void refuel(double amount) throws InvalidOperationException {
-        if (amount <= 0) throw new InvalidOperationException("Fuel amount must be positive.");
+        if (tryRefuel(amount) != Outcome.OK) throw new InvalidOperationException("Fuel amount must be positive.");
+    }
+
+    @Override
+    public Outcome tryRefuel(double amount) {
+        if (amount <= 0) return Outcome.INVALID_OPERATION;
         fuelLevel += amount;
+        changed(VehicleChange.FUEL);
+        return Outcome.OK;
     }
 
     @Override
@@ -63,33 +89,57 @@ public class Truck extends LandVehicle implements FuelConsumable, CargoCarrier,
 
     @Override
     public double consumeFuel(double distance) throws InsufficientFuelException {
-        double efficiency = calculateFuelEfficiency();
-        if (currentCargo > cargoCapacity * 0.5) {
-            efficiency *= 0.9;
+        double fuelNeeded = fuelNeeded(distance);
+        if (tryConsumeFuel(distance) != Outcome.OK) {
+            throw new InsufficientFuelException("Not enough fuel.");
         }
-        double fuelNeeded = distance / efficiency;
+        return fuelNeeded;
+    }
+
+    @Override
+    public Outcome tryConsumeFuel(double distance) {
+        double fuelNeeded = fuelNeeded(distance);
         if (fuelNeeded > fuelLevel) {
-            throw new InsufficientFuelException("Not enough fuel.");
+            return Outcome.INSUFFICIENT_FUEL;
         }
         fuelLevel -= fuelNeeded;
-        return fuelNeeded;
+        changed(VehicleChange.FUEL);
+        return Outcome.OK;
     }
 
     // CargoCarrier
     @Override
     public void loadCargo(double weight) throws OverloadException {
-        if (currentCargo + weight > cargoCapacity) {
+        if (tryLoadCargo(weight) != Outcome.OK) {
             throw new OverloadException("Cargo overload.");
         }
+    }
+
+    @Override
+    public Outcome tryLoadCargo(double weight) {
+        if (currentCargo + weight > cargoCapacity) {
+            return Outcome.OVERLOAD;
+        }
         currentCargo += weight;
+        changed(VehicleChange.CARGO);
+        return Outcome.OK;
     }
 
     @Override
     public void unloadCargo(double weight) throws InvalidOperationException {
-        if (weight > currentCargo) {
+        if (tryUnloadCargo(weight) != Outcome.OK) {
             throw new InvalidOperationException("Cannot unload more than current cargo.");
         }
+    }
+
+    @Override
+    public Outcome tryUnloadCargo(double weight) {
+        if (weight > currentCargo) {
+            return Outcome.INVALID_OPERATION;
+        }
         currentCargo -= weight;
+        changed(VehicleChange.CARGO);
+        return Outcome.OK;
     }
 
     @Override
@@ -106,6 +156,12 @@ public class Truck extends LandVehicle implements FuelConsumable, CargoCarrier,
     @Override
     public void scheduleMaintenance() {
         maintenanceNeeded = true;
+        changed(VehicleChange.MAINTENANCE);
+    }
+
+    @Override
+    public double getLastMaintenanceMileage() {
+        return lastMaintenanceMileage;
     }
 
     @Override
@@ -117,6 +173,7 @@ public class Truck extends LandVehicle implements FuelConsumable, CargoCarrier,
     public void performMaintenance() {
         lastMaintenanceMileage = getCurrentMileage();
         maintenanceNeeded = false;
-        System.out.println("Truck " + getID() + " maintenance performed.");
+        changed(VehicleChange.MAINTENANCE);
+        if (isVerbose()) Log.info("Truck " + getID() + " maintenance performed.");
     }
 }
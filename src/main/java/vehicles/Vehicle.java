@@ -1,12 +1,22 @@
 package vehicles;
 import exceptions.InsufficientFuelException;
 import exceptions.InvalidOperationException;
+import interfaces.Outcome;
+import interfaces.VehicleChange;
+import interfaces.VehicleListener;
+import logging.Log;
 
 public abstract class Vehicle implements Comparable<Vehicle>{
+    // Journeys and maintenance log a line per vehicle. Bulk runs switch that
+    // off for their worker threads so the hot loop never formats or logs.
+    private static final ThreadLocal<Boolean> QUIET = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
     private String id;
     private String model;
     private double maxSpeed;
     private double currentMileage;
+    // Owner told about mileage and maintenance changes; null when not in a fleet
+    private VehicleListener listener;
 
     public Vehicle(String id, String model, double maxSpeed) throws InvalidOperationException{
         if(id == null){
@@ -19,6 +29,21 @@ public abstract class Vehicle implements Comparable<Vehicle>{
     }
 
     public abstract void move(double distance) throws InvalidOperationException,InsufficientFuelException;
+
+    /**
+     * Non-throwing move returning an Outcome code. This default wraps move();
+     * the concrete vehicles implement it directly and build move() on top of it.
+     */
+    public Outcome tryMove(double distance) {
+        try {
+            move(distance);
+            return Outcome.OK;
+        } catch (InsufficientFuelException e) {
+            return Outcome.INSUFFICIENT_FUEL;
+        } catch (InvalidOperationException e) {
+            return Outcome.INVALID_OPERATION;
+        }
+    }
     public abstract double calculateFuelEfficiency();
     public abstract double estimateJourneyTime(double distance) throws InvalidOperationException;
 
@@ -45,9 +70,47 @@ public abstract class Vehicle implements Comparable<Vehicle>{
     public void addMileage(double d){ //cant be protected...needed in persistence.java
         if (d>0){
             this.currentMileage+=d;
+            changed(VehicleChange.MILEAGE);
         }
     }
 
+    public VehicleListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Set (or clear, with null) the listener told about this vehicle's changes.
+     */
+    public void setListener(VehicleListener listener) {
+        this.listener = listener;
+    }
+
+    protected final void changed(VehicleChange change) {
+        VehicleListener l = listener;
+        if (l != null) l.vehicleChanged(this, change);
+    }
+
+    /**
+     * Run the given action with per-vehicle log output suppressed on the current thread.
+     */
+    public static void runQuietly(Runnable action) {
+        boolean previous = QUIET.get();
+        QUIET.set(Boolean.TRUE);
+        try {
+            action.run();
+        } finally {
+            QUIET.set(previous);
+        }
+    }
+
+    /**
+     * True when per-vehicle messages should be built and logged: a sink is
+     * installed and the current thread is not inside runQuietly.
+     */
+    protected static boolean isVerbose() {
+        return Log.isEnabled() && !QUIET.get();
+    }
+
     @Override
      public int compareTo(Vehicle other) {
         return Double.compare(this.calculateFuelEfficiency(), other.calculateFuelEfficiency());
@@ -0,0 +1,40 @@
+package fleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import logging.Log;
+import logging.LogSink;
+import org.junit.jupiter.api.Test;
+import vehicles.Truck;
+
+class ColumnarFleetTest {
+
+    @Test
+    void vehiclesReadBackKeepTheirLastService() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        ColumnarFleet store = new ColumnarFleet();
+        Truck serviced = new Truck("T1", "Actros", 120, 6);
+        serviced.addMileage(15000);
+        serviced.performMaintenance();
+        Truck overdue = new Truck("T2", "Actros", 120, 6);
+        overdue.addMileage(15000);
+        overdue.performMaintenance();
+        overdue.addMileage(11000);
+        store.add(serviced);
+        store.add(overdue);
+
+        Truck back = (Truck) store.getVehicle("T1");
+        assertFalse(store.needsMaintenanceAt(store.indexOf("T1")));
+        assertFalse(back.needsMaintenance());
+        assertEquals(15000.0, back.getLastMaintenanceMileage());
+        assertEquals(15000.0, back.getCurrentMileage());
+
+        back = (Truck) store.getVehicle("T2");
+        assertTrue(store.needsMaintenanceAt(store.indexOf("T2")));
+        assertTrue(back.needsMaintenance());
+        assertEquals(15000.0, back.getLastMaintenanceMileage());
+        assertEquals(26000.0, back.getCurrentMileage());
+    }
+}
@@ -0,0 +1,239 @@
+package fleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import exceptions.InvalidOperationException;
+import interfaces.CargoCarrier;
+import interfaces.Outcome;
+import interfaces.PassengerCarrier;
+import logging.Log;
+import logging.LogSink;
+import org.junit.jupiter.api.Test;
+import vehicles.Bus;
+import vehicles.Car;
+import vehicles.Truck;
+import vehicles.Vehicle;
+
+class ConcurrentFleetManagerTest {
+    private static final int THREADS = 4;
+    private static final int OPS_PER_THREAD = 20_000;
+    private static final int FIXED = 64;   // never removed, so their state can be checked
+    private static final int CHURN = 64;   // added and removed all the time
+
+    @Test
+    void resultsMatchFleetManager() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        FleetManager plain = new FleetManager();
+        ConcurrentFleetManager concurrent = new ConcurrentFleetManager();
+        for (Supplier<Vehicle> s : List.<Supplier<Vehicle>>of(() -> truck("T1"), () -> bus("B1"), () -> car("C1"))) {
+            plain.addVehicle(s.get());
+            concurrent.addVehicle(s.get());
+        }
+        List<Map.Entry<OperationResult, OperationResult>> pairs = List.of(
+                Map.entry(plain.startJourney("T1", 10), concurrent.startJourney("T1", 10)),
+                Map.entry(plain.startJourney("T1", -1), concurrent.startJourney("T1", -1)),
+                Map.entry(plain.startJourney("X", 1), concurrent.startJourney("X", 1)),
+                Map.entry(plain.refuelVehicle("T1", -5), concurrent.refuelVehicle("T1", -5)),
+                Map.entry(plain.loadCargo("C1", 1), concurrent.loadCargo("C1", 1)),
+                Map.entry(plain.loadCargo("T1", 1e9), concurrent.loadCargo("T1", 1e9)),
+                Map.entry(plain.unloadCargo("T1", 1), concurrent.unloadCargo("T1", 1)),
+                Map.entry(plain.addPassengers("B1", 500), concurrent.addPassengers("B1", 500)),
+                Map.entry(plain.removePassengers("B1", 1), concurrent.removePassengers("B1", 1)));
+        for (Map.Entry<OperationResult, OperationResult> p : pairs) assertEquals(p.getKey(), p.getValue());
+    }
+
+    @Test
+    void getVehicleReturnsACopy() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        ConcurrentFleetManager fleet = new ConcurrentFleetManager();
+        fleet.addVehicle(truck("T1"));
+        fleet.refuelVehicle("T1", 100);
+        fleet.loadCargo("T1", 200);
+        fleet.startJourney("T1", 50);
+        Vehicle copy = fleet.getVehicle("T1");
+        assertEquals(50.0, copy.getCurrentMileage());
+        assertEquals(200.0, ((CargoCarrier) copy).getCurrentCargo());
+        copy.addMileage(1000);
+        assertEquals(50.0, fleet.getVehicle("T1").getCurrentMileage());
+        assertEquals(null, fleet.getVehicle("X"));
+    }
+
+    /**
+     * Mixed add/remove/journey/refuel/cargo/passenger traffic from several
+     * threads, with bulk runs and reports in between. Every successful change
+     * to the fixed vehicles is tallied; afterwards their state must equal the
+     * tallies (no lost updates) and membership must match the adds and removes.
+     */
+    @Test
+    void mixedTrafficLosesNoUpdates() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        ConcurrentFleetManager fleet = new ConcurrentFleetManager(16);
+        Map<String, AtomicLong> km = new ConcurrentHashMap<>();
+        Map<String, AtomicLong> cargo = new ConcurrentHashMap<>();
+        Map<String, AtomicLong> passengers = new ConcurrentHashMap<>();
+        Map<String, AtomicLong> membership = new ConcurrentHashMap<>();
+        for (int i = 0; i < FIXED; i++) {
+            String id = "F" + i;
+            fleet.addVehicle(i % 2 == 0 ? truck(id) : bus(id));
+            fleet.refuelVehicle(id, 1_000_000);
+            km.put(id, new AtomicLong());
+            cargo.put(id, new AtomicLong());
+            passengers.put(id, new AtomicLong());
+        }
+        for (int i = 0; i < CHURN; i++) membership.put("X" + i, new AtomicLong());
+
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long seed = t;
+            threads.add(new Thread(() -> {
+                Random rnd = new Random(seed);
+                try {
+                    start.await();
+                    for (int n = 0; n < OPS_PER_THREAD; n++) {
+                        step(fleet, rnd, km, cargo, passengers, membership);
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            }));
+        }
+        threads.add(new Thread(() -> {
+            Random rnd = new Random(99);
+            try {
+                start.await();
+                for (int n = 0; n < 200; n++) {
+                    switch (rnd.nextInt(4)) {
+                        case 0 -> {
+                            BulkResult r = fleet.startAllJourneys(1);
+                            for (String id : r.idsWith(Outcome.OK)) {
+                                AtomicLong total = km.get(id);
+                                if (total != null) total.addAndGet(1);
+                            }
+                        }
+                        case 1 -> fleet.refuelAll(100);
+                        case 2 -> fleet.maintainAll();
+                        default -> fleet.generateReport();
+                    }
+                }
+            } catch (Throwable e) {
+                errors.add(e);
+            }
+        }));
+        for (Thread t : threads) t.start();
+        start.countDown();
+        for (Thread t : threads) t.join();
+
+        assertTrue(errors.isEmpty(), () -> "thread failed: " + errors.peek());
+        for (int i = 0; i < FIXED; i++) {
+            String id = "F" + i;
+            Vehicle v = fleet.getVehicle(id);
+            assertEquals((double) km.get(id).get(), v.getCurrentMileage(), id + " mileage");
+            assertEquals((double) cargo.get(id).get(), ((CargoCarrier) v).getCurrentCargo(), id + " cargo");
+            if (v instanceof PassengerCarrier p) {
+                assertEquals(passengers.get(id).get(), p.getCurrentPassengers(), id + " passengers");
+            }
+        }
+        int present = 0;
+        for (Map.Entry<String, AtomicLong> e : membership.entrySet()) {
+            long net = e.getValue().get();
+            assertTrue(net == 0 || net == 1, e.getKey() + " added " + net + " times more than removed");
+            assertEquals(net == 1, fleet.getVehicle(e.getKey()) != null, e.getKey() + " membership");
+            present += (int) net;
+        }
+        assertEquals(FIXED + present, fleet.size());
+        List<Vehicle> all = fleet.getAll();
+        assertEquals(fleet.size(), all.size());
+        TreeSet<String> models = new TreeSet<>();
+        for (Vehicle v : all) models.add(v.getModel());
+        assertEquals(new ArrayList<>(models), fleet.getDistinctModelsSorted());
+        assertTrue(fleet.generateReport().contains("Total vehicles: " + all.size() + "\n"));
+    }
+
+    private static void step(ConcurrentFleetManager fleet, Random rnd, Map<String, AtomicLong> km,
+                             Map<String, AtomicLong> cargo, Map<String, AtomicLong> passengers,
+                             Map<String, AtomicLong> membership) throws Exception {
+        String fixed = "F" + rnd.nextInt(FIXED);
+        switch (rnd.nextInt(8)) {
+            case 0 -> {
+                String id = "X" + rnd.nextInt(CHURN);
+                try {
+                    fleet.addVehicle(rnd.nextBoolean() ? car(id) : truck(id));
+                    membership.get(id).incrementAndGet();
+                } catch (InvalidOperationException duplicate) {
+                    // already in the fleet
+                }
+            }
+            case 1 -> {
+                String id = "X" + rnd.nextInt(CHURN);
+                try {
+                    fleet.removeVehicle(id);
+                    membership.get(id).decrementAndGet();
+                } catch (InvalidOperationException missing) {
+                    // not in the fleet
+                }
+            }
+            case 2 -> {
+                int d = 1 + rnd.nextInt(20);
+                if (fleet.startJourney(fixed, d).isOk()) km.get(fixed).addAndGet(d);
+            }
+            case 3 -> fleet.refuelVehicle(fixed, 1 + rnd.nextInt(50));
+            case 4 -> {
+                int w = 1 + rnd.nextInt(100);
+                if (fleet.loadCargo(fixed, w).isOk()) cargo.get(fixed).addAndGet(w);
+            }
+            case 5 -> {
+                int w = 1 + rnd.nextInt(100);
+                if (fleet.unloadCargo(fixed, w).isOk()) cargo.get(fixed).addAndGet(-w);
+            }
+            case 6 -> {
+                int n = 1 + rnd.nextInt(5);
+                if (fleet.addPassengers(fixed, n).isOk()) passengers.get(fixed).addAndGet(n);
+            }
+            default -> {
+                int n = 1 + rnd.nextInt(5);
+                if (fleet.removePassengers(fixed, n).isOk()) passengers.get(fixed).addAndGet(-n);
+            }
+        }
+        // Journeys on vehicles that come and go
+        fleet.startJourney("X" + rnd.nextInt(CHURN), 1);
+    }
+
+    private static Vehicle truck(String id) {
+        try {
+            return new Truck(id, "Truck" + (id.hashCode() & 3), 120, 6);
+        } catch (InvalidOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Vehicle bus(String id) {
+        try {
+            return new Bus(id, "Bus" + (id.hashCode() & 3), 90, 6);
+        } catch (InvalidOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Vehicle car(String id) {
+        try {
+            return new Car(id, "Car" + (id.hashCode() & 3), 150, 4);
+        } catch (InvalidOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package fleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import logging.Log;
+import logging.LogSink;
+import org.junit.jupiter.api.Test;
+import vehicles.Vehicle;
+
+/**
+ * CsvChunkLoader against a sequential FleetCsvParser pass over the same
+ * file: the same vehicles in the same order, the same bad-line count and the
+ * same log messages, with line numbers counted over the whole file.
+ */
+class CsvChunkLoaderTest {
+    // Parallelism 4 cuts a file of 2 MB or more into 8 chunks (at least 256 KB each)
+    private static final int THREADS = 4;
+    private static final int LARGE_BYTES = 2 << 20;
+
+    /** Cuts land mid-row and move to the next newline, so rows straddle the nominal chunk boundaries. */
+    @Test
+    void chunkedLoadMatchesSequentialLoad() throws IOException {
+        for (long seed = 1; seed <= 2; seed++) {
+            assertSameBothWays(csv(new Random(seed), LARGE_BYTES, "\n", true), "LF, seed " + seed);
+        }
+        assertSameBothWays(csv(new Random(4), LARGE_BYTES, "\r\n", true), "CRLF");
+        assertSameBothWays(csv(new Random(5), LARGE_BYTES, null, true), "mixed line endings");
+    }
+
+    @Test
+    void lastRowWithoutNewline() throws IOException {
+        String text = csv(new Random(6), LARGE_BYTES, "\n", false);
+        assertFalse(text.endsWith("\n"));
+        assertSameBothWays(text, "large");
+        assertSameBothWays("Car,C1,Civic,150,4,20,100,false", "single row");
+    }
+
+    @Test
+    void emptyAndBlankFiles() throws IOException {
+        assertSameBothWays("", "empty");
+        assertSameBothWays("\n\n# only a comment\n   \n", "blank");
+    }
+
+    private static void assertSameBothWays(String text, String what) throws IOException {
+        Path file = Files.createTempFile("fleet", ".csv");
+        ForkJoinPool pool = new ForkJoinPool(THREADS);
+        LogSink previous = Log.getSink();
+        try {
+            Files.writeString(file, text, StandardCharsets.UTF_8);
+
+            List<String> sequentialLog = new ArrayList<>();
+            Log.setSink(sequentialLog::add);
+            List<Vehicle> sequential = new ArrayList<>();
+            FleetCsvParser parser = new FleetCsvParser();
+            try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                parser.readAll(in, sequential);
+            }
+
+            List<String> chunkedLog = new ArrayList<>();
+            Log.setSink(chunkedLog::add);
+            List<Vehicle> chunked = new ArrayList<>();
+            int badLines = CsvChunkLoader.load(file, StandardCharsets.UTF_8, pool, chunked);
+
+            assertEquals(FleetCsvParserTest.describe(sequential), FleetCsvParserTest.describe(chunked), what);
+            assertEquals(parser.badLines(), badLines, what + ": bad lines");
+            assertEquals(sequentialLog, chunkedLog, what + ": log");
+        } finally {
+            Log.setSink(previous);
+            pool.shutdown();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // At least `bytes` bytes of rows (some bad, some comments or blank),
+    // ending in `end`, or a random line ending per line when `end` is null
+    private static String csv(Random rnd, int bytes, String end, boolean finalNewline) {
+        StringBuilder out = new StringBuilder("# type,id,model,...");
+        for (int i = 0; out.length() < bytes; i++) {
+            out.append(end != null ? end : FleetCsvParserTest.lineEnd(rnd));
+            out.append(rnd.nextInt(40) == 0 ? "" : FleetCsvParserTest.row(rnd, i));
+        }
+        if (finalNewline) out.append(end != null ? end : "\n");
+        return out.toString();
+    }
+}
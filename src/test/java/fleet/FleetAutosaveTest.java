@@ -0,0 +1,126 @@
+package fleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.BooleanSupplier;
+
+import logging.Log;
+import logging.LogSink;
+import org.junit.jupiter.api.Test;
+import vehicles.Car;
+
+class FleetAutosaveTest {
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    /** A change is saved at the first check that finds the fleet unchanged. */
+    @Test
+    void savesOnceQuiet() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        Path dir = Files.createTempDirectory("autosave");
+        try {
+            FleetManager fleet = new FleetManager();
+            try (FleetJournal journal = FleetJournal.open(dir, FleetJournal.Sync.NONE)) {
+                fleet.useJournal(journal);
+                try (FleetAutosave autosave = new FleetAutosave(journal, 10, 60_000)) {
+                    fleet.addVehicle(new Car("C1", "Civic", 150, 4));
+                    fleet.refuelVehicle("C1", 5);
+                    await(() -> !journal.hasUnsavedChanges(), "saved");
+                    assertEquals(1, autosave.saves());
+                    assertTrue(autosave.bytesWritten() > 0);
+                    assertNull(autosave.lastError());
+                    assertEquals(0, autosave.queueDepth());
+                }
+            }
+            assertEquals(FleetCsvParserTest.describe(fleet.getAll()), FleetJournalTest.recovered(dir));
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /** A fleet that never stops changing is still saved once its oldest change is maxDelayMillis old. */
+    @Test
+    void busyFleetIsSavedByMaxDelay() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        Path dir = Files.createTempDirectory("autosave");
+        try {
+            FleetManager fleet = new FleetManager();
+            try (FleetJournal journal = FleetJournal.open(dir, FleetJournal.Sync.NONE)) {
+                fleet.useJournal(journal);
+                fleet.addVehicle(new Car("C1", "Civic", 150, 4));
+                journal.commit();
+                try (FleetAutosave autosave = new FleetAutosave(journal, 20, 200)) {
+                    // A change every millisecond, so no check finds the fleet quiet
+                    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+                    while (autosave.saves() == 0 && System.currentTimeMillis() < deadline) {
+                        fleet.refuelVehicle("C1", 1);
+                        fleet.startJourney("C1", 0.1);
+                        Thread.sleep(1);
+                    }
+                    assertTrue(autosave.saves() > 0, "saved while busy");
+                }
+            }
+            assertEquals(FleetCsvParserTest.describe(fleet.getAll()), FleetJournalTest.recovered(dir));
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /** A failed save is reported and retried by later checks until it succeeds. */
+    @Test
+    void retriesAfterFailure() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        Path dir = Files.createTempDirectory("autosave");
+        try {
+            FleetManager fleet = new FleetManager();
+            try (FleetJournal journal = FleetJournal.open(dir, FleetJournal.Sync.NONE)) {
+                fleet.useJournal(journal);
+                for (int i = 0; i < 10; i++) fleet.addVehicle(new Car("C" + i, "Civic", 100 + i, 4));
+                journal.commit();
+
+                // A reorder needs a new snapshot, and a non-empty directory in its place cannot be replaced
+                Path blocked = dir.resolve("fleet-" + (journal.generation() + 1) + ".snapshot");
+                Files.createDirectory(blocked);
+                Files.createFile(blocked.resolve("x"));
+                try (FleetAutosave autosave = new FleetAutosave(journal, 10, 20)) {
+                    fleet.sortFleetByEfficiency();
+                    fleet.refuelVehicle("C3", 5);
+                    await(() -> autosave.lastError() != null, "save failed");
+                    assertTrue(journal.hasUnsavedChanges());
+
+                    Files.delete(blocked.resolve("x"));
+                    Files.delete(blocked);
+                    await(() -> !journal.hasUnsavedChanges(), "saved after the failure");
+                    assertNull(autosave.lastError());
+                    assertTrue(autosave.saves() > 0);
+                }
+            }
+            assertEquals(FleetCsvParserTest.describe(fleet.getAll()), FleetJournalTest.recovered(dir));
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    private static void await(BooleanSupplier condition, String what) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting: " + what);
+            Thread.sleep(5);
+        }
+    }
+
+    private static void deleteAll(Path dir) throws IOException {
+        try (DirectoryStream<Path> s = Files.newDirectoryStream(dir)) {
+            for (Path f : s) {
+                if (Files.isDirectory(f)) deleteAll(f);
+                else Files.deleteIfExists(f);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+}
@@ -0,0 +1,309 @@
+package fleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import interfaces.CargoCarrier;
+import interfaces.FuelConsumable;
+import interfaces.Maintainable;
+import interfaces.PassengerCarrier;
+import logging.Log;
+import logging.LogSink;
+import org.junit.jupiter.api.Test;
+import vehicles.Airplane;
+import vehicles.Bus;
+import vehicles.Car;
+import vehicles.CargoShip;
+import vehicles.Truck;
+import vehicles.Vehicle;
+
+/**
+ * FleetCsvParser against the String.split loader it replaced (legacyLoad
+ * below, the same code as benchmarks' LegacyCsvLoader): both must restore
+ * the same vehicles and reject the same lines.
+ */
+class FleetCsvParserTest {
+    private static final Pattern LINE_NO = Pattern.compile("line (\\d+)");
+    private static final String[] TYPES = {"Car", "Truck", "Bus", "Airplane", "CargoShip", "Boat", "car", ""};
+    private static final String[] MODELS = {"Civic", "Actros", "A320", "", " Spaced ", "Model-X"};
+    private static final String[] BOOLEANS = {"true", "false", "TRUE", "False", "yes", "", "1"};
+    // Oddities accepted or rejected by Double.parseDouble, and saveFleet's own output
+    private static final String[] ODD_DOUBLES = {
+            "+12.5", ".5", "5.", "-0", "-0.0", "1e3", "1E-2", "2.5e+1", "NaN", "Infinity", "-Infinity",
+            "1e400", "0x1p4", "7d", "3f", "0.12345678901234567890", "12345678901234567", "000012.50",
+            "0.0000000000000000000000001", " 42 ", "", ".", "+", "-", "1.2.3", "abc", "1_000", "--1", "١٢"};
+    private static final String[] ODD_INTS = {
+            "+4", "-3", "0004", "2147483647", "2147483648", "-2147483648", "4.0", " 4", "", "+", "x", "99999999999"};
+
+    /** Random rows, number formats and line endings: the same vehicles and rejected lines as the old loader. */
+    @Test
+    void matchesTheSplitLoaderOnRandomRows() throws IOException {
+        for (long seed = 1; seed <= 20; seed++) {
+            Random rnd = new Random(seed);
+            StringBuilder csv = new StringBuilder("# type,id,model,...\n");
+            int rows = 500 + rnd.nextInt(500);
+            for (int i = 0; i < rows; i++) {
+                csv.append(rnd.nextInt(30) == 0 ? (rnd.nextBoolean() ? "   " : "# comment") : row(rnd, i));
+                if (i < rows - 1 || rnd.nextBoolean()) csv.append(lineEnd(rnd));
+            }
+            assertSameAsLegacy(csv.toString(), "seed " + seed);
+        }
+    }
+
+    /** LF, CRLF and CR endings, with and without a newline after the last row. */
+    @Test
+    void lineEndingsAndLastLine() throws IOException {
+        String[] rows = {
+                "Car,C1,Civic,150,4,20,100,false",
+                "Truck,T1,Actros,120,6,50,1000,200,true",
+                "",
+                "Bus,B1,Citaro,90,6,30,0,12,50,false",
+                "Airplane,A1,A320,900,12000,500,0,100,2000,3000,false",
+                "CargoShip,S1,Emma,40,true,0,5000,100,false"};
+        for (String end : new String[] {"\n", "\r\n", "\r"}) {
+            String body = String.join(end, rows);
+            assertSameAsLegacy(body, "no newline after last row, " + end.length());
+            assertSameAsLegacy(body + end, "newline after last row, " + end.length());
+            assertSameAsLegacy(body + end + end + "   " + end, "trailing blank lines, " + end.length());
+        }
+        assertSameAsLegacy("", "empty");
+        assertSameAsLegacy("\r\n\n\r", "only line ends");
+        assertSameAsLegacy("Car,C1,Civic,150,4,20,100,false\r\nCar,C2,Civic,150,4,20,100,true", "mixed");
+    }
+
+    /** The fast number paths agree with the JDK parsers, including which inputs are rejected. */
+    @Test
+    void numbersParseLikeTheJdk() {
+        for (String s : ODD_DOUBLES) {
+            char[] b = s.toCharArray();
+            assertEquals(jdkDouble(s), fastDouble(b), "parseDouble(\"" + s + "\")");
+        }
+        for (String s : ODD_INTS) {
+            char[] b = s.toCharArray();
+            assertEquals(jdkInt(s), fastInt(b), "parseInt(\"" + s + "\")");
+        }
+        Random rnd = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            String s = plainDouble(rnd, Math.pow(10, rnd.nextInt(12)));
+            assertEquals(jdkDouble(s), fastDouble(s.toCharArray()), "parseDouble(\"" + s + "\")");
+        }
+    }
+
+    // Both loaders over `csv`: equal vehicles, and the same lines rejected
+    private static void assertSameAsLegacy(String csv, String what) throws IOException {
+        List<String> legacyLog = new ArrayList<>();
+        List<String> parserLog = new ArrayList<>();
+        LogSink previous = Log.getSink();
+        try {
+            Log.setSink(legacyLog::add);
+            List<Vehicle> expected = legacyLoad(csv);
+            Log.setSink(parserLog::add);
+            List<Vehicle> actual = new ArrayList<>();
+            FleetCsvParser parser = new FleetCsvParser();
+            parser.readAll(new StringReader(csv), actual);
+
+            assertEquals(describe(expected), describe(actual), what);
+            assertEquals(lineNumbers(legacyLog), lineNumbers(parserLog), what + ": rejected lines");
+            assertEquals(legacyLog.size(), parser.badLines(), what + ": bad line count");
+        } finally {
+            Log.setSink(previous);
+        }
+    }
+
+    /** One line per vehicle with every restored field; doubles are written exactly. */
+    static List<String> describe(List<Vehicle> vehicles) {
+        List<String> out = new ArrayList<>(vehicles.size());
+        for (Vehicle v : vehicles) {
+            out.add(String.join("|", v.getClass().getSimpleName(), v.getID(), v.getModel(),
+                    Double.toString(v.getMaxSpeed()), Double.toString(VehicleType.paramOf(v)),
+                    v instanceof FuelConsumable f ? Double.toString(f.getFuelLevel()) : "-",
+                    v instanceof CargoCarrier c ? Double.toString(c.getCurrentCargo()) : "-",
+                    v instanceof PassengerCarrier p ? Integer.toString(p.getCurrentPassengers()) : "-",
+                    Double.toString(v.getCurrentMileage()),
+                    v instanceof Maintainable m ? m.needsMaintenance() + "@" + m.getLastMaintenanceMileage() : "-"));
+        }
+        return out;
+    }
+
+    private static List<Integer> lineNumbers(List<String> log) {
+        List<Integer> out = new ArrayList<>();
+        for (String message : log) {
+            Matcher m = LINE_NO.matcher(message);
+            out.add(m.find() ? Integer.parseInt(m.group(1)) : -1);
+        }
+        return out;
+    }
+
+    static String row(Random rnd, int i) {
+        String type = TYPES[rnd.nextInt(10) < 8 ? rnd.nextInt(5) : rnd.nextInt(TYPES.length)];
+        int fields = switch (type) {
+            case "Car" -> 8;
+            case "Truck", "CargoShip" -> 9;
+            case "Bus" -> 10;
+            default -> 11;
+        };
+        List<String> f = new ArrayList<>();
+        f.add(type);
+        f.add("V" + i);
+        f.add(MODELS[rnd.nextInt(MODELS.length)]);
+        f.add(number(rnd, 300));                                               // maxSpeed
+        f.add(switch (type) {
+            case "Airplane" -> number(rnd, 12_000);                            // maxAltitude
+            case "CargoShip" -> BOOLEANS[rnd.nextInt(BOOLEANS.length)];        // hasSail
+            default -> rnd.nextInt(10) == 0 ? ODD_INTS[rnd.nextInt(ODD_INTS.length)] : Integer.toString(2 + rnd.nextInt(16));
+        });
+        while (f.size() < fields - 1) {
+            // fuel, cargo or passengers; passenger counts are whole numbers
+            boolean passengers = (type.equals("Bus") || type.equals("Airplane")) && f.size() == 7;
+            f.add(passengers && rnd.nextInt(10) != 0 ? Integer.toString(rnd.nextInt(250)) : number(rnd, 600));
+        }
+        f.add(BOOLEANS[rnd.nextInt(BOOLEANS.length)]);                         // needsMaintenance
+        // Occasionally too few fields, extra fields or trailing empty fields
+        switch (rnd.nextInt(25)) {
+            case 0 -> f.remove(f.size() - 1);
+            case 1 -> f.add("extra");
+            case 2 -> f.add("");
+            default -> { }
+        }
+        String line = String.join(",", f);
+        if (rnd.nextInt(20) == 0) line = (rnd.nextBoolean() ? " " : "\t") + line + "  ";
+        return rnd.nextInt(20) == 0 ? line + ",," : line;
+    }
+
+    private static String number(Random rnd, double scale) {
+        if (rnd.nextInt(8) == 0) return ODD_DOUBLES[rnd.nextInt(ODD_DOUBLES.length)];
+        return plainDouble(rnd, scale);
+    }
+
+    // Numbers as saveFleet writes them (Double.toString), plus fixed decimals and signs
+    private static String plainDouble(Random rnd, double scale) {
+        double v = rnd.nextDouble() * scale;
+        return switch (rnd.nextInt(5)) {
+            case 0 -> Double.toString(v);
+            case 1 -> String.format(Locale.ROOT, "%." + rnd.nextInt(8) + "f", v);
+            case 2 -> "+" + Math.round(v);
+            case 3 -> Double.toString(Math.round(v * 100) / 100.0);
+            default -> Long.toString(Math.round(v));
+        };
+    }
+
+    static String lineEnd(Random rnd) {
+        return switch (rnd.nextInt(6)) {
+            case 0 -> "\r\n";
+            case 1 -> "\r";
+            default -> "\n";
+        };
+    }
+
+    private static Object jdkDouble(String s) {
+        try {
+            return Double.parseDouble(s);
+        } catch (NumberFormatException e) {
+            return "rejected";
+        }
+    }
+
+    private static Object fastDouble(char[] b) {
+        try {
+            return FleetCsvParser.parseDouble(b, 0, b.length);
+        } catch (NumberFormatException e) {
+            return "rejected";
+        }
+    }
+
+    private static Object jdkInt(String s) {
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            return "rejected";
+        }
+    }
+
+    private static Object fastInt(char[] b) {
+        try {
+            return FleetCsvParser.parseInt(b, 0, b.length);
+        } catch (NumberFormatException e) {
+            return "rejected";
+        }
+    }
+
+    // Persistence.loadFleet before FleetCsvParser: trim, String.split and the
+    // throwing refuel/loadCargo/boardPassengers calls
+    private static List<Vehicle> legacyLoad(String csv) throws IOException {
+        List<Vehicle> fleet = new ArrayList<>();
+        BufferedReader br = new BufferedReader(new StringReader(csv));
+        String line;
+        int lineNo = 0;
+        while ((line = br.readLine()) != null) {
+            lineNo++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue; // skip header/comments
+            String[] parts = line.split(",");
+            String type = parts[0]; // vehicle type
+            try {
+                switch (type) {
+                    case "Car" -> {
+                        if (parts.length < 8) throw new IllegalArgumentException("Not enough fields for Car");
+                        Car c = new Car(parts[1], parts[2], Double.parseDouble(parts[3]), Integer.parseInt(parts[4]));
+                        if (Double.parseDouble(parts[5]) > 0.0) c.refuel(Double.parseDouble(parts[5]));
+                        c.addMileage(Double.parseDouble(parts[6]));
+                        if (Boolean.parseBoolean(parts[7])) c.scheduleMaintenance();
+                        fleet.add(c);
+                    }
+                    case "Truck" -> {
+                        if (parts.length < 9) throw new IllegalArgumentException("Not enough fields for Truck");
+                        Truck t = new Truck(parts[1], parts[2], Double.parseDouble(parts[3]), Integer.parseInt(parts[4]));
+                        if (Double.parseDouble(parts[5]) > 0.0) t.refuel(Double.parseDouble(parts[5]));
+                        t.loadCargo(Double.parseDouble(parts[6]));
+                        t.addMileage(Double.parseDouble(parts[7]));
+                        if (Boolean.parseBoolean(parts[8])) t.scheduleMaintenance();
+                        fleet.add(t);
+                    }
+                    case "Bus" -> {
+                        if (parts.length < 10) throw new IllegalArgumentException("Not enough fields for Bus");
+                        Bus b = new Bus(parts[1], parts[2], Double.parseDouble(parts[3]), Integer.parseInt(parts[4]));
+                        if (Double.parseDouble(parts[5]) > 0.0) b.refuel(Double.parseDouble(parts[5]));
+                        b.boardPassengers(Integer.parseInt(parts[7]));
+                        b.addMileage(Double.parseDouble(parts[8]));
+                        if (Boolean.parseBoolean(parts[9])) b.scheduleMaintenance();
+                        fleet.add(b);
+                    }
+                    case "Airplane" -> {
+                        if (parts.length < 11) throw new IllegalArgumentException("Not enough fields for Airplane");
+                        Airplane a = new Airplane(parts[1], parts[2], Double.parseDouble(parts[3]), Double.parseDouble(parts[4]));
+                        if (Double.parseDouble(parts[5]) > 0.0) a.refuel(Double.parseDouble(parts[5]));
+                        a.boardPassengers(Integer.parseInt(parts[7]));
+                        a.loadCargo(Double.parseDouble(parts[8]));
+                        a.addMileage(Double.parseDouble(parts[9]));
+                        if (Boolean.parseBoolean(parts[10])) a.scheduleMaintenance();
+                        fleet.add(a);
+                    }
+                    case "CargoShip" -> {
+                        if (parts.length < 9) throw new IllegalArgumentException("Not enough fields for CargoShip");
+                        CargoShip s = new CargoShip(parts[1], parts[2], Double.parseDouble(parts[3]), Boolean.parseBoolean(parts[4]));
+                        if (!s.hasSail()) {
+                            if (Double.parseDouble(parts[5]) > 0.0) s.refuel(Double.parseDouble(parts[5]));
+                        }
+                        s.loadCargo(Double.parseDouble(parts[6]));
+                        s.addMileage(Double.parseDouble(parts[7]));
+                        if (Boolean.parseBoolean(parts[8])) s.scheduleMaintenance();
+                        fleet.add(s);
+                    }
+                    default -> Log.info("Unknown type: " + type + " at line " + lineNo);
+                }
+            } catch (Exception e) {
+                Log.info("Error restoring vehicle from line " + lineNo + ": " + e.getMessage());
+            }
+        }
+        return fleet;
+    }
+}
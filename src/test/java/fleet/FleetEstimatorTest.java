@@ -0,0 +1,98 @@
+package fleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import jdk.incubator.vector.DoubleVector;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Vector API kernels against the scalar loops, for every length around
+ * the first few multiples of the vector width (so every tail length is
+ * covered) and for zero, negative and positive inputs.
+ */
+class FleetEstimatorTest {
+    private static final int LANES = DoubleVector.SPECIES_PREFERRED.length();
+    private static final double[] DISTANCES = {0.0, 1.0, 123.456, 1e6};
+
+    @Test
+    void fuelKernelMatchesScalarBitForBit() {
+        Random rnd = new Random(1);
+        for (int n = 0; n <= 4 * LANES + 1; n++) {
+            double[] eff = inputs(rnd, n);
+            for (double d : DISTANCES) {
+                double[] vector = new double[n];
+                double[] scalar = new double[n];
+                VectorKernels.fuel(d, eff, vector);
+                FleetEstimator.scalarFuel(d, eff, scalar);
+                for (int i = 0; i < n; i++) assertEquals(scalar[i], vector[i], "n=" + n + " i=" + i);
+            }
+        }
+    }
+
+    @Test
+    void timeKernelMatchesScalarBitForBit() {
+        Random rnd = new Random(2);
+        for (int n = 0; n <= 4 * LANES + 1; n++) {
+            double[] speed = inputs(rnd, n);
+            double[] factor = inputs(rnd, n);
+            for (double d : DISTANCES) {
+                double[] vector = new double[n];
+                double[] scalar = new double[n];
+                VectorKernels.time(d, speed, factor, vector);
+                FleetEstimator.scalarTime(d, speed, factor, scalar);
+                for (int i = 0; i < n; i++) assertEquals(scalar[i], vector[i], "n=" + n + " i=" + i);
+            }
+        }
+    }
+
+    @Test
+    void totalFuelKernelMatchesScalar() {
+        Random rnd = new Random(3);
+        for (int n = 0; n <= 4 * LANES + 1; n++) {
+            double[] eff = inputs(rnd, n);
+            for (double d : DISTANCES) {
+                double vector = VectorKernels.totalFuel(d, eff);
+                double scalar = FleetEstimator.scalarTotalFuel(d, eff);
+                // lanes are summed separately, so only the last bits may differ
+                assertTrue(Math.abs(vector - scalar) <= 1e-12 * Math.max(1.0, Math.abs(scalar)),
+                        "n=" + n + " d=" + d + ": " + vector + " vs " + scalar);
+            }
+        }
+    }
+
+    @Test
+    void largeFleetUsesTheSameKernels() {
+        double[] eff = inputs(new Random(4), 10_003);
+        double[] speed = inputs(new Random(5), eff.length);
+        double[] factor = inputs(new Random(6), eff.length);
+        FleetEstimator estimator = new FleetEstimator(eff, speed, factor);
+        double[][] fuel = estimator.fuelNeeded(DISTANCES);
+        double[][] time = estimator.journeyTimes(DISTANCES);
+        for (int d = 0; d < DISTANCES.length; d++) {
+            double[] scalarFuel = new double[eff.length];
+            double[] scalarTime = new double[eff.length];
+            FleetEstimator.scalarFuel(DISTANCES[d], eff, scalarFuel);
+            FleetEstimator.scalarTime(DISTANCES[d], speed, factor, scalarTime);
+            for (int i = 0; i < eff.length; i++) {
+                assertEquals(scalarFuel[i], fuel[d][i]);
+                assertEquals(scalarTime[i], time[d][i]);
+            }
+        }
+    }
+
+    // Positive values with zeros and negatives mixed in
+    private static double[] inputs(Random rnd, int n) {
+        double[] out = new double[n];
+        for (int i = 0; i < n; i++) {
+            out[i] = switch (rnd.nextInt(4)) {
+                case 0 -> 0.0;
+                case 1 -> -rnd.nextDouble() * 20;
+                default -> rnd.nextDouble() * 20;
+            };
+        }
+        return out;
+    }
+}
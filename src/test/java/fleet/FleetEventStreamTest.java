@@ -0,0 +1,125 @@
+package fleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class FleetEventStreamTest {
+    private static final int PRODUCERS = 4;
+    private static final int EVENTS_PER_PRODUCER = 100_000;
+    private static final int BLOCKED_EVENTS_PER_PRODUCER = 10_000;  // writers park on the reader
+
+    @Test
+    void dropSubscriberSkipsToTheOldestEventStillInTheRing() {
+        FleetEventStream stream = new FleetEventStream(8);
+        FleetEventStream.Subscription s = stream.subscribe(FleetEventStream.Overflow.DROP);
+        for (int i = 0; i < 100; i++) stream.publish(FleetEvent.Kind.RELOADED, null, i);
+        List<FleetEvent> got = new ArrayList<>();
+        s.poll(1000, got);
+        assertEquals(8, got.size());
+        assertEquals(92L, got.get(0).sequence());
+        assertEquals(92L, s.dropped());
+        assertEquals(0L, s.lag());
+    }
+
+    /**
+     * A writer that claimed sequence 1, then was lapped before it stored its
+     * event, must not put it over the newer event in the slot: the reader
+     * would take the old event for "not yet published" and wait forever.
+     */
+    @Test
+    void lappedWriterDoesNotOverwriteANewerEvent() {
+        FleetEventStream stream = new FleetEventStream(8);
+        FleetEventStream.Subscription s = stream.subscribe(FleetEventStream.Overflow.DROP);
+        for (int i = 0; i < 10; i++) stream.publish(FleetEvent.Kind.RELOADED, null, i);
+        stream.store(new FleetEvent(1, FleetEvent.Kind.RELOADED, null, 1));  // the late writer of sequence 1
+        List<FleetEvent> got = new ArrayList<>();
+        s.poll(1000, got);
+        assertEquals(8, got.size());
+        assertEquals(9L, got.get(7).sequence());
+        assertEquals(9.0, got.get(7).value());
+        assertEquals(0L, s.lag());
+    }
+
+    /**
+     * Many writers on a tiny ring lap each other all the time. The reader must
+     * never stall, must see sequences in increasing order, and every published
+     * event must end up delivered or counted as dropped.
+     */
+    @Test
+    void lappingWritersNeverStallADropReader() throws Exception {
+        FleetEventStream stream = new FleetEventStream(8);
+        FleetEventStream.Subscription s = stream.subscribe(FleetEventStream.Overflow.DROP);
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        CountDownLatch done = new CountDownLatch(PRODUCERS);
+        for (Thread t : producers(stream, EVENTS_PER_PRODUCER, done, errors)) t.start();
+
+        List<FleetEvent> batch = new ArrayList<>();
+        long last = -1;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (done.getCount() > 0 || s.lag() > 0) {
+            assertTrue(System.nanoTime() < deadline, () -> "reader stalled at lag " + s.lag());
+            batch.clear();
+            s.poll(64, batch);
+            for (FleetEvent e : batch) {
+                assertTrue(e.sequence() > last, "sequences out of order");
+                last = e.sequence();
+            }
+            if (batch.isEmpty()) Thread.onSpinWait();
+        }
+        assertTrue(errors.isEmpty(), () -> "producer failed: " + errors.peek());
+        assertEquals((long) PRODUCERS * EVENTS_PER_PRODUCER, stream.published());
+        assertEquals(stream.published(), s.delivered() + s.dropped());
+    }
+
+    /** A BLOCK subscriber holds writers back, so it sees every event exactly once. */
+    @Test
+    void blockSubscriberLosesNothingUnderContention() throws Exception {
+        FleetEventStream stream = new FleetEventStream(4);
+        List<Long> seen = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(PRODUCERS);
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        try (FleetEventStream.Subscription s = stream.subscribe(FleetEventStream.Overflow.BLOCK)) {
+            for (Thread t : producers(stream, BLOCKED_EVENTS_PER_PRODUCER, done, errors)) t.start();
+            List<FleetEvent> batch = new ArrayList<>();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (done.getCount() > 0 || s.lag() > 0) {
+                assertTrue(System.nanoTime() < deadline, () -> "reader stalled at lag " + s.lag());
+                batch.clear();
+                s.poll(16, batch);
+                for (FleetEvent e : batch) seen.add(e.sequence());
+            }
+            assertEquals(0L, s.dropped());
+        }
+        assertTrue(errors.isEmpty(), () -> "producer failed: " + errors.peek());
+        assertEquals(PRODUCERS * BLOCKED_EVENTS_PER_PRODUCER, seen.size());
+        for (int i = 0; i < seen.size(); i++) assertEquals((long) i, (long) seen.get(i));
+    }
+
+    private static List<Thread> producers(FleetEventStream stream, int events, CountDownLatch done, Queue<Throwable> errors) {
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < events; i++) {
+                        stream.publish(FleetEvent.Kind.MILEAGE, null, i);
+                        if ((i & 1023) == 0) Thread.yield();  // let writers interleave and lap each other
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                } finally {
+                    done.countDown();
+                }
+            }));
+        }
+        return threads;
+    }
+}
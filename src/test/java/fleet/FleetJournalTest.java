@@ -0,0 +1,225 @@
+package fleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import exceptions.InvalidOperationException;
+import logging.Log;
+import logging.LogSink;
+import org.junit.jupiter.api.Test;
+import vehicles.Car;
+
+class FleetJournalTest {
+    // Large enough that only the tests that ask for it compact
+    private static final long NEVER = Long.MAX_VALUE;
+
+    /** Adds, changes and removals appended to the journal come back on recovery. */
+    @Test
+    void appendThenRecover() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            FleetManager fleet = new FleetManager();
+            try (FleetJournal journal = FleetJournal.open(dir, FleetJournal.Sync.DATA, NEVER)) {
+                fleet.useJournal(journal);
+                addCars(fleet, "C", 100);
+                journal.commit();
+                long generation = journal.generation();
+
+                fleet.refuelVehicle("C3", 5);
+                fleet.refuelVehicle("C7", 2);
+                fleet.removeVehicle("C9");
+                fleet.addVehicle(new Car("N1", null, 120, 4));
+                assertEquals(4, journal.commit());
+                assertEquals(0, journal.commit());
+                assertEquals(generation, journal.generation());
+                assertTrue(journal.journalBytes() > FleetJournal.HEADER_SIZE);
+                assertFalse(journal.hasUnsavedChanges());
+            }
+            assertEquals(FleetCsvParserTest.describe(fleet.getAll()), recovered(dir));
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /** A record cut short by a crash is dropped and the journal truncated to the last whole commit. */
+    @Test
+    void tornTailIsDropped() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            FleetManager fleet = new FleetManager();
+            Path file;
+            long size;
+            try (FleetJournal journal = FleetJournal.open(dir, FleetJournal.Sync.NONE, NEVER)) {
+                fleet.useJournal(journal);
+                addCars(fleet, "C", 50);
+                journal.commit();
+                fleet.refuelVehicle("C1", 3);
+                journal.commit();
+                file = dir.resolve("fleet-" + journal.generation() + ".journal");
+                size = journal.journalBytes();
+            }
+            assertEquals(size, Files.size(file));
+            // Half a record: its length and checksum, and a few payload bytes
+            ByteBuffer torn = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN).putInt(200).putInt(0x1234).putInt(7);
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.APPEND)) {
+                ch.write(torn.flip());
+            }
+
+            assertEquals(FleetCsvParserTest.describe(fleet.getAll()), recovered(dir));
+            assertEquals(size, Files.size(file));
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /** Compacting writes a new snapshot generation, deletes the old files and recovers the same fleet. */
+    @Test
+    void compaction() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            FleetManager fleet = new FleetManager();
+            long generation;
+            try (FleetJournal journal = FleetJournal.open(dir, FleetJournal.Sync.DATA, NEVER)) {
+                fleet.useJournal(journal);
+                addCars(fleet, "C", 100);
+                journal.commit();
+                fleet.refuelVehicle("C5", 1);
+                journal.commit();
+                generation = journal.generation();
+
+                assertEquals(100, journal.compact());
+                assertEquals(generation + 1, journal.generation());
+                assertEquals(FleetJournal.HEADER_SIZE, journal.journalBytes());
+
+                // A reorder cannot be journaled, so the next commit compacts
+                fleet.sortFleetByEfficiency();
+                assertTrue(journal.hasUnsavedChanges());
+                assertEquals(100, journal.commit());
+                assertEquals(generation + 2, journal.generation());
+            }
+            long last = generation + 2;
+            assertEquals(List.of("fleet-" + last + ".journal", "fleet-" + last + ".snapshot"), names(dir));
+            assertEquals(FleetCsvParserTest.describe(fleet.getAll()), recovered(dir));
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /**
+     * A commit that fails after part of it reached the file cuts the journal
+     * back, keeps the changes unsaved and saves them with the next commit.
+     */
+    @Test
+    void failedAppendLeavesNoTornRecord() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            FleetManager fleet = new FleetManager();
+            try (FleetJournal journal = FleetJournal.open(dir, FleetJournal.Sync.DATA, NEVER)) {
+                fleet.useJournal(journal);
+                addCars(fleet, "C", 2500);
+                journal.commit();
+                long generation = journal.generation();
+                long size = journal.journalBytes();
+
+                // More than the write buffer, so part of the commit is written before
+                // it fails on a record too large for the buffer
+                addCars(fleet, "N", 1000);
+                fleet.addVehicle(new Car("B1", "x".repeat(100_000), 150, 4));
+                assertThrows(IOException.class, journal::commit);
+                assertEquals(size, journal.journalBytes());
+                assertEquals(size, Files.size(dir.resolve("fleet-" + generation + ".journal")));
+                assertTrue(journal.hasUnsavedChanges());
+
+                // A snapshot has no such limit
+                assertEquals(3501, journal.commit());
+                assertEquals(generation + 1, journal.generation());
+                assertFalse(journal.hasUnsavedChanges());
+            }
+            assertEquals(FleetCsvParserTest.describe(fleet.getAll()), recovered(dir));
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /** A compaction that cannot write its snapshot keeps the old generation and is retried. */
+    @Test
+    void failedCompactionIsRetried() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            FleetManager fleet = new FleetManager();
+            try (FleetJournal journal = FleetJournal.open(dir, FleetJournal.Sync.DATA, NEVER)) {
+                fleet.useJournal(journal);
+                addCars(fleet, "C", 20);
+                journal.commit();
+                long generation = journal.generation();
+                fleet.refuelVehicle("C2", 4);
+
+                // A non-empty directory where the next snapshot goes cannot be replaced
+                Path blocked = dir.resolve("fleet-" + (generation + 1) + ".snapshot");
+                Files.createDirectory(blocked);
+                Files.createFile(blocked.resolve("x"));
+                assertThrows(IOException.class, journal::compact);
+                assertEquals(generation, journal.generation());
+                assertTrue(journal.hasUnsavedChanges());
+                Files.delete(blocked.resolve("x"));
+                Files.delete(blocked);
+
+                assertEquals(20, journal.commit());
+                assertEquals(generation + 1, journal.generation());
+                assertFalse(journal.hasUnsavedChanges());
+            }
+            assertEquals(FleetCsvParserTest.describe(fleet.getAll()), recovered(dir));
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    private static void addCars(FleetManager fleet, String prefix, int n) throws InvalidOperationException {
+        for (int i = 0; i < n; i++) {
+            fleet.addVehicle(new Car(prefix + i, "Model " + i % 7, 100 + i % 50, 4));
+        }
+    }
+
+    // The fleet a fresh manager recovers from `dir`
+    static List<String> recovered(Path dir) throws IOException {
+        FleetManager fleet = new FleetManager();
+        try (FleetJournal journal = FleetJournal.open(dir, FleetJournal.Sync.NONE, NEVER)) {
+            fleet.useJournal(journal);
+            return FleetCsvParserTest.describe(fleet.getAll());
+        }
+    }
+
+    private static List<String> names(Path dir) throws IOException {
+        List<String> out = new ArrayList<>();
+        try (DirectoryStream<Path> s = Files.newDirectoryStream(dir)) {
+            for (Path f : s) out.add(f.getFileName().toString());
+        }
+        out.sort(null);
+        return out;
+    }
+
+    private static void deleteAll(Path dir) throws IOException {
+        try (DirectoryStream<Path> s = Files.newDirectoryStream(dir)) {
+            for (Path f : s) Files.deleteIfExists(f);
+        }
+        Files.deleteIfExists(dir);
+    }
+}
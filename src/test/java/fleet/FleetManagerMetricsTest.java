@@ -0,0 +1,56 @@
+package fleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import exceptions.InvalidOperationException;
+import logging.Log;
+import logging.LogSink;
+import metrics.Metrics;
+import metrics.Operation;
+import org.junit.jupiter.api.Test;
+import vehicles.Car;
+import vehicles.Truck;
+
+class FleetManagerMetricsTest {
+
+    /** Thrown exceptions, results that are not OK and "not found" all count as failed calls. */
+    @Test
+    void failedCallsAreCounted() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        Metrics.reset();
+        Metrics.setEnabled(true);
+        try {
+            FleetManager fm = new FleetManager();
+            Car car = new Car("C1", "Civic", 150, 4);
+            car.refuel(100);
+            fm.addVehicle(car);
+            assertThrows(InvalidOperationException.class, () -> fm.addVehicle(new Car("C1", "Civic", 150, 4)));
+            assertThrows(InvalidOperationException.class, () -> fm.removeVehicle("NONE"));
+            fm.startJourney("C1", 10);
+            fm.startJourney("NONE", 10);
+            fm.displayCargoStatus("C1");
+            fm.addVehicle(new Truck("T1", "Actros", 120, 6));
+            fm.displayCargoStatus("T1");
+            fm.startAllJourneys(10);
+
+            assertCalls("fleet.addVehicle", 3, 1);
+            assertCalls("fleet.removeVehicle", 1, 1);
+            assertCalls("fleet.startJourney", 2, 1);
+            assertCalls("fleet.displayCargoStatus", 2, 1);
+            // the truck has no fuel, so the bulk run is a failure
+            assertCalls("fleet.startAllJourneys", 1, 1);
+            fm.getVehicle("C1");
+            assertCalls("fleet.getVehicle", 1, 0);
+        } finally {
+            Metrics.setEnabled(false);
+            Metrics.reset();
+        }
+    }
+
+    private static void assertCalls(String name, long calls, long failures) {
+        Operation op = (Operation) Metrics.get(name);
+        assertEquals(calls, op.calls(), name + " calls");
+        assertEquals(failures, op.failures(), name + " failures");
+    }
+}
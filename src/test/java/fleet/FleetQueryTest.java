@@ -0,0 +1,147 @@
+package fleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import interfaces.CargoCarrier;
+import interfaces.FuelConsumable;
+import logging.Log;
+import logging.LogSink;
+import org.junit.jupiter.api.Test;
+import vehicles.Airplane;
+import vehicles.Bus;
+import vehicles.Car;
+import vehicles.CargoShip;
+import vehicles.Truck;
+import vehicles.Vehicle;
+
+/**
+ * Each access path (type, model, speed range, scan) against a brute-force
+ * filter over the whole fleet. explain() shows which plan ran.
+ */
+class FleetQueryTest {
+
+    @Test
+    void typePlanMatchesBruteForce() throws Exception {
+        FleetManager fm = fleet();
+        check(fm, "type index Airplane", q -> q.ofType(Airplane.class).fuelBetween(10, 200),
+                v -> v instanceof Airplane a && a.getFuelLevel() >= 10 && a.getFuelLevel() <= 200);
+    }
+
+    @Test
+    void modelPlanMatchesBruteForce() throws Exception {
+        FleetManager fm = fleet();
+        check(fm, "model index =Rare", q -> q.model("Rare").ofType(FuelConsumable.class),
+                v -> "Rare".equals(v.getModel()) && v instanceof FuelConsumable);
+    }
+
+    @Test
+    void speedPlanMatchesBruteForce() throws Exception {
+        FleetManager fm = fleet();
+        check(fm, "maxSpeed index range", q -> q.maxSpeedBetween(100, 110).mileageBetween(0, 5000),
+                v -> v.getMaxSpeed() >= 100 && v.getMaxSpeed() <= 110 && v.getCurrentMileage() <= 5000);
+    }
+
+    @Test
+    void scanPlanMatchesBruteForce() throws Exception {
+        FleetManager fm = fleet();
+        check(fm, "full scan", q -> q.cargoBetween(100, 2000),
+                v -> v instanceof CargoCarrier c && c.getCurrentCargo() >= 100 && c.getCurrentCargo() <= 2000);
+    }
+
+    @Test
+    void orderedLimitedQueriesMatchSortedBruteForce() throws Exception {
+        FleetManager fm = fleet();
+        Predicate<Vehicle> trucks = v -> v instanceof Truck;
+        List<Vehicle> expected = brute(fm, trucks);
+        expected.sort(Comparator.comparingDouble(Vehicle::getMaxSpeed).reversed());
+        List<Vehicle> byIndex = fm.query().ofType(Truck.class).orderBySpeed(true).limit(7).list();
+        List<Vehicle> byHeap = fm.query().ofType(Truck.class)
+                .orderBy("mileage", Comparator.comparingDouble(Vehicle::getCurrentMileage)).limit(7).list();
+        assertEquals(speeds(expected.subList(0, 7)), speeds(byIndex));
+        List<Vehicle> byMileage = brute(fm, trucks);
+        byMileage.sort(Comparator.comparingDouble(Vehicle::getCurrentMileage));
+        assertEquals(byMileage.subList(0, 7), byHeap);
+    }
+
+    @Test
+    void emptyRangesMatchNothingOnEveryPlan() throws Exception {
+        FleetManager fm = fleet();
+        assertEquals(List.of(), fm.query().maxSpeedBetween(200, 100).list());
+        assertEquals(List.of(), fm.query().ofType(Airplane.class).maxSpeedBetween(200, 100).list());
+        assertEquals(List.of(), fm.query().model("Rare").maxSpeedBetween(200, 100).list());
+        assertEquals(List.of(), fm.query().maxSpeedBetween(200, 100).orderBySpeed(false).limit(3).list());
+        assertEquals(List.of(), fm.query().fuelBetween(50, 10).list());
+        assertEquals(List.of(), fm.query().ofType(Truck.class).cargoBetween(50, 10).list());
+    }
+
+    @Test
+    void nanBoundsAreRejected() throws Exception {
+        FleetManager fm = fleet();
+        assertThrows(IllegalArgumentException.class, () -> fm.query().maxSpeedBetween(Double.NaN, 100));
+        assertThrows(IllegalArgumentException.class, () -> fm.query().ofType(Car.class).maxSpeedBetween(0, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> fm.query().fuelBetween(Double.NaN, 1));
+        assertThrows(IllegalArgumentException.class, () -> fm.query().mileageBetween(0, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> fm.query().cargoBetween(Double.NaN, Double.NaN));
+    }
+
+    private static void check(FleetManager fm, String plan, UnaryOperator<FleetQuery> query, Predicate<Vehicle> test) {
+        String explain = query.apply(fm.query()).explain();
+        assertTrue(explain.startsWith("access: " + plan), explain);
+        List<Vehicle> expected = brute(fm, test);
+        assertTrue(!expected.isEmpty(), "query should match something");
+        assertEquals(ids(expected), ids(query.apply(fm.query()).list()));
+    }
+
+    private static List<Vehicle> brute(FleetManager fm, Predicate<Vehicle> test) {
+        List<Vehicle> out = new ArrayList<>();
+        for (Vehicle v : fm.getAll()) {
+            if (test.test(v)) out.add(v);
+        }
+        return out;
+    }
+
+    private static List<String> ids(List<Vehicle> vehicles) {
+        List<String> out = new ArrayList<>();
+        for (Vehicle v : vehicles) out.add(v.getID());
+        out.sort(null);
+        return out;
+    }
+
+    private static List<Double> speeds(List<Vehicle> vehicles) {
+        List<Double> out = new ArrayList<>();
+        for (Vehicle v : vehicles) out.add(v.getMaxSpeed());
+        return out;
+    }
+
+    // 2000 vehicles: few airplanes, few "Rare" models, speeds spread over 50..549
+    private static FleetManager fleet() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        FleetManager fm = new FleetManager();
+        Random rnd = new Random(11);
+        for (int i = 0; i < 2000; i++) {
+            String id = "V" + i;
+            String model = rnd.nextInt(100) == 0 ? "Rare" : "M" + rnd.nextInt(5);
+            double speed = 50 + rnd.nextInt(500);
+            Vehicle v = switch (i % 50 == 0 ? 3 : rnd.nextInt(4)) {
+                case 0 -> new Car(id, model, speed, 4);
+                case 1 -> new Truck(id, model, speed, 6);
+                case 2 -> new Bus(id, model, speed, 6);
+                default -> i % 50 == 0 ? new Airplane(id, model, speed, 12000) : new CargoShip(id, model, speed, rnd.nextBoolean());
+            };
+            if (v instanceof FuelConsumable f && v.calculateFuelEfficiency() > 0) f.refuel(1 + rnd.nextInt(400));
+            if (v instanceof CargoCarrier c) c.tryLoadCargo(rnd.nextInt(3000));
+            v.addMileage(rnd.nextInt(9000));
+            fm.addVehicle(v);
+        }
+        return fm;
+    }
+}
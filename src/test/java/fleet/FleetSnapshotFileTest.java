@@ -0,0 +1,171 @@
+package fleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import exceptions.InvalidOperationException;
+import logging.Log;
+import logging.LogSink;
+import org.junit.jupiter.api.Test;
+import vehicles.Car;
+import vehicles.Truck;
+import vehicles.Vehicle;
+
+class FleetSnapshotFileTest {
+
+    /** Every field comes back exactly, null and empty models included. */
+    @Test
+    void writeThenOpenRoundTrips() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        List<Vehicle> fleet = vehicles(2000, 11);
+        fleet.add(new Car("NULL", null, 150, 4));
+        fleet.add(new Car("EMPTY", "", 150, 4));
+        fleet.add(new Car("LITERAL", "null", 150, 4));
+        Path dir = Files.createTempDirectory("snapshot");
+        Path file = dir.resolve("fleet.snapshot");
+        try {
+            assertEquals(fleet.size(), FleetSnapshotFile.write(fleet, file));
+            try (FleetSnapshotFile s = FleetSnapshotFile.open(file)) {
+                assertEquals(FleetCsvParserTest.describe(fleet), FleetCsvParserTest.describe(s));
+                int nullAt = fleet.size() - 3;
+                assertNull(s.model(nullAt));
+                assertNull(s.get(nullAt).getModel());
+                assertEquals("", s.model(nullAt + 1));
+                assertEquals("null", s.model(nullAt + 2));
+                assertTrue(s.models().stream().allMatch(m -> m != null));
+            }
+            assertEquals(List.of(file), files(dir));
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /** Writing over an open snapshot replaces the file; the open one keeps reading the old data. */
+    @Test
+    void overwriteInPlace() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        List<Vehicle> before = vehicles(500, 1);
+        List<Vehicle> after = vehicles(300, 2);
+        Path dir = Files.createTempDirectory("snapshot");
+        Path file = dir.resolve("fleet.snapshot");
+        try {
+            FleetSnapshotFile.write(before, file);
+            try (FleetSnapshotFile old = FleetSnapshotFile.open(file)) {
+                FleetSnapshotFile.write(after, file);
+                assertEquals(FleetCsvParserTest.describe(before), FleetCsvParserTest.describe(old));
+                try (FleetSnapshotFile replaced = FleetSnapshotFile.open(file)) {
+                    assertEquals(FleetCsvParserTest.describe(after), FleetCsvParserTest.describe(replaced));
+                }
+            }
+            assertEquals(List.of(file), files(dir));
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /** A write that fails part way leaves the old snapshot and no temporary file. */
+    @Test
+    void failedWriteKeepsTheOldFile() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        List<Vehicle> before = vehicles(100, 3);
+        Path dir = Files.createTempDirectory("snapshot");
+        Path file = dir.resolve("fleet.snapshot");
+        try {
+            FleetSnapshotFile.write(before, file);
+            List<Vehicle> broken = vehicles(100, 4);
+            broken.add(new BrokenCar());
+            assertThrows(IllegalStateException.class, () -> FleetSnapshotFile.write(broken, file));
+            try (FleetSnapshotFile s = FleetSnapshotFile.open(file)) {
+                assertEquals(FleetCsvParserTest.describe(before), FleetCsvParserTest.describe(s));
+            }
+            assertEquals(List.of(file), files(dir));
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /** OffHeapFleet and FleetSnapshotFile read each other's files. */
+    @Test
+    void offHeapFleetSharesTheFormat() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        List<Vehicle> fleet = vehicles(1000, 5);
+        fleet.add(new Car("NULL", null, 150, 4));
+        Path dir = Files.createTempDirectory("snapshot");
+        Path fromStore = dir.resolve("store.snapshot");
+        Path fromList = dir.resolve("list.snapshot");
+        try {
+            try (OffHeapFleet store = new OffHeapFleet()) {
+                store.addAll(fleet);
+                store.writeSnapshot(fromStore);
+            }
+            try (FleetSnapshotFile s = FleetSnapshotFile.open(fromStore)) {
+                assertEquals(FleetCsvParserTest.describe(fleet), FleetCsvParserTest.describe(s));
+                assertNull(s.model(fleet.size() - 1));
+            }
+            FleetSnapshotFile.write(fleet, fromList);
+            try (OffHeapFleet store = OffHeapFleet.map(fromList)) {
+                assertEquals(FleetCsvParserTest.describe(fleet), FleetCsvParserTest.describe(store.toVehicles()));
+            }
+            assertEquals(Files.size(fromList), Files.size(fromStore));
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    // A car whose ID can no longer be read, so a snapshot write fails after its records
+    private static final class BrokenCar extends Car {
+        private final boolean built;
+
+        BrokenCar() throws InvalidOperationException {
+            super("BROKEN", "Civic", 150, 4);
+            built = true;
+        }
+
+        @Override
+        public String getID() {
+            if (built) throw new IllegalStateException("ID unavailable");
+            return super.getID();
+        }
+    }
+
+    private static List<Vehicle> vehicles(int n, long seed) throws Exception {
+        Random rnd = new Random(seed);
+        List<Vehicle> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            VehicleType type = VehicleType.fromCode(rnd.nextInt(VehicleType.values().length));
+            double param = type == VehicleType.AIRPLANE ? 9000 + rnd.nextDouble() * 3000
+                    : type == VehicleType.CARGO_SHIP ? rnd.nextInt(2) : 4 + rnd.nextInt(3);
+            Vehicle v = type.restore("V" + seed + "-" + i, "Mé" + rnd.nextInt(40), 50 + rnd.nextDouble() * 500, param,
+                    rnd.nextDouble() * 40, 0, 0, rnd.nextDouble() * 9000, false);
+            if (v instanceof Truck t && rnd.nextBoolean()) {
+                t.addMileage(12000);
+                t.performMaintenance();
+            }
+            out.add(v);
+        }
+        return out;
+    }
+
+    private static List<Path> files(Path dir) throws IOException {
+        List<Path> out = new ArrayList<>();
+        try (DirectoryStream<Path> s = Files.newDirectoryStream(dir)) {
+            for (Path f : s) out.add(f);
+        }
+        return out;
+    }
+
+    private static void deleteAll(Path dir) throws IOException {
+        for (Path f : files(dir)) Files.deleteIfExists(f);
+        Files.deleteIfExists(dir);
+    }
+}
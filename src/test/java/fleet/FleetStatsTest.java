@@ -0,0 +1,181 @@
+package fleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import interfaces.FuelConsumable;
+import interfaces.Maintainable;
+import logging.Log;
+import logging.LogSink;
+import org.junit.jupiter.api.Test;
+import vehicles.Airplane;
+import vehicles.Bus;
+import vehicles.Car;
+import vehicles.CargoShip;
+import vehicles.Truck;
+import vehicles.Vehicle;
+
+/**
+ * The running report totals must always equal a full recompute over the
+ * fleet, whichever route changed a vehicle's mileage or maintenance state.
+ * The report tests use whole km so the printed totals compare as text; the
+ * drift test uses fractional distances and checks the sum itself.
+ */
+class FleetStatsTest {
+
+    @Test
+    void mileageAndMaintenanceChangedOnTheVehicleAreCounted() throws Exception {
+        FleetManager fm = quietFleet();
+        fm.addVehicle(new Car("C1", "Civic", 180, 4));
+        fm.getVehicle("C1").addMileage(12000);
+        ((Maintainable) fm.getVehicle("C1")).scheduleMaintenance();
+        assertMatchesRecompute(fm);
+        assertEquals(1, fm.getVehiclesNeedingMaintenance().size());
+    }
+
+    @Test
+    void removeTakesOutWhatTheVehicleContributed() throws Exception {
+        FleetManager fm = quietFleet();
+        fm.addVehicle(new Truck("T1", "Actros", 120, 6));
+        fm.getVehicle("T1").addMileage(500);
+        fm.removeVehicle("T1");
+        assertMatchesRecompute(fm);
+    }
+
+    @Test
+    void randomOperationsMatchRecompute() throws Exception {
+        FleetManager fm = quietFleet();
+        Random rnd = new Random(42);
+        List<String> ids = new ArrayList<>();
+        int nextId = 0;
+        for (int step = 0; step < 5000; step++) {
+            int op = ids.isEmpty() ? 0 : rnd.nextInt(13);
+            String id = ids.isEmpty() ? null : ids.get(rnd.nextInt(ids.size()));
+            switch (op) {
+                case 0, 1 -> {
+                    String newId = "V" + nextId++;
+                    fm.addVehicle(vehicle(newId, rnd));
+                    ids.add(newId);
+                }
+                case 2 -> {
+                    fm.removeVehicle(id);
+                    ids.remove(id);
+                }
+                case 3 -> fm.startJourney(id, rnd.nextInt(3000));
+                case 4 -> fm.getVehicle(id).addMileage(rnd.nextInt(4000));
+                case 5 -> {
+                    if (fm.getVehicle(id) instanceof Maintainable m) m.scheduleMaintenance();
+                }
+                case 6 -> {
+                    if (fm.getVehicle(id) instanceof Maintainable m) m.performMaintenance();
+                }
+                case 7 -> fm.refuelVehicle(id, rnd.nextInt(500));
+                case 8 -> {
+                    if (fm.getVehicle(id) instanceof FuelConsumable f) f.tryRefuel(rnd.nextInt(500));
+                    fm.getVehicle(id).tryMove(rnd.nextInt(3000));
+                }
+                case 9 -> {
+                    if (rnd.nextBoolean()) fm.startAllJourneys(rnd.nextInt(200));
+                    else fm.startAllJourneysParallel(rnd.nextInt(200));
+                }
+                case 10 -> {
+                    if (rnd.nextBoolean()) fm.maintainAll();
+                    else fm.maintainAllParallel();
+                }
+                case 11 -> fm.sortFleetByEfficiency();
+                default -> fm.refuelAll(rnd.nextInt(300));
+            }
+            assertMatchesRecompute(fm);
+        }
+    }
+
+    /**
+     * Fractional mileage on vehicles with large odometers, added, updated and
+     * removed many times over: the running total must stay within a tight
+     * tolerance of an exact sum over the vehicles still counted.
+     */
+    @Test
+    void fractionalMileageDoesNotDrift() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        FleetStats stats = new FleetStats();
+        Random rnd = new Random(3);
+        List<Vehicle> counted = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Vehicle v = new Airplane("A" + i, "Plane", 900, 12000);
+            v.addMileage(1e7 + rnd.nextInt(1_000_000) + 0.3);
+            stats.add(v);
+            counted.add(v);
+        }
+        for (int step = 0; step < 200_000; step++) {
+            Vehicle v = counted.get(rnd.nextInt(counted.size()));
+            if (step % 1000 == 0) {
+                stats.remove(v);
+                counted.remove(v);
+                Vehicle fresh = new Car("C" + step, "Civic", 180, 4);
+                fresh.addMileage(rnd.nextDouble() * 100);
+                stats.add(fresh);
+                counted.add(fresh);
+            } else {
+                v.addMileage(rnd.nextDouble() * 0.7);
+                stats.update(v);
+            }
+        }
+        BigDecimal exact = BigDecimal.ZERO;
+        for (Vehicle v : counted) exact = exact.add(new BigDecimal(v.getCurrentMileage()));
+        double error = Math.abs(exact.subtract(new BigDecimal(stats.totalMileage())).doubleValue());
+        assertTrue(error < 1e-6, () -> "total mileage drifted by " + error + " km");
+    }
+
+    private static FleetManager quietFleet() {
+        Log.setSink(LogSink.SILENT);
+        return new FleetManager();
+    }
+
+    private static Vehicle vehicle(String id, Random rnd) throws Exception {
+        return switch (rnd.nextInt(5)) {
+            case 0 -> new Car(id, "Car" + rnd.nextInt(3), 150 + rnd.nextInt(50), 4);
+            case 1 -> new Truck(id, "Truck" + rnd.nextInt(3), 100 + rnd.nextInt(40), 6);
+            case 2 -> new Bus(id, "Bus" + rnd.nextInt(3), 90 + rnd.nextInt(30), 6);
+            case 3 -> new Airplane(id, "Plane" + rnd.nextInt(3), 800 + rnd.nextInt(100), 12000);
+            default -> new CargoShip(id, "Ship" + rnd.nextInt(3), 40 + rnd.nextInt(20), rnd.nextBoolean());
+        };
+    }
+
+    // The report as FleetManager renders it from a full pass over the fleet.
+    // Compared as a set of lines: the running totals keep types in the order
+    // they first joined the fleet, a fresh pass in current fleet order.
+    private static void assertMatchesRecompute(FleetManager fm) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        double effSum = 0.0;
+        int effCount = 0;
+        double mileage = 0.0;
+        int due = 0;
+        for (Vehicle v : fm.getAll()) {
+            counts.merge(v.getClass().getSimpleName(), 1, Integer::sum);
+            double eff = v.calculateFuelEfficiency();
+            if (eff > 0) {
+                effSum += eff;
+                effCount++;
+            }
+            mileage += v.getCurrentMileage();
+            if (v instanceof Maintainable m && m.needsMaintenance()) due++;
+        }
+        String expected = FleetStats.render(fm.getAll().size(), counts,
+                effCount > 0 ? effSum / effCount : Double.NaN, mileage, due);
+        assertEquals(lines(expected), lines(fm.generateReport()));
+    }
+
+    private static Set<String> lines(String report) {
+        return new HashSet<>(Arrays.asList(report.split("\n")));
+    }
+}
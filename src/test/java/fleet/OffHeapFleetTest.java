@@ -0,0 +1,92 @@
+package fleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import logging.Log;
+import logging.LogSink;
+import org.junit.jupiter.api.Test;
+import vehicles.Car;
+import vehicles.Truck;
+import vehicles.Vehicle;
+
+class OffHeapFleetTest {
+
+    @Test
+    void snapshotKeepsNullModelsAndLastService() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        Path file = Files.createTempFile("fleet", ".offheap");
+        try {
+            try (OffHeapFleet store = new OffHeapFleet()) {
+                store.add(new Car("C1", null, 150, 4));
+                store.add(new Car("C2", "", 150, 4));
+                Truck serviced = new Truck("T1", "Actros", 120, 6);
+                serviced.addMileage(15000);
+                serviced.performMaintenance();
+                store.add(serviced);
+                store.writeSnapshot(file);
+            }
+            try (OffHeapFleet store = OffHeapFleet.map(file)) {
+                assertNull(store.getVehicle("C1").getModel());
+                assertEquals("", store.getVehicle("C2").getModel());
+                Truck back = (Truck) store.getVehicle("T1");
+                assertFalse(back.needsMaintenance());
+                assertEquals(15000.0, back.getLastMaintenanceMileage());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /** Saving a mapped store over its own file keeps its data and replaces the file. */
+    @Test
+    void writeSnapshotOverTheMappedFile() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        Path file = Files.createTempFile("fleet", ".offheap");
+        try {
+            try (OffHeapFleet store = new OffHeapFleet()) {
+                store.addAll(vehicles(1000));
+                store.writeSnapshot(file);
+            }
+            try (OffHeapFleet store = OffHeapFleet.map(file)) {
+                store.refuelAll(5);
+                String report = store.generateReport();
+                store.writeSnapshot(file);
+                assertEquals(1000, store.size());
+                assertEquals(report, store.generateReport());
+                store.refuelAll(5); // still usable after the file was replaced
+                store.writeSnapshot(file);
+                try (OffHeapFleet back = OffHeapFleet.map(file)) {
+                    assertEquals(store.generateReport(), back.generateReport());
+                    assertEquals(store.getTotalFuelConsumption(100), back.getTotalFuelConsumption(100));
+                    for (Vehicle v : store.toVehicles()) {
+                        Vehicle w = back.getVehicle(v.getID());
+                        assertEquals(v.getModel(), w.getModel());
+                        assertEquals(v.getCurrentMileage(), w.getCurrentMileage());
+                    }
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<Vehicle> vehicles(int n) throws Exception {
+        Random rnd = new Random(7);
+        List<Vehicle> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            VehicleType type = VehicleType.fromCode(rnd.nextInt(VehicleType.values().length));
+            double param = type == VehicleType.AIRPLANE ? 12000 : type == VehicleType.CARGO_SHIP ? rnd.nextInt(2) : 4;
+            out.add(type.restore("V" + i, "M" + rnd.nextInt(50), 50 + rnd.nextInt(500), param,
+                    rnd.nextInt(300), 0, 0, rnd.nextInt(9000), false));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,39 @@
+package fleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+import org.junit.jupiter.api.Test;
+import vehicles.Car;
+import vehicles.Vehicle;
+
+class TopKTest {
+
+    /** Same list as a stable sort of the non-NaN vehicles, cut to k, for both versions. */
+    @Test
+    void matchesStableSort() throws Exception {
+        Random rnd = new Random(3);
+        List<Vehicle> vehicles = new ArrayList<>();
+        // Few distinct speeds, so most keys tie
+        for (int i = 0; i < 5000; i++) vehicles.add(new Car("C" + i, "M", 10 * rnd.nextInt(20), 4));
+        ToDoubleFunction<Vehicle> speed = v -> v.getMaxSpeed() == 0 ? Double.NaN : v.getMaxSpeed();
+        Vehicle[] array = vehicles.toArray(new Vehicle[0]);
+        for (boolean highest : new boolean[] {true, false}) {
+            Comparator<Vehicle> order = Comparator.comparingDouble(speed);
+            if (highest) order = order.reversed();
+            List<Vehicle> sorted = new ArrayList<>();
+            for (Vehicle v : vehicles) if (!Double.isNaN(speed.applyAsDouble(v))) sorted.add(v);
+            sorted.sort(order);
+            for (int k : new int[] {0, 1, 7, 100, 4999, 6000}) {
+                List<Vehicle> expected = sorted.subList(0, Math.min(k, sorted.size()));
+                assertEquals(expected, TopK.select(vehicles, k, speed, highest));
+                assertEquals(expected, TopK.selectParallel(array, k, speed, highest, 64));
+            }
+        }
+    }
+}
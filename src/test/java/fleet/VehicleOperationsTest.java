@@ -0,0 +1,53 @@
+package fleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import exceptions.InsufficientFuelException;
+import exceptions.InvalidOperationException;
+import interfaces.Outcome;
+import logging.Log;
+import logging.LogSink;
+import org.junit.jupiter.api.Test;
+import vehicles.Car;
+import vehicles.Truck;
+
+class VehicleOperationsTest {
+
+    /** A single journey reports the same outcome code as a bulk run for each failure. */
+    @Test
+    void singleJourneyOutcomesMatchBulkRun() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        FleetManager fm = new FleetManager();
+        Truck due = new Truck("DUE", "Actros", 120, 6);
+        due.refuel(1000);
+        due.scheduleMaintenance();
+        fm.addVehicle(due);
+        fm.addVehicle(new Truck("DRY", "Actros", 120, 6));
+        Car ok = new Car("OK", "Civic", 150, 4);
+        ok.refuel(1000);
+        fm.addVehicle(ok);
+
+        assertEquals(Outcome.MAINTENANCE_REQUIRED, fm.startJourney("DUE", 10).outcome());
+        assertEquals(Outcome.INSUFFICIENT_FUEL, fm.startJourney("DRY", 10).outcome());
+        assertEquals(Outcome.INVALID_OPERATION, fm.startJourney("OK", -1).outcome());
+        assertEquals(Outcome.NOT_FOUND, fm.startJourney("NONE", 10).outcome());
+
+        BulkResult bulk = fm.startAllJourneys(10);
+        assertEquals(List.of("DUE"), bulk.idsWith(Outcome.MAINTENANCE_REQUIRED));
+        assertEquals(List.of("DRY"), bulk.idsWith(Outcome.INSUFFICIENT_FUEL));
+        assertEquals(List.of("OK"), bulk.idsWith(Outcome.OK));
+    }
+
+    /** The public throwing methods keep their stack traces; only the try* paths avoid them. */
+    @Test
+    void throwingMethodsCaptureStackTraces() throws Exception {
+        Truck dry = new Truck("T", "Actros", 120, 6);
+        assertTrue(assertThrows(InsufficientFuelException.class, () -> dry.move(10)).getStackTrace().length > 0);
+        assertTrue(assertThrows(InvalidOperationException.class, () -> dry.refuel(-1)).getStackTrace().length > 0);
+        assertEquals(0, InvalidOperationException.stackless("x").getStackTrace().length);
+    }
+}
@@ -0,0 +1,42 @@
+package vehicles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import interfaces.Outcome;
+import interfaces.VehicleChange;
+import logging.Log;
+import logging.LogSink;
+import org.junit.jupiter.api.Test;
+
+class MaintenanceFlagTest {
+
+    /** A MAINTENANCE change is reported only when the maintenance flag flips. */
+    @Test
+    void movesReportMaintenanceOnlyWhenTheFlagFlips() throws Exception {
+        Log.setSink(LogSink.SILENT);
+        for (Vehicle v : List.of(new Car("C", "m", 150, 4), new Truck("T", "m", 120, 6), new Bus("B", "m", 90, 6),
+                                 new Airplane("A", "m", 800, 12000), new CargoShip("S", "m", 40, false),
+                                 new CargoShip("W", "m", 40, true))) {
+            if (v instanceof interfaces.FuelConsumable f && v.calculateFuelEfficiency() > 0) f.refuel(1_000_000);
+            List<VehicleChange> changes = new ArrayList<>();
+            v.setListener((vehicle, change) -> {
+                if (change == VehicleChange.MAINTENANCE) changes.add(change);
+            });
+
+            for (int i = 0; i < 9; i++) assertEquals(Outcome.OK, v.tryMove(1000), v.getID());
+            assertEquals(0, changes.size(), v.getID());
+            assertEquals(Outcome.OK, v.tryMove(1500), v.getID());  // past 10000 km: flagged
+            assertEquals(1, changes.size(), v.getID());
+            assertEquals(Outcome.MAINTENANCE_REQUIRED, v.tryMove(10), v.getID());
+            assertEquals(1, changes.size(), v.getID());
+
+            ((interfaces.Maintainable) v).performMaintenance();
+            assertEquals(2, changes.size(), v.getID());
+            assertEquals(Outcome.OK, v.tryMove(10), v.getID());  // still past 10000 km in total
+            assertEquals(3, changes.size(), v.getID());
+        }
+    }
+}